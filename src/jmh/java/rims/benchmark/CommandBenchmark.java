@@ -0,0 +1,148 @@
+package rims.benchmark;
+
+import rims.command.ListCommand;
+import rims.command.ReserveCommand;
+import rims.command.StatsCommand;
+import rims.core.DateCodec;
+import rims.core.MonthOccupancy;
+import rims.core.ResourceList;
+import rims.core.Storage;
+import rims.core.Ui;
+import rims.exception.RimsException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures whole commands run on a synthetic inventory, with everything they print discarded.
+ *
+ * <p>The inventory is built again before every iteration, as reserve adds a Reservation each
+ * time it is run, and so is the Storage, so that its journal starts out empty. Like every command
+ * run by RIMS, reserve commits its changes to the journal once it is done. Each reservation is an
+ * hour long and starts two hours after the one before, in the year 2100, so that every one of them
+ * can be made. CalendarCommand is measured through MonthOccupancy, which counts the loans of every
+ * day of a month for it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommandBenchmark {
+    private static final long RESERVATIONS_START = DateCodec.toMillis(2100, 1, 1, 0, 0);
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    private Ui ui;
+    private Storage storage;
+    private ResourceList resources;
+    private int numberOfReservations;
+
+    /**
+     * Mutes the console, to which every command prints.
+     */
+    @Setup
+    public void setup() {
+        ConsoleMuter.mute();
+        ui = new Ui();
+    }
+
+    /**
+     * Builds the synthetic inventory again, without the Reservations made by the last iteration,
+     * together with a new Storage in a directory of its own, to which reserve commits its changes.
+     *
+     * @throws IOException   if the directory of the Storage cannot be created.
+     * @throws RimsException if the inventory or the Storage cannot be created.
+     */
+    @Setup(Level.Iteration)
+    public void setupIteration() throws IOException, RimsException {
+        File directory = Files.createTempDirectory("rims-benchmark").toFile();
+        storage = new Storage(new File(directory, "resources.txt").getPath(),
+                new File(directory, "reserves.txt").getPath(), new File(directory, "tags.txt").getPath());
+        resources = new ResourceList(ui, SyntheticInventory.generate(size, SyntheticInventory.DEFAULT_SEED));
+        numberOfReservations = 0;
+    }
+
+    /**
+     * Lets the benchmark print to the console again.
+     */
+    @TearDown
+    public void tearDown() {
+        ConsoleMuter.unmute();
+    }
+
+    /**
+     * Reserves one unit of an Item for an hour, and commits the Reservation to the journal.
+     *
+     * @throws RimsException if the Item cannot be reserved, or the journal cannot be written to.
+     */
+    @Benchmark
+    public void reserve() throws RimsException {
+        long dateFrom = RESERVATIONS_START + 2 * numberOfReservations * SyntheticInventory.HOUR;
+        String itemName = SyntheticInventory.getItemName(
+                numberOfReservations % SyntheticInventory.getNumberOfItemNames(size));
+        numberOfReservations++;
+        new ReserveCommand(itemName, 1, DateCodec.format(dateFrom),
+                DateCodec.format(dateFrom + SyntheticInventory.HOUR), 1).execute(ui, storage, resources);
+        storage.commit(resources.getResources());
+    }
+
+    /**
+     * Lists every Resource, and whether it is available or booked now.
+     *
+     * @throws RimsException if a Resource cannot be listed.
+     */
+    @Benchmark
+    public void list() throws RimsException {
+        new ListCommand().execute(ui, storage, resources);
+    }
+
+    /**
+     * Lists the first page of Resources, and whether each is available or booked now.
+     *
+     * @throws RimsException if a Resource cannot be listed.
+     */
+    @Benchmark
+    public void listPage() throws RimsException {
+        new ListCommand(1, ListCommand.DEFAULT_PAGE_SIZE).execute(ui, storage, resources);
+    }
+
+    /**
+     * Counts how many Resources are booked on each day of a month.
+     *
+     * @throws RimsException if the dates cannot be parsed.
+     */
+    @Benchmark
+    public void stats() throws RimsException {
+        new StatsCommand("01/01/2099 1200", "31/01/2099 1200").execute(ui, storage, resources);
+    }
+
+    /**
+     * Counts the loans of every day of a month, as the calendar does.
+     *
+     * @return the counts of the loans.
+     */
+    @Benchmark
+    public MonthOccupancy calendar() {
+        return new MonthOccupancy(resources, YearMonth.of(2099, 1), 12, 0, System.currentTimeMillis());
+    }
+}
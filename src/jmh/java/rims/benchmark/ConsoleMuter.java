@@ -0,0 +1,42 @@
+package rims.benchmark;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Discards everything printed to the console while a benchmark runs, so that the time taken to
+ * write out the output of commands does not drown out the time taken to compute it.
+ */
+public class ConsoleMuter {
+    private static PrintStream console;
+
+    /**
+     * Discards everything printed to the console from now on.
+     */
+    public static void mute() {
+        if (console != null) {
+            return;
+        }
+        console = System.out;
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        }));
+    }
+
+    /**
+     * Prints to the console again.
+     */
+    public static void unmute() {
+        if (console == null) {
+            return;
+        }
+        System.setOut(console);
+        console = null;
+    }
+}
@@ -0,0 +1,117 @@
+package rims.benchmark;
+
+import rims.core.ResourceList;
+import rims.core.Ui;
+import rims.exception.RimsException;
+import rims.resource.Resource;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the lookups made by most commands: finding a Resource by its ID, finding every
+ * Resource with a name, and checking if a Resource is free between two dates.
+ *
+ * <p>Each call picks the next of a fixed set of queries, chosen at random with a fixed seed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResourceListBenchmark {
+    private static final int NUMBER_OF_QUERIES = 1024;
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private ResourceList resources;
+    private int[] resourceIds = new int[NUMBER_OF_QUERIES];
+    private String[] resourceNames = new String[NUMBER_OF_QUERIES];
+    private Date[] datesFrom = new Date[NUMBER_OF_QUERIES];
+    private Date[] datesTill = new Date[NUMBER_OF_QUERIES];
+    private int nextQuery = 0;
+
+    /**
+     * Builds a synthetic inventory of the given size, and picks the queries to be made on it.
+     *
+     * @throws RimsException if the inventory cannot be built.
+     */
+    @Setup
+    public void setup() throws RimsException {
+        ConsoleMuter.mute();
+        resources = new ResourceList(new Ui(), SyntheticInventory.generate(size, SyntheticInventory.DEFAULT_SEED));
+        Random random = new Random(SyntheticInventory.DEFAULT_SEED);
+        int numberOfItemNames = SyntheticInventory.getNumberOfItemNames(size);
+        for (int i = 0; i < NUMBER_OF_QUERIES; i++) {
+            resourceIds[i] = random.nextInt(size);
+            resourceNames[i] = SyntheticInventory.getItemName(random.nextInt(numberOfItemNames));
+            long dateFrom = SyntheticInventory.YEAR_START + random.nextInt(60 * 24) * SyntheticInventory.HOUR;
+            datesFrom[i] = new Date(dateFrom);
+            datesTill[i] = new Date(dateFrom + (1 + random.nextInt(48)) * SyntheticInventory.HOUR);
+        }
+    }
+
+    /**
+     * Lets the benchmark print to the console again.
+     */
+    @TearDown
+    public void tearDown() {
+        ConsoleMuter.unmute();
+    }
+
+    private int nextQuery() {
+        nextQuery = (nextQuery + 1) & (NUMBER_OF_QUERIES - 1);
+        return nextQuery;
+    }
+
+    /**
+     * Finds a Resource by its ID.
+     *
+     * @return the Resource found.
+     * @throws RimsException if there is no Resource with that ID.
+     */
+    @Benchmark
+    public Resource getResourceById() throws RimsException {
+        return resources.getResourceById(resourceIds[nextQuery()]);
+    }
+
+    /**
+     * Finds every Resource with a name.
+     *
+     * @return the Resources with that name.
+     */
+    @Benchmark
+    public ArrayList<Resource> getAllOfResource() {
+        return resources.getAllOfResource(resourceNames[nextQuery()]);
+    }
+
+    /**
+     * Checks if a Resource is free between two dates.
+     *
+     * @return true if the Resource is free between those dates.
+     * @throws RimsException if there is no Resource with the ID picked.
+     */
+    @Benchmark
+    public boolean isAvailableFrom() throws RimsException {
+        int query = nextQuery();
+        return resources.getResourceById(resourceIds[query]).getReservations()
+                .isAvailableFrom(datesFrom[query], datesTill[query]);
+    }
+}
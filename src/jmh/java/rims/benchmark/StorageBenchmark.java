@@ -0,0 +1,88 @@
+package rims.benchmark;
+
+import rims.core.Storage;
+import rims.exception.RimsException;
+import rims.resource.Resource;
+import rims.tools.DataGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long Storage takes to load an inventory from its data files, and to save one
+ * to them, with its snapshot kept either as text or in binary. The data files are written by
+ * DataGenerator, with four Reservations for every Resource.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StorageBenchmark {
+    @Param({"1000", "10000"})
+    public int size;
+
+    @Param({"TEXT", "BINARY"})
+    public Storage.Format format;
+
+    private File directory;
+    private Storage storage;
+    private ArrayList<Resource> resources;
+
+    /**
+     * Writes a synthetic inventory of the given size to a new directory, to be loaded and saved again.
+     *
+     * @throws IOException   if the directory cannot be created.
+     * @throws RimsException if the inventory cannot be saved.
+     */
+    @Setup
+    public void setup() throws IOException, RimsException {
+        directory = Files.createTempDirectory("rims-benchmark").toFile();
+        new DataGenerator(size, SyntheticInventory.RESERVATIONS_PER_RESOURCE * size).generate(directory);
+        storage = newStorage();
+        resources = storage.getResources();
+        storage.saveToFile(resources);
+    }
+
+    private Storage newStorage() throws RimsException {
+        return new Storage(new File(directory, "resources.txt").getPath(),
+                new File(directory, "reserves.txt").getPath(), new File(directory, "tags.txt").getPath(), format);
+    }
+
+    /**
+     * Loads every Resource and Reservation from the data files.
+     *
+     * @return the Resources loaded.
+     * @throws RimsException if the data files cannot be read.
+     */
+    @Benchmark
+    public ArrayList<Resource> load() throws RimsException {
+        return newStorage().getResources();
+    }
+
+    /**
+     * Saves every Resource and Reservation to the data files.
+     *
+     * @throws RimsException if the data files cannot be written.
+     */
+    @Benchmark
+    public void save() throws RimsException {
+        storage.saveToFile(resources);
+    }
+}
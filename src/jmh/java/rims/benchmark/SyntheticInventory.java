@@ -0,0 +1,82 @@
+package rims.benchmark;
+
+import rims.core.DateCodec;
+import rims.resource.Item;
+import rims.resource.Reservation;
+import rims.resource.Resource;
+import rims.resource.Room;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Builds inventories of a given size for the benchmarks. The same size and seed always give
+ * the same inventory, so that runs of the benchmarks can be compared with each other.
+ *
+ * <p>Every tenth Resource is a Room with a name of its own, and the other Resources are Items,
+ * about nine of which share each name. Every Resource has a few Reservations that do not
+ * overlap, all of them in the year 2099, so that none of them has started or is overdue.
+ */
+public class SyntheticInventory {
+    public static final long DEFAULT_SEED = 2099;
+    public static final int UNITS_PER_NAME = 10;
+    public static final int RESERVATIONS_PER_RESOURCE = 4;
+    public static final long YEAR_START = DateCodec.toMillis(2099, 1, 1, 0, 0);
+    public static final long HOUR = 60 * 60 * 1000L;
+    public static final long DAY = 24 * HOUR;
+
+    private static final int NUMBER_OF_USERS = 500;
+
+    /**
+     * Returns the name shared by the Items in a given group.
+     *
+     * @param group the number of the group of Items.
+     * @return the name of the Items in that group.
+     */
+    public static String getItemName(int group) {
+        return "item " + group;
+    }
+
+    /**
+     * Returns the number of different Item names in an inventory of a given size.
+     *
+     * @param numberOfResources the number of Resources in the inventory.
+     * @return the number of Item names.
+     */
+    public static int getNumberOfItemNames(int numberOfResources) {
+        return Math.max(1, numberOfResources / UNITS_PER_NAME);
+    }
+
+    /**
+     * Builds an inventory with a given number of Resources.
+     *
+     * @param numberOfResources the number of Resources in the inventory.
+     * @param seed              the seed from which the Reservations are picked.
+     * @return the Resources of the inventory, with resource IDs from 0.
+     */
+    public static ArrayList<Resource> generate(int numberOfResources, long seed) {
+        Random random = new Random(seed);
+        int numberOfItemNames = getNumberOfItemNames(numberOfResources);
+        ArrayList<Resource> resources = new ArrayList<Resource>(numberOfResources);
+        int reservationId = 0;
+        int numberOfItems = 0;
+        for (int resourceId = 0; resourceId < numberOfResources; resourceId++) {
+            Resource thisResource;
+            if (resourceId % UNITS_PER_NAME == 0) {
+                thisResource = new Room(resourceId, "room " + resourceId);
+            } else {
+                thisResource = new Item(resourceId, getItemName(numberOfItems++ % numberOfItemNames));
+            }
+            long dateFrom = YEAR_START + random.nextInt(30) * DAY;
+            for (int i = 0; i < RESERVATIONS_PER_RESOURCE; i++) {
+                dateFrom += (1 + random.nextInt(72)) * HOUR;
+                long dateTill = dateFrom + (1 + random.nextInt(72)) * HOUR;
+                thisResource.getReservations().add(new Reservation(reservationId++, resourceId,
+                        random.nextInt(NUMBER_OF_USERS), dateFrom, dateTill));
+                dateFrom = dateTill;
+            }
+            resources.add(thisResource);
+        }
+        return resources;
+    }
+}
@@ -13,6 +13,8 @@ import rims.resource.Resource;
 
 import java.io.IOException;
 
+import java.util.ArrayList;
+
 //@@author hin1
 /**
  * Implements the addition of a new Resource to the ResourceList.
@@ -55,9 +57,7 @@ public class AddCommand extends Command {
      */
     @Override
     public void execute(Ui ui, Storage storage, ResourceList resources) throws RimsException {
-        storage.saveToFile(resources.getResources());
         if (resourceType.equals("room")) {
-            int resourceId = resources.generateResourceId();
             boolean resourceExists;
             try {
                 resources.isRoom(resourceName);
@@ -68,17 +68,19 @@ public class AddCommand extends Command {
             if (resourceExists) {
                 throw new RimsException("A room with the same name already exists in your inventory!");
             }
-            Room newRoom = new Room(resourceId, resourceName);
+            Room newRoom = new Room(resources.takeResourceIds(1).get(0), resourceName);
             resources.add(newRoom);
+            logAddResource(storage, newRoom);
             ui.printLine();
             ui.print("The following room has been successfully added:");
             ui.print(newRoom.toString());
             ui.printLine();
         } else if (resourceType.equals("item")) {
+            ArrayList<Integer> resourceIds = resources.takeResourceIds(qty);
             for (int i = 0; i < qty; i++) {
-                int resourceId = resources.generateResourceId();
-                Item newItem = new Item(resourceId, resourceName);
+                Item newItem = new Item(resourceIds.get(i), resourceName);
                 resources.add(newItem);
+                logAddResource(storage, newItem);
                 if (i == qty - 1) {
                     ui.printLine();
                     ui.print("The following item(s) have been successfully added:");
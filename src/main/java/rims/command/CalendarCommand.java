@@ -1,18 +1,14 @@
 package rims.command;
 
+import rims.core.MonthOccupancy;
 import rims.core.ResourceList;
 import rims.core.Storage;
 import rims.core.Ui;
 import rims.exception.RimsException;
-import static rims.command.ListCommand.getListForSpecificDay;
-import static rims.command.ListCommand.stringToDate;
 import java.text.DateFormatSymbols;
-import java.text.ParseException;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.Date;
 //@@author danielcyc
 
 /**
@@ -20,6 +16,7 @@ import java.util.Date;
  */
 
 public class CalendarCommand extends Command {
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     private static int cellLength = 18;
     private static int cellHeight = 6;
     private int calHeight = 5;
@@ -88,29 +85,22 @@ public class CalendarCommand extends Command {
     @Override
     public void execute(Ui ui, Storage storage, ResourceList resources) throws RimsException {
         ui.formattedPrint("HERE ARE THE ITEMS LOANED OR RESERVED FOR THIS MONTH:");
-        try {
-            if (operator == null) {
-                printCal();
-            } else if (operator.equals("+")) {
-                increaseSize();
-                printCal();
-            } else if (operator.equals("-")) {
-                decreaseSize();
-                printCal();
-            }
-        } catch (ParseException e) {
-            throw new RimsException("Invalid calendar size!");
+        if (operator == null) {
+            printCal();
+        } else if (operator.equals("+")) {
+            increaseSize();
+            printCal();
+        } else if (operator.equals("-")) {
+            decreaseSize();
+            printCal();
         }
     }
 
     /**
      * Prints to screen the calendar.
      * Function will obtain data for the current month and print calendar.
-     *
-     * @throws ParseException Invalid format of date
-     * @throws RimsException Any other unexpected error
      */
-    public void printCal() throws RimsException, ParseException {
+    public void printCal() {
         getData();
         printHeadings();
         printTopCells();
@@ -128,16 +118,16 @@ public class CalendarCommand extends Command {
         int cellRow = 1;
         for (int i = 0; i <= (cellLength * calWidth); i++) {
             if (i == 0) {
-                System.out.print(midLeft);
+                ui.printInline(midLeft);
             } else if (i == (cellLength * calWidth)) {
-                System.out.print(midRight);
+                ui.printInline(midRight);
             } else if ((i % cellLength) == 0) {
-                System.out.print(topCentre);
+                ui.printInline(topCentre);
             } else {
-                System.out.print(horz);
+                ui.printInline(horz);
             }
         }
-        System.out.print("\n");
+        ui.printInline("\n");
         printCellRow(cellRow, daysInMonth);
     }
 
@@ -149,16 +139,16 @@ public class CalendarCommand extends Command {
     private void printMidCells(int cellRow) {
         for (int i = 0; i <= (cellLength * calWidth); i++) {
             if (i == 0) {
-                System.out.print(midLeft);
+                ui.printInline(midLeft);
             } else if (i == (cellLength * calWidth)) {
-                System.out.print(midRight);
+                ui.printInline(midRight);
             } else if ((i % cellLength) == 0) {
-                System.out.print(centre);
+                ui.printInline(centre);
             } else {
-                System.out.print(horz);
+                ui.printInline(horz);
             }
         }
-        System.out.print("\n");
+        ui.printInline("\n");
         printCellRow(cellRow, daysInMonth);
     }
 
@@ -169,29 +159,29 @@ public class CalendarCommand extends Command {
         int cellRow = calHeight;
         for (int i = 0; i <= (cellLength * calWidth); i++) {
             if (i == 0) {
-                System.out.print(midLeft);
+                ui.printInline(midLeft);
             } else if (i == (cellLength * calWidth)) {
-                System.out.print(midRight);
+                ui.printInline(midRight);
             } else if ((i % cellLength) == 0) {
-                System.out.print(centre);
+                ui.printInline(centre);
             } else {
-                System.out.print(horz);
+                ui.printInline(horz);
             }
         }
-        System.out.print("\n");
+        ui.printInline("\n");
         printCellRow(cellRow, daysInMonth);
         for (int i = 0; i <= (cellLength * calWidth); i++) {
             if (i == 0) {
-                System.out.print(botLeft);
+                ui.printInline(botLeft);
             } else if (i == (cellLength * calWidth)) {
-                System.out.print(botRight);
+                ui.printInline(botRight);
             } else if ((i % cellLength) == 0) {
-                System.out.print(botCentre);
+                ui.printInline(botCentre);
             } else {
-                System.out.print(horz);
+                ui.printInline(horz);
             }
         }
-        System.out.print("\n");
+        ui.printInline("\n");
     }
 
     /**
@@ -218,39 +208,39 @@ public class CalendarCommand extends Command {
                 String phraseToPrint;
 
                 if ((i % cellLength) == 0) {
-                    System.out.print(vert);
+                    ui.printInline(vert);
                 } else if (day > daysInMonth) {
                     phraseToPrint = shortenPhrase("");
-                    System.out.print(phraseToPrint);
-                    System.out.print(vert);
+                    ui.printInline(phraseToPrint);
+                    ui.printInline(vert);
                     i += cellLength;
                 } else if (i == (cellLength * calWidth)) {
-                    System.out.print(vert);
+                    ui.printInline(vert);
                 } else if (row == 2) {
                     phraseToPrint = shortenPhrase(day);
-                    System.out.print(phraseToPrint);
-                    System.out.print(vert);
+                    ui.printInline(phraseToPrint);
+                    ui.printInline(vert);
                     i += cellLength;
                 } else if ((day - 1 >= data.length) || (row - 3 > data[day - 1].length - 1)) {
                     phraseToPrint = shortenPhrase("");
-                    System.out.print(phraseToPrint);
-                    System.out.print(vert);
+                    ui.printInline(phraseToPrint);
+                    ui.printInline(vert);
                     i += cellLength;
                 } else if ((row == cellHeight - 1) && (data[day - 1].length > cellHeight - 3)) {
                     int missing = getMissingTerms(day, row);
                     phraseToPrint = shortenPhrase(missing + " more...");
-                    System.out.print(phraseToPrint);
-                    System.out.print(vert);
+                    ui.printInline(phraseToPrint);
+                    ui.printInline(vert);
                     i += cellLength;
                 } else {
                     String phrase = data[day - 1][row - 3];
                     phraseToPrint = shortenPhrase(phrase);
-                    System.out.print(phraseToPrint);
-                    System.out.print(vert);
+                    ui.printInline(phraseToPrint);
+                    ui.printInline(vert);
                     i += cellLength;
                 }
             }
-            System.out.print("\n");
+            ui.printInline("\n");
         }
     }
 
@@ -321,25 +311,16 @@ public class CalendarCommand extends Command {
     /**
      * Takes in data from the resources and populates the 2D array that CalendarCommand stores.
      * This will give the function the contents of the calendar for every day.
-     * Iterates through all the days in the current month to obtain all loans in the current month.
-     * This data is then stored for printing.
-     *
-     * @throws ParseException Invalid format of date
-     * @throws RimsException Any other error
+     * The loans of every day in the current month are counted in a single sweep over all
+     * reservations, at the current time of day. This data is then stored for printing.
      */
-    private void getData() throws ParseException, RimsException {
-        ArrayList<ArrayList<String>> tempData = new ArrayList<ArrayList<String>>();
-        for (int day = 1; day <= daysInMonth; day++) {
-            DateTimeFormatter dtf = DateTimeFormatter.ofPattern("MM/yyyy HHmm");
-            String now = dtf.format(LocalDateTime.now());
-            String strDate = day + "/" + now;
-            Date date = stringToDate(strDate);
-            tempData.add(getListForSpecificDay(date, resources, ui));
-        }
-        String[][] array = new String[tempData.size()][];
-        for (int i = 0; i < tempData.size(); i++) {
-            ArrayList<String> row = tempData.get(i);
-            array[i] = row.toArray(new String[0]);
+    private void getData() {
+        LocalDateTime now = LocalDateTime.now();
+        MonthOccupancy occupancy = new MonthOccupancy(resources, YearMonth.from(now), now.getHour(),
+                now.getMinute(), System.currentTimeMillis());
+        String[][] array = new String[occupancy.getDaysInMonth()][];
+        for (int day = 1; day <= occupancy.getDaysInMonth(); day++) {
+            array[day - 1] = occupancy.getBookedList(day).toArray(new String[0]);
         }
         data = array;
     }
@@ -361,8 +342,7 @@ public class CalendarCommand extends Command {
      * @return Integer value of the month.
      */
     private static int getMonthInt(LocalDateTime date) {
-        DateTimeFormatter dtf = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-        String strDate = dtf.format(date);
+        String strDate = DAY_FORMAT.format(date);
         String[] ymd = strDate.split("/");
         int year = Integer.parseInt(ymd[2]);
         int month = Integer.parseInt(ymd[1]);
@@ -377,8 +357,7 @@ public class CalendarCommand extends Command {
      * @return Integer value of the number of days in the queried month.
      */
     private int getDaysInMonth(LocalDateTime date) {
-        DateTimeFormatter dtf = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-        String strDate = dtf.format(date);
+        String strDate = DAY_FORMAT.format(date);
         String[] ymd = strDate.split("/");
         int year = Integer.parseInt(ymd[2]);
         int month = Integer.parseInt(ymd[1]);
@@ -395,8 +374,7 @@ public class CalendarCommand extends Command {
      * @return The integer value of the year of the queried date.
      */
     private int getYear(LocalDateTime date) {
-        DateTimeFormatter dtf = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-        String strDate = dtf.format(date);
+        String strDate = DAY_FORMAT.format(date);
         String[] ymd = strDate.split("/");
         int year = Integer.parseInt(ymd[2]);
         int month = Integer.parseInt(ymd[1]);
@@ -425,11 +403,11 @@ public class CalendarCommand extends Command {
             cellLength -= scaleFactor;
             cellHeight--;
         } else {
-            System.out.println("\n"
+            ui.printInline("\n"
                     + "###################\n"
                     + "You have reached the minimum calendar size!\n"
                     + "The calender will be printed at this minimum size.\n"
-                    + "###################\n");
+                    + "###################\n\n");
         }
     }
 
@@ -439,22 +417,22 @@ public class CalendarCommand extends Command {
     public void printHeadings() {
         for (int i = 0; i <= (cellLength * calWidth); i++) {
             if (i == 0) {
-                System.out.print(topLeft);
+                ui.printInline(topLeft);
             } else if (i == (cellLength * calWidth)) {
-                System.out.print(topRight);
+                ui.printInline(topRight);
             } else {
-                System.out.print(horz);
+                ui.printInline(horz);
             }
         }
-        System.out.print("\n");
-        System.out.print(vert);
+        ui.printInline("\n");
+        ui.printInline(vert);
         String toPrint = "   " + getMonthName(month) + " " + getYear(date);
-        System.out.print(toPrint);
+        ui.printInline(toPrint);
         for (int i = 0; i < ((cellLength * calWidth) - toPrint.length() - 1); i++) {
-            System.out.print(" ");
+            ui.printInline(" ");
         }
-        System.out.print(vert);
-        System.out.print("\n");
+        ui.printInline(vert);
+        ui.printInline("\n");
     }
 
     /**
@@ -0,0 +1,120 @@
+package rims.command;
+
+import rims.core.ResourceList;
+import rims.core.Storage;
+
+import rims.exception.RimsException;
+
+import rims.resource.Reservation;
+import rims.resource.ReservationList;
+import rims.resource.Resource;
+
+import java.util.ArrayList;
+
+/**
+ * A single change made by a Command to the Resources or Reservations in the inventory, which
+ * can be undone and redone in memory. Undoing or redoing a change is journaled like any other
+ * change, so that it is saved when the command that did so commits.
+ *
+ * <p>As other terminals may have changed the inventory in the meantime, a Resource or Reservation
+ * is only added back if its ID has not been given to another one since, and a Reservation only if
+ * its Resource is still free over its dates. A Resource is only deleted again if it holds the same
+ * Reservations as when this change was made.
+ */
+public class Change {
+    /**
+     * The kinds of change that a Command can make.
+     */
+    public enum Type {
+        ADD_RESOURCE, DELETE_RESOURCE, BOOK, CANCEL
+    }
+
+    protected Type type;
+    protected Resource resource;
+    protected Reservation reservation;
+    protected ArrayList<Reservation> resourceReservations;
+
+    /**
+     * Constructor for a change that adds or deletes a Resource, together with its Reservations.
+     * @param type either ADD_RESOURCE or DELETE_RESOURCE.
+     * @param resource the Resource that has been added or deleted.
+     */
+    public Change(Type type, Resource resource) {
+        this.type = type;
+        this.resource = resource;
+        this.resourceReservations = resource.getReservations().getReservationList();
+    }
+
+    /**
+     * Constructor for a change that creates or cancels a Reservation.
+     * @param type either BOOK or CANCEL.
+     * @param reservation the Reservation that has been created or cancelled.
+     */
+    public Change(Type type, Reservation reservation) {
+        this.type = type;
+        this.reservation = reservation;
+    }
+
+    /**
+     * Reverts this change.
+     * @param resources the ResourceList the change was made to.
+     * @param storage the Storage in which the reverting is journaled.
+     * @throws RimsException if the Resource or Reservation concerned can no longer be found, or has
+     *                       since been booked by another user.
+     */
+    public void undo(ResourceList resources, Storage storage) throws RimsException {
+        if (type == Type.ADD_RESOURCE) {
+            deleteResource(resources, storage);
+        } else if (type == Type.DELETE_RESOURCE) {
+            addResource(resources, storage);
+        } else if (type == Type.BOOK) {
+            cancelReservation(resources, storage);
+        } else {
+            addReservation(resources, storage);
+        }
+    }
+
+    /**
+     * Makes this change again, after it has been undone.
+     * @param resources the ResourceList the change was made to.
+     * @param storage the Storage in which the change is journaled.
+     * @throws RimsException if the Resource or Reservation concerned can no longer be found, or has
+     *                       since been booked by another user.
+     */
+    public void redo(ResourceList resources, Storage storage) throws RimsException {
+        if (type == Type.ADD_RESOURCE) {
+            addResource(resources, storage);
+        } else if (type == Type.DELETE_RESOURCE) {
+            deleteResource(resources, storage);
+        } else if (type == Type.BOOK) {
+            addReservation(resources, storage);
+        } else {
+            cancelReservation(resources, storage);
+        }
+    }
+
+    private void addResource(ResourceList resources, Storage storage) throws RimsException {
+        resources.restore(resource);
+        storage.logAddResource(resource);
+        ReservationList thisResourceReservations = resource.getReservations();
+        for (int i = 0; i < thisResourceReservations.size(); i++) {
+            storage.logCreateReservation(thisResourceReservations.getReservationByIndex(i));
+        }
+    }
+
+    private void deleteResource(ResourceList resources, Storage storage) throws RimsException {
+        resources.deleteResourceIfUnchanged(resource.getResourceId(), resourceReservations);
+        storage.logDeleteResource(resource);
+    }
+
+    private void addReservation(ResourceList resources, Storage storage) throws RimsException {
+        resources.restoreReservation(reservation, System.currentTimeMillis());
+        storage.logCreateReservation(reservation);
+    }
+
+    private void cancelReservation(ResourceList resources, Storage storage) throws RimsException {
+        Resource thisResource = resources.getResourceById(reservation.getResourceId());
+        thisResource.getReservations().cancelReservationById(reservation.getReservationId());
+        storage.logCancelReservation(reservation);
+    }
+}
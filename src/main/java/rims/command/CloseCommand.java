@@ -29,7 +29,7 @@ public class CloseCommand extends Command {
      *                     to disk
      */
     public void execute(Ui ui, Storage storage, ResourceList resources) throws RimsException {
-        TagList newTagList = Rims.tags;
+        TagList newTagList = Rims.getTags();
         storage.saveToFile(resources.getResources());
         try {
             storage.saveToFileTags(newTagList.getTags());
@@ -10,6 +10,11 @@ import rims.core.Ui;
 
 import rims.exception.RimsException;
 
+import rims.resource.Reservation;
+import rims.resource.Resource;
+
+import java.util.ArrayList;
+
 //@@author rabhijit
 /**
  * The parent class of all possible Commands understood by RIMS. Sets the exit code
@@ -19,6 +24,7 @@ public abstract class Command {
     protected Boolean willExit;
     protected boolean canModifyData;
     protected String commandUserInput;
+    protected ArrayList<Change> changes = new ArrayList<Change>();
 
     /**
      * Sets the exit code, which is checked after the handling and processing of every command
@@ -64,6 +70,98 @@ public abstract class Command {
     }
 
 
+    /**
+     * Checks whether this Command has changed any Resource or Reservation.
+     * @return true if this Command has recorded any change.
+     */
+    public boolean hasChanges() {
+        return !changes.isEmpty();
+    }
+
+    /**
+     * Reverts every change recorded by this Command, the most recent first. If a change cannot be
+     * reverted, the changes already reverted are made again, so that either all of them are reverted
+     * or none is.
+     * @param resources The ResourceList the changes were made to.
+     * @param storage An instance of the Storage class, in which the reverting is journaled.
+     * @throws RimsException if a Resource or Reservation that was changed can no longer be found.
+     */
+    public void undoChanges(ResourceList resources, Storage storage) throws RimsException {
+        int i = changes.size() - 1;
+        try {
+            for (; i >= 0; i--) {
+                changes.get(i).undo(resources, storage);
+            }
+        } catch (RimsException e) {
+            for (int j = i + 1; j < changes.size(); j++) {
+                changes.get(j).redo(resources, storage);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Makes every change recorded by this Command again, in the order they were first made. If a
+     * change cannot be made again, the changes already made are reverted, so that either all of them
+     * are made again or none is.
+     * @param resources The ResourceList the changes were made to.
+     * @param storage An instance of the Storage class, in which the changes are journaled.
+     * @throws RimsException if a Resource or Reservation that was changed can no longer be found.
+     */
+    public void redoChanges(ResourceList resources, Storage storage) throws RimsException {
+        int i = 0;
+        try {
+            for (; i < changes.size(); i++) {
+                changes.get(i).redo(resources, storage);
+            }
+        } catch (RimsException e) {
+            for (int j = i - 1; j >= 0; j--) {
+                changes.get(j).undo(resources, storage);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Journals the addition of a new Resource, and records it so that it can be undone.
+     * @param storage An instance of the Storage class.
+     * @param thisResource the Resource that has been added.
+     */
+    protected void logAddResource(Storage storage, Resource thisResource) {
+        storage.logAddResource(thisResource);
+        changes.add(new Change(Change.Type.ADD_RESOURCE, thisResource));
+    }
+
+    /**
+     * Journals the deletion of a Resource, and records it so that it can be undone.
+     * @param storage An instance of the Storage class.
+     * @param thisResource the Resource that has been deleted, together with its Reservations.
+     */
+    protected void logDeleteResource(Storage storage, Resource thisResource) {
+        storage.logDeleteResource(thisResource);
+        changes.add(new Change(Change.Type.DELETE_RESOURCE, thisResource));
+    }
+
+    /**
+     * Journals the creation of a new Reservation, and records it so that it can be undone.
+     * @param storage An instance of the Storage class.
+     * @param thisReservation the Reservation that has been created.
+     */
+    protected void logCreateReservation(Storage storage, Reservation thisReservation) {
+        storage.logCreateReservation(thisReservation);
+        changes.add(new Change(Change.Type.BOOK, thisReservation));
+    }
+
+    /**
+     * Journals the cancellation of a Reservation, and records it so that it can be undone.
+     * @param storage An instance of the Storage class.
+     * @param thisReservation the Reservation that has been cancelled.
+     */
+    protected void logCancelReservation(Storage storage, Reservation thisReservation) {
+        storage.logCancelReservation(thisReservation);
+        changes.add(new Change(Change.Type.CANCEL, thisReservation));
+    }
+
     /**
      * In the Command child classes, this method will carry out the necessary operations
      * to execute its command.
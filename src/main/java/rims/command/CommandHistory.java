@@ -0,0 +1,102 @@
+package rims.command;
+
+import rims.core.ResourceList;
+import rims.core.Storage;
+
+import rims.exception.RimsException;
+
+import java.util.ArrayDeque;
+
+/**
+ * Keeps the Commands that have changed the inventory, most recent first, so that they can be
+ * undone and redone in memory. Only a bounded number of Commands is kept, the oldest being
+ * forgotten first. Executing a new Command that changes the inventory forgets every Command
+ * that has been undone, as they can no longer be redone. Commands executed concurrently are
+ * recorded one at a time.
+ */
+public class CommandHistory {
+    public static final int DEFAULT_DEPTH = 50;
+
+    protected int depth;
+    protected ArrayDeque<Command> undoStack = new ArrayDeque<Command>();
+    protected ArrayDeque<Command> redoStack = new ArrayDeque<Command>();
+
+    /**
+     * Constructor for a CommandHistory.
+     * @param depth the largest number of Commands that can be undone.
+     * @throws IllegalArgumentException if depth is not positive.
+     */
+    public CommandHistory(int depth) {
+        if (depth <= 0) {
+            throw new IllegalArgumentException("The history depth must be positive!");
+        }
+        this.depth = depth;
+    }
+
+    /**
+     * Records a Command that has been executed, if it changed the inventory.
+     * @param c the Command that has been executed.
+     */
+    public synchronized void record(Command c) {
+        if (!c.hasChanges()) {
+            return;
+        }
+        undoStack.push(c);
+        if (undoStack.size() > depth) {
+            undoStack.removeLast();
+        }
+        redoStack.clear();
+    }
+
+    /**
+     * Checks if there is a Command that can be undone.
+     * @return true if a Command can be undone.
+     */
+    public synchronized boolean canUndo() {
+        return !undoStack.isEmpty();
+    }
+
+    /**
+     * Checks if there is an undone Command that can be redone.
+     * @return true if a Command can be redone.
+     */
+    public synchronized boolean canRedo() {
+        return !redoStack.isEmpty();
+    }
+
+    /**
+     * Undoes the changes made by the most recent Command that has not been undone yet. If they
+     * cannot be undone, none of them is, and the Command can still be undone later.
+     * @param resources the ResourceList the changes were made to.
+     * @param storage the Storage in which the undoing is journaled.
+     * @return the Command that has been undone.
+     * @throws RimsException if there is no Command to undo, or the changes cannot be undone.
+     */
+    public synchronized Command undo(ResourceList resources, Storage storage) throws RimsException {
+        if (undoStack.isEmpty()) {
+            throw new RimsException("There is no command left to undo!");
+        }
+        Command c = undoStack.peek();
+        c.undoChanges(resources, storage);
+        redoStack.push(undoStack.pop());
+        return c;
+    }
+
+    /**
+     * Makes the changes of the most recently undone Command again. If they cannot be made again,
+     * none of them is, and the Command can still be redone later.
+     * @param resources the ResourceList the changes were made to.
+     * @param storage the Storage in which the changes are journaled.
+     * @return the Command that has been redone.
+     * @throws RimsException if there is no Command to redo, or the changes cannot be made again.
+     */
+    public synchronized Command redo(ResourceList resources, Storage storage) throws RimsException {
+        if (redoStack.isEmpty()) {
+            throw new RimsException("There is no undone command to redo!");
+        }
+        Command c = redoStack.peek();
+        c.redoChanges(resources, storage);
+        undoStack.push(redoStack.pop());
+        return c;
+    }
+}
@@ -51,10 +51,10 @@ public class DeleteCommand extends Command {
      */
     @Override
     public void execute(Ui ui, Storage storage, ResourceList resources) throws RimsException {
-        storage.saveToFile(resources.getResources());
         if (resourceType.equals("room")) {
             Resource thisResource = resources.getResourceByName(resourceName);
             resources.deleteResourceByName(resourceName);
+            logDeleteResource(storage, thisResource);
             ui.printLine();
             ui.print("The following room has been successfully deleted:");
             ui.print(thisResource.toString());
@@ -107,6 +107,7 @@ public class DeleteCommand extends Command {
                 Resource thisResource = resources.getResourceById(intIdInput.get(k));
                 deletedResources.add(thisResource);
                 resources.deleteResourceById(intIdInput.get(k));
+                logDeleteResource(storage, thisResource);
             }
             qty = deletedResources.size();
 
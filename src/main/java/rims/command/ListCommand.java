@@ -1,13 +1,12 @@
 package rims.command;
 
-import java.text.DateFormat;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 
+import rims.core.DateCodec;
 import rims.core.ResourceList;
 import rims.core.Rims;
 import rims.core.Storage;
@@ -24,8 +23,11 @@ import rims.resource.Tag;
  * Shows the TaskList of all the currently existing Tasks in String format.
  */
 public class ListCommand extends Command {
+    public static final int DEFAULT_PAGE_SIZE = 20;
     protected String resourceDetail = null;
     protected String listType = null;
+    protected int page;
+    protected int pageSize;
 
     /**
      * The constructor for a ListCommand, for a generic list of all Resources in the
@@ -50,6 +52,21 @@ public class ListCommand extends Command {
         commandUserInput = "list all " + paramType + "by " + resourceDetail;
     }
 
+    /**
+     * The constructor for a ListCommand, when only one page of the generic list of all
+     * Resources is desired.
+     *
+     * @param page     the number of the page desired, starting from 1.
+     * @param pageSize the number of Resource names on each page.
+     */
+    public ListCommand(int page, int pageSize) {
+        listType = "page";
+        this.page = page;
+        this.pageSize = pageSize;
+        canModifyData = false;
+        commandUserInput = "list page " + page + " of size " + pageSize;
+    }
+
     /**
      * Converts a date and time inputted by the user in String format, into a Date
      * object.
@@ -58,14 +75,7 @@ public class ListCommand extends Command {
      * @return a Date object representing the date and time inputted by the user.
      */
     public static Date stringToDate(String stringDate) throws RimsException {
-        SimpleDateFormat formatter = new SimpleDateFormat("dd/MM/yyyy HHmm");
-        Date dateValue;
-        try {
-            dateValue = formatter.parse(stringDate);
-        } catch (ParseException e) {
-            throw new RimsException("Invalid format of date " + stringDate + "!");
-        }
-        return dateValue;
+        return DateCodec.parse(stringDate);
     }
 
     /**
@@ -75,20 +85,67 @@ public class ListCommand extends Command {
     public static ArrayList<String> getListForSpecificDay(Date day, ResourceList resources, Ui ui)
             throws ParseException, RimsException {
         ArrayList<String> coveredResources = new ArrayList<String>();
-        DateFormat dateFormat = new SimpleDateFormat("dd/MM/yyyy HHmm");
-        String strDate = dateFormat.format(day);
-        for (int i = 0; i < resources.size(); i++) {
-            Resource thisResource = resources.getResourceByIndex(i);
-            int bookedNumberOfResource = resources.getBookedNumberOfResourceForDate(thisResource.getName(), strDate);
-
-            if (!coveredResources.contains(bookedNumberOfResource + "x " + thisResource.getName())
-                    && bookedNumberOfResource > 0) {
-                coveredResources.add(bookedNumberOfResource + "x " + thisResource.getName());
+        long currentTime = System.currentTimeMillis();
+        ArrayList<Resource> firstOfEachResource = resources.getFirstOfEachResource();
+        ArrayList<Integer> bookedNumbers = resources.getQueryExecutor().map(firstOfEachResource.size(), i ->
+                resources.getBookedNumberOfResourceForDate(firstOfEachResource.get(i).getName(), day, currentTime));
+        for (int i = 0; i < firstOfEachResource.size(); i++) {
+            if (bookedNumbers.get(i) > 0) {
+                coveredResources.add(bookedNumbers.get(i) + "x " + firstOfEachResource.get(i).getName());
             }
         }
         return coveredResources;
     }
 
+    /**
+     * Prints the Resources of some names that are available at a given time, followed by
+     * those that are booked, together with their current bookings.
+     *
+     * @param ui                  An instance of the user interface.
+     * @param resources           The ResourceList, containing all the created Resources thus far.
+     * @param firstOfEachResource the first Resource of each name to be printed.
+     * @param currentTime         the current time, in epoch milliseconds.
+     * @throws RimsException if the current booking of a booked Resource cannot be found.
+     */
+    private void printResourcesAtTime(Ui ui, ResourceList resources, ArrayList<Resource> firstOfEachResource,
+            long currentTime) throws RimsException {
+        ui.print("CURRENTLY AVAILABLE:");
+        ui.printEmptyLine();
+        for (int i = 0; i < firstOfEachResource.size(); i++) {
+            Resource thisResource = firstOfEachResource.get(i);
+            int availableNumberOfResource = resources.getAvailableNumberOfResource(thisResource.getName(),
+                    currentTime);
+            if (availableNumberOfResource > 0) {
+                if (thisResource.getType().equals("I")) {
+                    ui.print(thisResource.toString() + " (qty: " + availableNumberOfResource + ")");
+                } else if (thisResource.getType().equals("R")) {
+                    ui.print(thisResource.toString());
+                }
+            }
+        }
+        ui.printDash();
+        ui.print("CURRENTLY BOOKED:");
+        ui.printEmptyLine();
+        for (int i = 0; i < firstOfEachResource.size(); i++) {
+            Resource thisResource = firstOfEachResource.get(i);
+            int bookedNumberOfResource = resources.getBookedNumberOfResource(thisResource.getName(), currentTime);
+            if (bookedNumberOfResource > 0) {
+                if (thisResource.getType().equals("I")) {
+                    ui.print(thisResource.toString() + " (qty: " + bookedNumberOfResource + ")");
+                } else if (thisResource.getType().equals("R")) {
+                    ui.print(thisResource.toString());
+                }
+                ArrayList<Resource> allOfResource = resources.getAllOfResource(thisResource.getName());
+                for (int j = 0; j < allOfResource.size(); j++) {
+                    if (!allOfResource.get(j).isCurrentlyAvailable(currentTime)) {
+                        ui.print("\t" + allOfResource.get(j).getReservations().getCurrentBooking(currentTime)
+                                .toString());
+                    }
+                }
+            }
+        }
+    }
+
     //@@author rabhijit
     /**
      * Depending on the type of list desired, either prints out a basic list of all
@@ -104,45 +161,22 @@ public class ListCommand extends Command {
      */
     @Override
     public void execute(Ui ui, Storage storage, ResourceList resources) throws RimsException {
+        long currentTime = System.currentTimeMillis();
         if (listType == null) {
             ui.printLine();
-            ArrayList<String> coveredResources = new ArrayList<String>();
-            ui.print("CURRENTLY AVAILABLE:");
-            ui.printEmptyLine();
-            for (int i = 0; i < resources.size(); i++) {
-                Resource thisResource = resources.getResourceByIndex(i);
-                int availableNumberOfResource = resources.getAvailableNumberOfResource(thisResource.getName());
-                if (!coveredResources.contains(thisResource.getName()) && availableNumberOfResource > 0) {
-                    coveredResources.add(thisResource.getName());
-                    if (thisResource.getType().equals("I")) {
-                        ui.print(thisResource.toString() + " (qty: " + availableNumberOfResource + ")");
-                    } else if (thisResource.getType().equals("R")) {
-                        ui.print(thisResource.toString());
-                    }
-                }
+            printResourcesAtTime(ui, resources, resources.getFirstOfEachResource(), currentTime);
+            ui.printLine();
+
+        } else if (listType.equals("page")) {
+            int numberOfPages = Math.max(1, (resources.getNumberOfNames() + pageSize - 1) / pageSize);
+            if (page < 1 || page > numberOfPages) {
+                throw new RimsException("There is no such page! Please choose a page from 1 to " + numberOfPages + ".");
             }
+            ui.printLine();
+            ui.print("PAGE " + page + " OF " + numberOfPages + ":");
             ui.printDash();
-            ui.print("CURRENTLY BOOKED:");
-            ui.printEmptyLine();
-            coveredResources = new ArrayList<String>();
-            for (int i = 0; i < resources.size(); i++) {
-                Resource thisResource = resources.getResourceByIndex(i);
-                int bookedNumberOfResource = resources.getBookedNumberOfResource(thisResource.getName());
-                if (!coveredResources.contains(thisResource.getName()) && bookedNumberOfResource > 0) {
-                    coveredResources.add(thisResource.getName());
-                    if (thisResource.getType().equals("I")) {
-                        ui.print(thisResource.toString() + " (qty: " + bookedNumberOfResource + ")");
-                    } else if (thisResource.getType().equals("R")) {
-                        ui.print(thisResource.toString());
-                    }
-                    ArrayList<Resource> allOfResource = resources.getAllOfResource(thisResource.getName());
-                    for (int j = 0; j < allOfResource.size(); j++) {
-                        if (!allOfResource.get(j).isCurrentlyAvailable()) {
-                            ui.print("\t" + allOfResource.get(j).getReservations().getCurrentBooking().toString());
-                        }
-                    }
-                }
-            }
+            printResourcesAtTime(ui, resources, resources.getFirstOfEachResource((page - 1) * pageSize, pageSize),
+                    currentTime);
             ui.printLine();
 
         } else if (listType.equals("item")) {
@@ -186,11 +220,11 @@ public class ListCommand extends Command {
 
         // @@author aarushisingh1
         } else if (listType.equals("tag")) {
-            if (!Rims.tags.tagExists(resourceDetail)) {
+            if (!Rims.getTags().tagExists(resourceDetail)) {
                 throw new RimsException("There is no such tag!");
             }
             ui.printLine();
-            ArrayList<Tag> listTag = Rims.tags.getAllOfResource(resourceDetail);
+            ArrayList<Tag> listTag = Rims.getTags().getAllOfResource(resourceDetail);
             for (int i = 0; i < listTag.size(); i++) {
                 Tag thisTag = listTag.get(i);
                 ReservationList thisResourceReservations = thisTag.getReservations();
@@ -210,35 +244,35 @@ public class ListCommand extends Command {
             // @@author aarushisingh1
         } else if (listType.equals("date")) {
             ui.printLine();
-            ArrayList<String> coveredResources = new ArrayList<String>();
             ui.print("CURRENTLY AVAILABLE ON THIS DATE:");
             ui.printEmptyLine();
             String checkedDate = resourceDetail;
             Date date = resources.stringToDate(checkedDate);
-            for (int i = 0; i < resources.size(); i++) {
-                Resource thisResource = resources.getResourceByIndex(i);
-                int availableNumberOfResource = resources.getAvailableNumberOfResourceForDate(thisResource.getName(),
-                        checkedDate);
-                if (!coveredResources.contains(thisResource.getName()) && availableNumberOfResource > 0) {
-                    coveredResources.add(thisResource.getName());
-                    ui.print(thisResource.toString() + " (qty: " + availableNumberOfResource + ")");
+            ArrayList<Resource> firstOfEachResource = resources.getFirstOfEachResource();
+            ArrayList<int[]> numbersOfResource = resources.getQueryExecutor().map(firstOfEachResource.size(), i -> {
+                String name = firstOfEachResource.get(i).getName();
+                return new int[] {resources.getAvailableNumberOfResourceForDate(name, date, currentTime),
+                        resources.getBookedNumberOfResourceForDate(name, date, currentTime)};
+            });
+            for (int i = 0; i < firstOfEachResource.size(); i++) {
+                int availableNumberOfResource = numbersOfResource.get(i)[0];
+                if (availableNumberOfResource > 0) {
+                    ui.print(firstOfEachResource.get(i).toString() + " (qty: " + availableNumberOfResource + ")");
                 }
             }
             ui.printDash();
             ui.print("CURRENTLY BOOKED ON THIS DATE:");
             ui.printEmptyLine();
-            coveredResources = new ArrayList<String>();
-            for (int i = 0; i < resources.size(); i++) {
-                Resource thisResource = resources.getResourceByIndex(i);
-                int bookedNumberOfResource = resources.getBookedNumberOfResourceForDate(thisResource.getName(),
-                        checkedDate);
-                if (!coveredResources.contains(thisResource.getName()) && bookedNumberOfResource > 0) {
-                    coveredResources.add(thisResource.getName());
+            for (int i = 0; i < firstOfEachResource.size(); i++) {
+                Resource thisResource = firstOfEachResource.get(i);
+                int bookedNumberOfResource = numbersOfResource.get(i)[1];
+                if (bookedNumberOfResource > 0) {
                     ui.print(thisResource.toString() + " (qty: " + bookedNumberOfResource + ")");
                     ArrayList<Resource> allOfResource = resources.getAllOfResource(thisResource.getName());
                     for (int j = 0; j < allOfResource.size(); j++) {
-                        if (!allOfResource.get(j).isAvailableOnDate(date)) {
-                            ui.print("\t" + allOfResource.get(j).getReservations().getCurrentBooking().toString());
+                        if (!allOfResource.get(j).isAvailableOnDate(date, currentTime)) {
+                            ui.print("\t" + allOfResource.get(j).getReservations().getCurrentBooking(currentTime)
+                                    .toString());
                         }
                     }
                 }
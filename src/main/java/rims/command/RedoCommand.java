@@ -0,0 +1,50 @@
+package rims.command;
+
+import rims.core.ResourceList;
+import rims.core.Storage;
+import rims.core.Ui;
+
+import rims.exception.RimsException;
+
+/**
+ * Redoes the last command that was undone by an UndoCommand, by making the changes it
+ * recorded in the CommandHistory again. Once a new command changes the inventory, the
+ * commands undone before it can no longer be redone.
+ */
+public class RedoCommand extends Command {
+    protected CommandHistory history;
+
+    /**
+     * Constructor of a RedoCommand, which takes in the history of the Commands
+     * that have changed ResourceList.
+     *
+     * @param history the history of Commands inputted by the user that changed
+     *                ResourceList.
+     */
+    public RedoCommand(CommandHistory history) {
+        this.history = history;
+        canModifyData = false;
+        commandUserInput = "redo";
+    }
+
+    /**
+     * Redoes the last Command that was undone. Making its changes again is journaled,
+     * and committed together with this Command.
+     *
+     * @param ui        An instance of the user interface.
+     * @param storage   An instance of the Storage class.
+     * @param resources The ResourceList, containing all the created Resources thus
+     *                  far.
+     * @throws RimsException for any data-related error in redoing the command.
+     */
+    @Override
+    public void execute(Ui ui, Storage storage, ResourceList resources) throws RimsException {
+        if (!history.canRedo()) {
+            ui.formattedPrint("No command has been undone yet!");
+            return;
+        }
+        Command redoneCommand = history.redo(resources, storage);
+
+        ui.formattedPrint("The following command has been redone: " + redoneCommand.getCommandUserInput());
+    }
+}
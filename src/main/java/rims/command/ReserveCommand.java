@@ -144,7 +144,9 @@ public class ReserveCommand extends Command {
     /**
      * Checks if the reservation is possible given the number of available Resources
      * and Reservations that are already in place, and if it is possible, creates a
-     * Reservation for the desired number of Resources between the given dates.
+     * Reservation for the desired number of Resources between the given dates. The free
+     * Resources are found in one pass, and either all of them are booked or none is. If
+     * another command books some of them first, the Reservation is not made.
      *
      * @param ui        An instance of the user interface.
      * @param storage   An instance of the Storage class.
@@ -156,8 +158,6 @@ public class ReserveCommand extends Command {
      */
     @Override
     public void execute(Ui ui, Storage storage, ResourceList resources) throws RimsException {
-        storage.saveToFile(resources.getResources());
-
         if (!(stringDateFrom == null)) {
             dateFrom = resources.stringToDate(stringDateFrom);
         }
@@ -165,7 +165,7 @@ public class ReserveCommand extends Command {
             throw new RimsException("Reservation is not made because the user has entered 0 or a negative quantity!");
         }
         dateTill = resources.stringToDate(stringDateTill);
-        if (resources.getAvailableNumberOfResource(resourceName) < qty) {
+        if (resources.getNumberOfResource(resourceName) < qty) {
             printResources(resourceName, ui, resources);
             if (qty == 1) {
                 throw new RimsException("We don't have this resource currently available in our inventory!");
@@ -173,35 +173,63 @@ public class ReserveCommand extends Command {
                 throw new RimsException("We don't have that many of this resource currently available!");
             }
         }
-        ArrayList<Resource> allOfResource = resources.getAllOfResource(resourceName);
+        long currentTime = System.currentTimeMillis();
+        checkDates(currentTime);
+        checkAvailableNumber(ui, resources, currentTime);
+        ArrayList<Reservation> newReservations = resources.bookResources(resourceName, qty, userId, dateFrom,
+                dateTill, currentTime);
+        if (newReservations == null) {
+            checkAvailableNumber(ui, resources, currentTime);
+            throw new RimsException("Reservation is not made because these resources were booked by someone else "
+                    + "at the same time!");
+        }
         ArrayList<Resource> bookedResources = new ArrayList<Resource>();
-        int qtyBooked = 0;
-        for (int j = 0; j < allOfResource.size(); j++) {
-            Resource thisResource = allOfResource.get(j);
-            if (thisResource.isAvailableFrom(dateFrom, dateTill)) {
-                thisResource.book(resources.generateReservationId(), userId, dateFrom, dateTill);
-                bookedResources.add(thisResource);
-                qtyBooked++;
-            }
-            if (qtyBooked == qty) {
-                break;
-            }
+        for (int i = 0; i < newReservations.size(); i++) {
+            logCreateReservation(storage, newReservations.get(i));
+            bookedResources.add(resources.getResourceById(newReservations.get(i).getResourceId()));
         }
-        if (qtyBooked != 0) {
-            printResources(resourceName, ui, resources);
-            ui.printLine();
-            ui.print("Done! I've booked these resources:");
-            for (int i = 0; i < bookedResources.size(); i++) {
-                ui.print("\t" + bookedResources.get(i).toString() + " (resource ID: "
-                        + bookedResources.get(i).getResourceId() + ")");
-            }
-            ui.print("\n\t" + "from " + resources.getDateToPrint(dateFrom) + " till "
-                    + resources.getDateToPrint(dateTill));
-            ui.printLine();
-        } else {
+        ui.printLine();
+        ui.print("Done! I've booked these resources:");
+        for (int i = 0; i < bookedResources.size(); i++) {
+            ui.print("\t" + bookedResources.get(i).toString() + " (resource ID: "
+                    + bookedResources.get(i).getResourceId() + ")");
+        }
+        ui.print("\n\t" + "from " + resources.getDateToPrint(dateFrom) + " till "
+                + resources.getDateToPrint(dateTill));
+        ui.printLine();
+    }
+
+    /**
+     * Checks that enough Resources are free between the dates of the Reservations to be made.
+     *
+     * @param currentTime the current time, in epoch milliseconds.
+     * @throws RimsException if fewer Resources are free than are to be booked.
+     */
+    private void checkAvailableNumber(Ui ui, ResourceList resources, long currentTime) throws RimsException {
+        int availableNumber = resources.getAvailableNumberOfResource(resourceName, dateFrom, dateTill, currentTime);
+        if (availableNumber == 0) {
             printResources(resourceName, ui, resources);
             throw new RimsException("This item is not available between the dates you've selected!");
         }
+        if (availableNumber < qty) {
+            throw new RimsException("Reservation is not made because only " + availableNumber
+                    + " of this resource are available between the dates you've selected!");
+        }
+    }
+
+    /**
+     * Checks that the dates of the Reservations to be made are valid, before any of them is made.
+     *
+     * @param currentTime the current time, in epoch milliseconds.
+     * @throws RimsException if the date of return is before the date of borrowing, or is in the past.
+     */
+    private void checkDates(long currentTime) throws RimsException {
+        if (dateFrom.after(dateTill)) {
+            throw new RimsException("Your date of return must be after your date of borrowing!");
+        }
+        if (currentTime > dateTill.getTime()) {
+            throw new RimsException("Your date of return must be a date in the future!");
+        }
     }
 
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package rims.command;
 
+import rims.core.BookingSweep;
+import rims.core.DateCodec;
 import rims.core.ResourceList;
 import rims.core.Storage;
 import rims.core.Ui;
@@ -11,18 +13,13 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-
 import java.util.Calendar;
 import java.util.Date;
-import java.util.concurrent.TimeUnit;
 
 //@@author isbobby
 /**
- * Stats Command requires the user to enter a pair of dates with interval less
- * than 14 days. It will query for the following information and display them to
+ * Stats Command requires the user to enter a pair of dates, which may be any number of
+ * days apart. It will query for the following information and display them to
  * the user: average resource borrowed per day number of resource in use per day.
  */
 public class StatsCommand extends Command {
@@ -51,15 +48,14 @@ public class StatsCommand extends Command {
      * @param storage   An instance of the Storage class.
      * @param resources The ResourceList, containing all the created Resources thus
      *                  far.
-     * @throws RimsException if there is an error in parsing data.
+     * @throws RimsException if the end of the date interval is before its start.
      */
     @Override
     public void execute(Ui ui, Storage storage, ResourceList resources)
             throws RimsException {
 
-        long interval = TimeUnit.DAYS.convert((dateTill.getTime() - dateFrom.getTime()), TimeUnit.MILLISECONDS) + 1;
-        if (interval >= 15) {
-            throw new RimsException("The date interval is too large (more than 14 days)");
+        if (dateTill.before(dateFrom)) {
+            throw new RimsException("The end of the date interval cannot be before its start!");
         }
         ui.printLine();
         ui.print("Here are the required stats:");
@@ -68,14 +64,17 @@ public class StatsCommand extends Command {
         ui.printDash();
         ui.print("Resource in use each day");
         ui.printDash();
+        BookingSweep bookings = new BookingSweep(resources, System.currentTimeMillis());
         Date currentDate = dateFrom;
         int totalCount = 0;
-        for (int i = 0; i < interval; i++) {
-            int count = resources.getBookedNumberOfResourceForDate(currentDate);
+        int interval = 0;
+        while (!currentDate.after(dateTill)) {
+            int count = bookings.getBookedNumberAt(currentDate.getTime());
             totalCount += count;
-            String bar = "";
+            interval++;
+            StringBuilder bar = new StringBuilder();
             for (int j = 0; j < count; j++) {
-                bar += "= ";
+                bar.append("= ");
             }
             ui.print(dateToStringWithoutTime(currentDate) + "|" + bar);
             currentDate = incrementDay(currentDate);
@@ -98,26 +97,7 @@ public class StatsCommand extends Command {
      * @throws RimsException stringDate cannot be formatted.
      */
     private Date stringToDate(String stringDate) throws RimsException {
-        SimpleDateFormat formatter = new SimpleDateFormat("dd/MM/yyyy HHmm");
-        Date dateValue;
-        try {
-            dateValue = formatter.parse(stringDate);
-        } catch (ParseException e) {
-            throw new RimsException("Invalid format of date " + stringDate + "!");
-        }
-        return dateValue;
-    }
-
-    /**
-     * Converts a Date object to a compact String, to be saved into a data file.
-     *
-     * @param thisDate the Date object to be converted into a String.
-     * @return a String representing the Date object.
-     */
-    private String dateToString(Date thisDate) {
-        DateFormat format = new SimpleDateFormat("dd/MM/yyyy HHmm");
-        String stringDate = format.format(thisDate);
-        return stringDate;
+        return DateCodec.parse(stringDate);
     }
 
     /**
@@ -127,10 +107,7 @@ public class StatsCommand extends Command {
      * @return a String representing the Date object.
      */
     private String dateToStringWithoutTime(Date thisDate) {
-        DateFormat format = new SimpleDateFormat("dd/MM/yyyy HHmm");
-        String stringDate = format.format(thisDate);
-        String[] words = stringDate.split(" ");
-        return words[0];
+        return DateCodec.formatDay(thisDate.getTime());
     }
 
     /**
@@ -138,20 +115,12 @@ public class StatsCommand extends Command {
      *
      * @param thisDate the date to be incremented.
      * @return the incremented date object.
-     * @throws RimsException if newDate cannot be formatted into a Date from a String.
      */
-    private Date incrementDay(Date thisDate) throws RimsException {
-        String newDate = dateToString(thisDate);
-        SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy HHmm");
+    private Date incrementDay(Date thisDate) {
         Calendar c = Calendar.getInstance();
-        try {
-            c.setTime(sdf.parse(newDate));
-        } catch (ParseException e) {
-            throw new RimsException("Invalid format of date " + newDate + "!");
-        }
+        c.setTime(thisDate);
         c.add(Calendar.DATE, 1); // number of days to add
-        newDate = sdf.format(c.getTime()); // dt is now the new date
-        return stringToDate(newDate);
+        return c.getTime();
     }
 
 }
\ No newline at end of file
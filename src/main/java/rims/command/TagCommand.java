@@ -45,7 +45,7 @@ public class TagCommand extends Command{
     @Override
     public void execute(Ui ui, Storage storage, ResourceList resources) throws RimsException{
         ArrayList<Resource> allOfItem = resources.getAllOfResource(resourceName);
-        TagList newTagList = Rims.tags;
+        TagList newTagList = Rims.getTags();
         for(int i = 0; i < allOfItem.size(); i++) {
             Resource thisResource = allOfItem.get(i);
             if(thisResource.getReservations().size() == 0){
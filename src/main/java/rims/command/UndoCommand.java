@@ -6,40 +6,37 @@ import rims.core.Ui;
 
 import rims.exception.RimsException;
 
-import java.io.IOException;
-import java.text.ParseException;
-
 //@@author hin1
 /**
  * Undoes the last command (e.g. AddCommand, LoanCommand) that was executed that
  * made a change in Model component (ResourceList, ReservationList).
  *
- * <p>This is done by reloading a screenshot of the previous state of Model from
- * the external .txt files.
+ * <p>This is done by reverting, in memory, the changes recorded by that command in the
+ * CommandHistory. Undoing again reverts the command before it, up to the depth of the history.
  *
  * <p>Current list of commands supported:
  * Add, Delete, Loan, Reserve, Return
  */
 public class UndoCommand extends Command {
-    protected Command prevCommand;
+    protected CommandHistory history;
 
     /**
-     * Constructor of an UndoCommand, which takes in the parameter of a Command
-     * object, for the Ui to notify the user about the command that was undone.
+     * Constructor of an UndoCommand, which takes in the history of the Commands
+     * that have changed ResourceList.
      *
-     * @param previousCommand Command inputted by the user that last changed
-     *                        ResourceList.
+     * @param history the history of Commands inputted by the user that changed
+     *                ResourceList.
      */
-    public UndoCommand(Command previousCommand) {
-        prevCommand = previousCommand;
+    public UndoCommand(CommandHistory history) {
+        this.history = history;
         canModifyData = false;
         commandUserInput = "undo";
     }
 
     /**
-     * Undoes the previous Command by reloading the previous state captured in the
-     * external .txt files back into ResourceList resources by using storage. Not
-     * required to amend if new commands are present.
+     * Undoes the last Command that has not been undone yet, by reverting the changes it
+     * recorded. The reverting is journaled, and committed together with this Command.
+     * Not required to amend if new commands are present.
      *
      * @param ui        An instance of the user interface.
      * @param storage   An instance of the Storage class.
@@ -49,13 +46,12 @@ public class UndoCommand extends Command {
      */
     @Override
     public void execute(Ui ui, Storage storage, ResourceList resources) throws RimsException {
-        if (prevCommand == null) {
+        if (!history.canUndo()) {
             ui.formattedPrint("No command has modified this inventory yet!");
             return;
         }
-        storage.readResourceFile();
-        resources.setResources(storage.getResources());
+        Command undoneCommand = history.undo(resources, storage);
 
-        ui.formattedPrint("The following command has been undone: " + prevCommand.getCommandUserInput());
+        ui.formattedPrint("The following command has been undone: " + undoneCommand.getCommandUserInput());
     }
 }
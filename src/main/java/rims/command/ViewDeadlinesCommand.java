@@ -3,14 +3,12 @@ package rims.command;
 import java.text.ParseException;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 
 import rims.core.ResourceList;
 import rims.core.Storage;
 import rims.core.Ui;
 
-import rims.resource.Resource;
+import rims.resource.Reservation;
 
 import rims.exception.RimsException;
 
@@ -20,7 +18,8 @@ import rims.exception.RimsException;
  */
 public class ViewDeadlinesCommand extends Command {
     /**
-     * Prints out a sorted list of all the upcoming/overdue deadlines.
+     * Prints out a sorted list of all the upcoming/overdue deadlines, walking the loans of the
+     * ResourceList in the order they end.
      *
      * @param ui        An instance of the user interface.
      * @param storage   An instance of the Storage class.
@@ -31,39 +30,13 @@ public class ViewDeadlinesCommand extends Command {
      */
     public void execute(Ui ui, Storage storage, ResourceList resources) throws RimsException {
         ui.printLine();
-        ArrayList<String> coveredResources = new ArrayList<String>();
-        ArrayList<Resource> sortedList = new ArrayList<Resource>();
+        final long currentTime = System.currentTimeMillis();
         ui.print("CURRENTLY ACTIVE LOANS AND RESERVATIONS: (sorted by end-date)");
         ui.printEmptyLine();
-        for (int i = 0; i < resources.size(); i++) {
-            Resource thisResource = resources.getResourceByIndex(i);
-            int bookedNumberOfResource = resources.getBookedNumberOfResource(thisResource.getName());
-            if (!coveredResources.contains(thisResource.getName()) && bookedNumberOfResource > 0) {
-                coveredResources.add(thisResource.getName());
-                ArrayList<Resource> allOfResource = resources.getAllOfResource(thisResource.getName());
-                for (int j = 0; j < allOfResource.size(); j++) {
-                    if (!allOfResource.get(j).isCurrentlyAvailable()) {
-                        sortedList.add(allOfResource.get(j));
-                    }
-                }
-
-            }
-        }
-        Collections.sort(sortedList, new Comparator<Resource>() {
-            @Override
-            public int compare(Resource o1, Resource o2) {
-                try {
-                    return o1.getReservations().getCurrentBooking().getEndDate()
-                            .compareTo(o2.getReservations().getCurrentBooking().getEndDate());
-                } catch (RimsException e) {
-                    e.printStackTrace();
-                }
-                return -1;
-            }
-        });
-        for (int j = 0; j < sortedList.size(); j++) {
-            ui.print(sortedList.get(j).toString() + ":");
-            ui.print("\t" + sortedList.get(j).getReservations().getCurrentBooking().toString());
+        ArrayList<Reservation> activeLoans = resources.getActiveLoans(currentTime);
+        for (int j = 0; j < activeLoans.size(); j++) {
+            ui.print(resources.getResourceById(activeLoans.get(j).getResourceId()).toString() + ":");
+            ui.print("\t" + activeLoans.get(j).toString());
         }
         ui.printLine();
     }
@@ -0,0 +1,291 @@
+package rims.core;
+
+import rims.exception.RimsException;
+
+import rims.resource.Reservation;
+import rims.resource.Resource;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * A snapshot of every Resource and Reservation, stored in a binary, column-oriented file that is
+ * memory-mapped when loaded, so that loading it is essentially a bulk copy of each column.
+ *
+ * <p>Format of the snapshot file, with every number in big-endian order:
+ * Header: [ magic ] [ version ] [ resource count ] [ reservation count ] [ string count ] (int)
+ * String table: for each distinct resource name, [ length ] (int) followed by its UTF-8 bytes
+ * Resource columns: [ resource id ] (int), [ name index into the string table ] (int), [ type ] (byte)
+ * Reservation columns: [ reservation id ], [ resource id ], [ user id ] (int), [ date from ], [ date until ] (long)
+ *
+ * <p>Dates are stored as epoch milliseconds. Every column holds one value per Resource or
+ * Reservation, in the same order as the text data files.
+ */
+public class BinarySnapshot {
+    private static final int MAGIC = 0x52494D53;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 5 * Integer.BYTES;
+    private static final long RESOURCE_BYTES = 2 * Integer.BYTES + 1;
+    private static final long RESERVATION_BYTES = 3 * Integer.BYTES + 2 * Long.BYTES;
+
+    private final int[] resourceIds;
+    private final int[] nameIndexes;
+    private final byte[] types;
+    private final String[] names;
+    private final int[] reservationIds;
+    private final int[] reservationResourceIds;
+    private final int[] userIds;
+    private final long[] datesFrom;
+    private final long[] datesTill;
+
+    private BinarySnapshot(int resourceCount, int reservationCount, String[] names) {
+        this.resourceIds = new int[resourceCount];
+        this.nameIndexes = new int[resourceCount];
+        this.types = new byte[resourceCount];
+        this.names = names;
+        this.reservationIds = new int[reservationCount];
+        this.reservationResourceIds = new int[reservationCount];
+        this.userIds = new int[reservationCount];
+        this.datesFrom = new long[reservationCount];
+        this.datesTill = new long[reservationCount];
+    }
+
+    /**
+     * Captures the contents of an array of Resources, together with their Reservations, into columns.
+     * The snapshot does not change if the Resources are modified afterwards.
+     *
+     * @param resources the array of Resources to be captured.
+     * @return a snapshot of the Resources and their Reservations.
+     */
+    public static BinarySnapshot capture(ArrayList<Resource> resources) {
+        HashMap<String, Integer> nameIndexByName = new HashMap<String, Integer>();
+        ArrayList<String> nameTable = new ArrayList<String>();
+        ArrayList<ArrayList<Reservation>> reservationsOfEachResource = new ArrayList<ArrayList<Reservation>>();
+        int reservationCount = 0;
+        for (int i = 0; i < resources.size(); i++) {
+            String name = resources.get(i).getName();
+            if (!nameIndexByName.containsKey(name)) {
+                nameIndexByName.put(name, nameTable.size());
+                nameTable.add(name);
+            }
+            reservationsOfEachResource.add(resources.get(i).getReservations().getReservationList());
+            reservationCount += reservationsOfEachResource.get(i).size();
+        }
+        BinarySnapshot snapshot = new BinarySnapshot(resources.size(), reservationCount,
+                nameTable.toArray(new String[0]));
+        int position = 0;
+        for (int i = 0; i < resources.size(); i++) {
+            Resource thisResource = resources.get(i);
+            snapshot.resourceIds[i] = thisResource.getResourceId();
+            snapshot.nameIndexes[i] = nameIndexByName.get(thisResource.getName());
+            snapshot.types[i] = (byte) thisResource.getType().charAt(0);
+            ArrayList<Reservation> thisReservationList = reservationsOfEachResource.get(i);
+            for (int j = 0; j < thisReservationList.size(); j++) {
+                Reservation thisReservation = thisReservationList.get(j);
+                snapshot.reservationIds[position] = thisReservation.getReservationId();
+                snapshot.reservationResourceIds[position] = thisReservation.getResourceId();
+                snapshot.userIds[position] = thisReservation.getUserId();
+                snapshot.datesFrom[position] = thisReservation.getStartTime();
+                snapshot.datesTill[position] = thisReservation.getEndTime();
+                position++;
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Loads a snapshot from a file, by memory-mapping it and copying out each column in bulk.
+     *
+     * @param file the snapshot file.
+     * @return the snapshot stored in the file.
+     * @throws RimsException if the file cannot be read, or is not a valid snapshot file.
+     */
+    public static BinarySnapshot read(File file) throws RimsException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new RimsException("File " + file.toString() + " is not a valid snapshot file!");
+            }
+            int resourceCount = buffer.getInt();
+            int reservationCount = buffer.getInt();
+            int stringCount = buffer.getInt();
+            if (stringCount < 0 || stringCount > buffer.remaining() / Integer.BYTES) {
+                throw new RimsException("File " + file.toString() + " is not a valid snapshot file!");
+            }
+            String[] names = new String[stringCount];
+            for (int i = 0; i < names.length; i++) {
+                byte[] nameBytes = new byte[buffer.getInt()];
+                buffer.get(nameBytes);
+                names[i] = new String(nameBytes, StandardCharsets.UTF_8);
+            }
+            if (resourceCount < 0 || reservationCount < 0
+                    || buffer.remaining() != resourceCount * RESOURCE_BYTES + reservationCount * RESERVATION_BYTES) {
+                throw new RimsException("File " + file.toString() + " is not a valid snapshot file!");
+            }
+            BinarySnapshot snapshot = new BinarySnapshot(resourceCount, reservationCount, names);
+            readInts(buffer, snapshot.resourceIds);
+            readInts(buffer, snapshot.nameIndexes);
+            buffer.get(snapshot.types);
+            readInts(buffer, snapshot.reservationIds);
+            readInts(buffer, snapshot.reservationResourceIds);
+            readInts(buffer, snapshot.userIds);
+            readLongs(buffer, snapshot.datesFrom);
+            readLongs(buffer, snapshot.datesTill);
+            if (!snapshot.hasValidResources()) {
+                throw new RimsException("File " + file.toString() + " is not a valid snapshot file!");
+            }
+            return snapshot;
+        } catch (IOException | RuntimeException e) {
+            throw new RimsException("File " + file.toString() + " is not a valid snapshot file!");
+        }
+    }
+
+    /**
+     * Checks that every Resource read from a file names a string in the string table, and is
+     * either an Item or a Room.
+     */
+    private boolean hasValidResources() {
+        for (int i = 0; i < resourceIds.length; i++) {
+            boolean isValidName = nameIndexes[i] >= 0 && nameIndexes[i] < names.length;
+            boolean isValidType = types[i] == 'I' || types[i] == 'R';
+            if (!isValidName || !isValidType) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void readInts(ByteBuffer buffer, int[] column) {
+        buffer.asIntBuffer().get(column);
+        buffer.position(buffer.position() + column.length * Integer.BYTES);
+    }
+
+    private static void readLongs(ByteBuffer buffer, long[] column) {
+        buffer.asLongBuffer().get(column);
+        buffer.position(buffer.position() + column.length * Long.BYTES);
+    }
+
+    /**
+     * Writes this snapshot to a file. The snapshot is written in full to a temporary file first,
+     * which then replaces the snapshot file, so that a crash never leaves a half-written file behind.
+     *
+     * @param file the snapshot file.
+     * @throws IOException if the file cannot be written to.
+     */
+    public void write(File file) throws IOException {
+        byte[][] nameBytes = new byte[names.length][];
+        long size = HEADER_BYTES;
+        for (int i = 0; i < names.length; i++) {
+            nameBytes[i] = names[i].getBytes(StandardCharsets.UTF_8);
+            size += Integer.BYTES + nameBytes[i].length;
+        }
+        size += resourceIds.length * RESOURCE_BYTES + reservationIds.length * RESERVATION_BYTES;
+
+        File tempFile = new File(file.getPath() + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(size));
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(resourceIds.length).putInt(reservationIds.length)
+                .putInt(names.length);
+        for (int i = 0; i < nameBytes.length; i++) {
+            buffer.putInt(nameBytes[i].length).put(nameBytes[i]);
+        }
+        writeInts(buffer, resourceIds);
+        writeInts(buffer, nameIndexes);
+        buffer.put(types);
+        writeInts(buffer, reservationIds);
+        writeInts(buffer, reservationResourceIds);
+        writeInts(buffer, userIds);
+        writeLongs(buffer, datesFrom);
+        writeLongs(buffer, datesTill);
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        try {
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void writeInts(ByteBuffer buffer, int[] column) {
+        buffer.asIntBuffer().put(column);
+        buffer.position(buffer.position() + column.length * Integer.BYTES);
+    }
+
+    private static void writeLongs(ByteBuffer buffer, long[] column) {
+        buffer.asLongBuffer().put(column);
+        buffer.position(buffer.position() + column.length * Long.BYTES);
+    }
+
+    /**
+     * Returns the number of Resources in this snapshot.
+     * @return the number of Resources.
+     */
+    public int getResourceCount() {
+        return resourceIds.length;
+    }
+
+    /**
+     * Returns the resource ID of a Resource in this snapshot.
+     * @param index the position of the Resource in the snapshot.
+     * @return its resource ID.
+     */
+    public int getResourceId(int index) {
+        return resourceIds[index];
+    }
+
+    /**
+     * Returns the type (I for Item, R for Room) of a Resource in this snapshot.
+     * @param index the position of the Resource in the snapshot.
+     * @return its type, as stored in the data files.
+     */
+    public String getResourceType(int index) {
+        return String.valueOf((char) types[index]);
+    }
+
+    /**
+     * Returns the name of a Resource in this snapshot.
+     * @param index the position of the Resource in the snapshot.
+     * @return its name.
+     */
+    public String getResourceName(int index) {
+        return names[nameIndexes[index]];
+    }
+
+    /**
+     * Creates the Reservations in this snapshot, grouping every Reservation under the
+     * resource ID it was made for.
+     *
+     * @return a map from each resource ID to the Reservations made for it, in snapshot order.
+     */
+    public HashMap<Integer, ArrayList<Reservation>> getGroupedReservations() {
+        HashMap<Integer, ArrayList<Reservation>> groupedReservations = new HashMap<Integer, ArrayList<Reservation>>();
+        for (int i = 0; i < reservationIds.length; i++) {
+            ArrayList<Reservation> group = groupedReservations.get(reservationResourceIds[i]);
+            if (group == null) {
+                group = new ArrayList<Reservation>();
+                groupedReservations.put(reservationResourceIds[i], group);
+            }
+            group.add(new Reservation(reservationIds[i], reservationResourceIds[i], userIds[i],
+                    datesFrom[i], datesTill[i]));
+        }
+        return groupedReservations;
+    }
+}
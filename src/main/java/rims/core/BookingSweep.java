@@ -0,0 +1,120 @@
+package rims.core;
+
+import rims.resource.Reservation;
+import rims.resource.Resource;
+
+import rims.exception.RimsException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Counts the Resources that are booked at any point in time, from the start and end times
+ * of every Reservation, sorted once, so that each count is found in O(log n).
+ *
+ * <p>As in ResourceList, a Resource is booked at a time if one of its Reservations starts
+ * strictly before and ends strictly after it, or if one of its Reservations is overdue.
+ * The Reservations of a Resource that overlap are merged first, so that every Resource is
+ * counted at most once.
+ */
+public class BookingSweep {
+    private final long[] starts;
+    private final long[] ends;
+    private final int overdueCount;
+
+    /**
+     * Sorts the bookings of every Resource in a ResourceList. The bookings of each Resource
+     * are merged on the QueryExecutor of the ResourceList.
+     *
+     * @param resources the ResourceList holding every Resource.
+     * @param now       the current time, in epoch milliseconds, against which Reservations are overdue.
+     * @throws RimsException if the bookings of a Resource cannot be merged.
+     */
+    public BookingSweep(ResourceList resources, long now) throws RimsException {
+        ArrayList<Resource> allResources = resources.getResources();
+        ArrayList<long[]> bookingsOfEachResource = resources.getQueryExecutor().map(allResources.size(), i ->
+                mergeBookings(allResources.get(i), now));
+        int bookingCount = 0;
+        int overdueResources = 0;
+        for (int i = 0; i < bookingsOfEachResource.size(); i++) {
+            if (bookingsOfEachResource.get(i) == null) {
+                overdueResources++;
+            } else {
+                bookingCount += bookingsOfEachResource.get(i).length / 2;
+            }
+        }
+        starts = new long[bookingCount];
+        ends = new long[bookingCount];
+        int position = 0;
+        for (int i = 0; i < bookingsOfEachResource.size(); i++) {
+            long[] bookings = bookingsOfEachResource.get(i);
+            for (int j = 0; bookings != null && j < bookings.length; j += 2) {
+                starts[position] = bookings[j];
+                ends[position] = bookings[j + 1];
+                position++;
+            }
+        }
+        Arrays.sort(starts);
+        Arrays.sort(ends);
+        overdueCount = overdueResources;
+    }
+
+    /**
+     * Merges the overlapping bookings of a Resource, and returns the start and end time of each
+     * merged booking one after another, or null if the Resource is overdue.
+     */
+    private static long[] mergeBookings(Resource thisResource, long now) {
+        ArrayList<Reservation> thisResourceReservations = thisResource.getReservations().getReservationList();
+        long[][] bookings = new long[thisResourceReservations.size()][];
+        int size = 0;
+        for (int j = 0; j < thisResourceReservations.size(); j++) {
+            Reservation thisReservation = thisResourceReservations.get(j);
+            if (thisReservation.getEndTime() < now) {
+                return null;
+            }
+            if (thisReservation.getStartTime() < thisReservation.getEndTime()) {
+                bookings[size++] = new long[] {thisReservation.getStartTime(), thisReservation.getEndTime()};
+            }
+        }
+        Arrays.sort(bookings, 0, size, (first, second) -> Long.compare(first[0], second[0]));
+        long[] mergedBookings = new long[size * 2];
+        int mergedSize = 0;
+        for (int j = 0; j < size; j++) {
+            long start = bookings[j][0];
+            long end = bookings[j][1];
+            while (j + 1 < size && bookings[j + 1][0] < end) {
+                end = Math.max(end, bookings[++j][1]);
+            }
+            mergedBookings[mergedSize++] = start;
+            mergedBookings[mergedSize++] = end;
+        }
+        return Arrays.copyOf(mergedBookings, mergedSize);
+    }
+
+    /**
+     * Returns the number of Resources that are booked at a given time.
+     *
+     * @param time the time in question, in epoch milliseconds.
+     * @return the number of booked Resources at that time.
+     */
+    public int getBookedNumberAt(long time) {
+        return countBefore(starts, time) - countBefore(ends, time + 1) + overdueCount;
+    }
+
+    /**
+     * Returns the number of values in a sorted array that are strictly less than a given value.
+     */
+    private static int countBefore(long[] sortedValues, long value) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedValues[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
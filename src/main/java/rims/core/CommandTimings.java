@@ -0,0 +1,96 @@
+package rims.core;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps count of how many commands of each kind were run, and of how long they took, so
+ * that a summary can be printed after a script of commands has been run.
+ *
+ * <p>Commands are told apart by the first word of their input, and are summarised in the
+ * order in which each kind was first run.
+ */
+public class CommandTimings {
+    private static final double NANOS_PER_MILLI = 1000000.0;
+
+    protected LinkedHashMap<String, Timing> timings = new LinkedHashMap<String, Timing>();
+    protected int numberOfCommands = 0;
+    protected int numberOfErrors = 0;
+    protected long totalNanos = 0;
+
+    /**
+     * The number of commands of one kind that were run, and how long they took.
+     */
+    protected static class Timing {
+        protected int count = 0;
+        protected int errors = 0;
+        protected long totalNanos = 0;
+        protected long longestNanos = 0;
+    }
+
+    /**
+     * Records one command that has been run.
+     *
+     * @param commandWord  the first word of the input for the command.
+     * @param nanos        how long the command took, in nanoseconds.
+     * @param isSuccessful false if the command could not be parsed or ended with an error.
+     */
+    public void record(String commandWord, long nanos, boolean isSuccessful) {
+        Timing timing = timings.get(commandWord);
+        if (timing == null) {
+            timing = new Timing();
+            timings.put(commandWord, timing);
+        }
+        timing.count++;
+        timing.totalNanos += nanos;
+        timing.longestNanos = Math.max(timing.longestNanos, nanos);
+        numberOfCommands++;
+        totalNanos += nanos;
+        if (!isSuccessful) {
+            timing.errors++;
+            numberOfErrors++;
+        }
+    }
+
+    /**
+     * Returns the number of commands that have been recorded.
+     *
+     * @return the number of commands.
+     */
+    public int getNumberOfCommands() {
+        return numberOfCommands;
+    }
+
+    /**
+     * Returns the number of recorded commands that ended with an error.
+     *
+     * @return the number of commands that failed.
+     */
+    public int getNumberOfErrors() {
+        return numberOfErrors;
+    }
+
+    /**
+     * Returns a summary of the commands recorded, with one line for each kind of command.
+     *
+     * @return the lines of the summary.
+     */
+    public ArrayList<String> getSummary() {
+        ArrayList<String> summary = new ArrayList<String>();
+        summary.add("SCRIPT SUMMARY: " + numberOfCommands + " command(s) run in "
+                + toMillis(totalNanos) + " ms, " + numberOfErrors + " with errors\n");
+        for (Map.Entry<String, Timing> entry : timings.entrySet()) {
+            Timing timing = entry.getValue();
+            summary.add(entry.getKey() + ": " + timing.count + " run, " + timing.errors + " failed, "
+                    + "total " + toMillis(timing.totalNanos) + " ms, "
+                    + "average " + toMillis(timing.totalNanos / timing.count) + " ms, "
+                    + "longest " + toMillis(timing.longestNanos) + " ms");
+        }
+        return summary;
+    }
+
+    private String toMillis(long nanos) {
+        return String.format("%.3f", nanos / NANOS_PER_MILLI);
+    }
+}
@@ -0,0 +1,252 @@
+package rims.core;
+
+import rims.exception.RimsException;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+import java.util.Date;
+
+/**
+ * Converts dates to and from the formats used by RIMS, in the local time zone.
+ *
+ * <p>The storage format, dd/MM/yyyy HHmm, is parsed and formatted by hand, so that loading or saving
+ * large data files does not create a formatter or Calendar for every date. Day and month may be given
+ * as one or two digits; every field is checked to be a valid date and time. Dates printed for the user's
+ * reading use DateTimeFormatter instances that are created once and shared, as they are thread-safe.
+ */
+public class DateCodec {
+    public static final String STORAGE_FORMAT = "dd/MM/yyyy HHmm";
+
+    private static final DateTimeFormatter DAY_NAME_FORMAT = DateTimeFormatter.ofPattern("EEEE");
+    private static final DateTimeFormatter MONTH_YEAR_TIME_FORMAT = DateTimeFormatter.ofPattern("MMMM yyyy, hh:mm a");
+    private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private static final ZoneRules ZONE_RULES = ZONE.getRules();
+    private static final ZoneOffset FIXED_OFFSET = ZONE_RULES.isFixedOffset()
+            ? ZONE_RULES.getOffset(Instant.EPOCH) : null;
+
+    /**
+     * Converts a date in dd/MM/yyyy HHmm format into epoch milliseconds.
+     *
+     * @param stringDate the date and time in String format.
+     * @return the epoch milliseconds represented by the date and time.
+     * @throws RimsException if stringDate is not a valid date in dd/MM/yyyy HHmm format.
+     */
+    public static long parseMillis(String stringDate) throws RimsException {
+        int length = stringDate.length();
+        int dayEnd = stringDate.indexOf('/');
+        int monthEnd = stringDate.indexOf('/', dayEnd + 1);
+        if (dayEnd < 1 || dayEnd > 2 || monthEnd - dayEnd < 2 || monthEnd - dayEnd > 3
+                || length != monthEnd + 10 || stringDate.charAt(monthEnd + 5) != ' ') {
+            throw new RimsException("Invalid format of date " + stringDate + "!");
+        }
+        int day = parseDigits(stringDate, 0, dayEnd);
+        int month = parseDigits(stringDate, dayEnd + 1, monthEnd);
+        int year = parseDigits(stringDate, monthEnd + 1, monthEnd + 5);
+        int hour = parseDigits(stringDate, monthEnd + 6, monthEnd + 8);
+        int minute = parseDigits(stringDate, monthEnd + 8, monthEnd + 10);
+        if (month < 1 || month > 12 || year < 0 || day < 1 || day > lengthOfMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            throw new RimsException("Invalid format of date " + stringDate + "!");
+        }
+        return toMillis(year, month, day, hour, minute);
+    }
+
+    /**
+     * Converts a valid date and time in the local time zone into epoch milliseconds, exactly as
+     * the same date and time would be parsed from dd/MM/yyyy HHmm format.
+     *
+     * @param year the year.
+     * @param month the month of the year, from 1 to 12.
+     * @param day the day of the month.
+     * @param hour the hour of the day, from 0 to 23.
+     * @param minute the minute of the hour, from 0 to 59.
+     * @return the epoch milliseconds represented by the date and time.
+     */
+    public static long toMillis(int year, int month, int day, int hour, int minute) {
+        long localSecond = daysFromCivil(year, month, day) * SECONDS_PER_DAY + hour * 3600 + minute * 60;
+        ZoneOffset offset = FIXED_OFFSET;
+        if (offset == null) {
+            // A time repeated when clocks go back is read as the later of the two, as Calendar does
+            LocalDateTime localDateTime = LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC);
+            ZoneOffsetTransition transition = ZONE_RULES.getTransition(localDateTime);
+            offset = (transition != null && transition.isOverlap())
+                    ? transition.getOffsetAfter() : ZONE_RULES.getOffset(localDateTime);
+        }
+        return (localSecond - offset.getTotalSeconds()) * 1000L;
+    }
+
+    /**
+     * Converts a date in dd/MM/yyyy HHmm format into a Date object.
+     *
+     * @param stringDate the date and time in String format.
+     * @return a Date object representing the date and time.
+     * @throws RimsException if stringDate is not a valid date in dd/MM/yyyy HHmm format.
+     */
+    public static Date parse(String stringDate) throws RimsException {
+        return new Date(parseMillis(stringDate));
+    }
+
+    /**
+     * Converts epoch milliseconds into a compact String in dd/MM/yyyy HHmm format, to be saved into a data file.
+     *
+     * @param millis the epoch milliseconds to be converted.
+     * @return a String representing the date and time.
+     */
+    public static String format(long millis) {
+        char[] output = new char[15];
+        writeDay(millis, output);
+        output[10] = ' ';
+        long localSecond = toLocalSecond(millis);
+        int secondOfDay = (int) Math.floorMod(localSecond, (long) SECONDS_PER_DAY);
+        writeTwoDigits(output, 11, secondOfDay / 3600);
+        writeTwoDigits(output, 13, (secondOfDay / 60) % 60);
+        return new String(output);
+    }
+
+    /**
+     * Converts a Date object into a compact String in dd/MM/yyyy HHmm format, to be saved into a data file.
+     *
+     * @param thisDate the Date object to be converted.
+     * @return a String representing the Date object.
+     */
+    public static String format(Date thisDate) {
+        return format(thisDate.getTime());
+    }
+
+    /**
+     * Converts epoch milliseconds into a String holding only the date, in dd/MM/yyyy format.
+     *
+     * @param millis the epoch milliseconds to be converted.
+     * @return a String representing the date.
+     */
+    public static String formatDay(long millis) {
+        char[] output = new char[10];
+        writeDay(millis, output);
+        return new String(output);
+    }
+
+    /**
+     * Returns the full name of the day of the week of a date and time, e.g. Monday.
+     *
+     * @param dateTime the date and time in question.
+     * @return the name of its day of the week.
+     */
+    public static String formatDayName(LocalDateTime dateTime) {
+        return DAY_NAME_FORMAT.format(dateTime);
+    }
+
+    /**
+     * Converts epoch milliseconds into a human-readable String, for the user's reading,
+     * e.g. Monday, 11th November 2019, 02:00 PM.
+     *
+     * @param millis the epoch milliseconds to be converted.
+     * @return a human-readable String representing the date and time.
+     */
+    public static String formatForPrinting(long millis) {
+        ZonedDateTime dateTime = Instant.ofEpochMilli(millis).atZone(ZONE);
+        int actualDay = dateTime.getDayOfMonth();
+        int roundedDay = actualDay % 10;
+        String suffix;
+        if (actualDay < 20 && actualDay > 9) {
+            suffix = "th";
+        } else if (roundedDay == 1) {
+            suffix = "st";
+        } else if (roundedDay == 2) {
+            suffix = "nd";
+        } else if (roundedDay == 3) {
+            suffix = "rd";
+        } else {
+            suffix = "th";
+        }
+        return DAY_NAME_FORMAT.format(dateTime) + ", " + actualDay + suffix + " "
+                + MONTH_YEAR_TIME_FORMAT.format(dateTime);
+    }
+
+    /**
+     * Converts a Date object into a human-readable String, for the user's reading.
+     *
+     * @param date the Date object to be converted.
+     * @return a human-readable String representing the Date object.
+     */
+    public static String formatForPrinting(Date date) {
+        return formatForPrinting(date.getTime());
+    }
+
+    private static int parseDigits(String input, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char digit = input.charAt(i);
+            if (digit < '0' || digit > '9') {
+                return -1;
+            }
+            value = value * 10 + (digit - '0');
+        }
+        return value;
+    }
+
+    private static long toLocalSecond(long millis) {
+        long epochSecond = Math.floorDiv(millis, 1000L);
+        ZoneOffset offset = FIXED_OFFSET;
+        if (offset == null) {
+            offset = ZONE_RULES.getOffset(Instant.ofEpochSecond(epochSecond));
+        }
+        return epochSecond + offset.getTotalSeconds();
+    }
+
+    /**
+     * Writes the date of the given epoch milliseconds into the first 10 characters of output, as dd/MM/yyyy.
+     */
+    private static void writeDay(long millis, char[] output) {
+        long epochDay = Math.floorDiv(toLocalSecond(millis), (long) SECONDS_PER_DAY);
+        // Converts days since 1970-01-01 into a civil date (Howard Hinnant's algorithm)
+        long shiftedDay = epochDay + 719468;
+        long era = Math.floorDiv(shiftedDay, 146097);
+        long dayOfEra = shiftedDay - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+        int month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+        writeTwoDigits(output, 0, day);
+        output[2] = '/';
+        writeTwoDigits(output, 3, month);
+        output[5] = '/';
+        writeTwoDigits(output, 6, year / 100);
+        writeTwoDigits(output, 8, year % 100);
+    }
+
+    private static void writeTwoDigits(char[] output, int position, int value) {
+        output[position] = (char) ('0' + value / 10);
+        output[position + 1] = (char) ('0' + value % 10);
+    }
+
+    /**
+     * Returns the number of days from 1970-01-01 to the given civil date (Howard Hinnant's algorithm).
+     */
+    private static long daysFromCivil(int year, int month, int day) {
+        long shiftedYear = (month <= 2) ? year - 1 : year;
+        long era = Math.floorDiv(shiftedYear, 400);
+        long yearOfEra = shiftedYear - era * 400;
+        long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        if (month == 2) {
+            boolean isLeapYear = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+            return isLeapYear ? 29 : 28;
+        }
+        return (month == 4 || month == 6 || month == 9 || month == 11) ? 30 : 31;
+    }
+}
@@ -0,0 +1,102 @@
+package rims.core;
+
+import rims.resource.Reservation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.TreeSet;
+
+/**
+ * Keeps the Reservations of every Resource in a ResourceList ordered by time, so that the
+ * loans that are active, due soon or overdue are found at the head of the index without
+ * going through every Resource.
+ *
+ * <p>Reservations that have not started yet are ordered by the time they start. Once the
+ * index is asked about a time after a Reservation starts, the Reservation is moved over to
+ * the loans, which are ordered by the time they end. Reservations with the same time are
+ * ordered by their reservation ID, and then by the ID of their Resource.
+ */
+public class DeadlineIndex {
+    protected TreeSet<Reservation> reservationsByStart = new TreeSet<Reservation>(
+            Comparator.comparingLong(Reservation::getStartTime)
+                    .thenComparingInt(Reservation::getReservationId)
+                    .thenComparingInt(Reservation::getResourceId));
+    protected TreeSet<Reservation> loansByEnd = new TreeSet<Reservation>(
+            Comparator.comparingLong(Reservation::getEndTime)
+                    .thenComparingInt(Reservation::getReservationId)
+                    .thenComparingInt(Reservation::getResourceId));
+    protected long startedBefore = Long.MIN_VALUE;
+
+    /**
+     * Removes every Reservation from the index.
+     */
+    public void clear() {
+        reservationsByStart.clear();
+        loansByEnd.clear();
+        startedBefore = Long.MIN_VALUE;
+    }
+
+    /**
+     * Adds a Reservation to the index.
+     * @param thisReservation the Reservation that has been made or loaded.
+     */
+    public void add(Reservation thisReservation) {
+        if (thisReservation.getStartTime() < startedBefore) {
+            loansByEnd.add(thisReservation);
+        } else {
+            reservationsByStart.add(thisReservation);
+        }
+    }
+
+    /**
+     * Removes a Reservation from the index.
+     * @param thisReservation the Reservation that has been returned, cancelled or deleted.
+     */
+    public void remove(Reservation thisReservation) {
+        if (!loansByEnd.remove(thisReservation)) {
+            reservationsByStart.remove(thisReservation);
+        }
+    }
+
+    /**
+     * Returns the number of Reservations in the index.
+     * @return the number of Reservations in the index.
+     */
+    public int size() {
+        return reservationsByStart.size() + loansByEnd.size();
+    }
+
+    /**
+     * Moves every Reservation that starts strictly before a given time over to the loans. Should
+     * the time be earlier than one asked about before, every loan is moved back first.
+     */
+    private void startLoansBefore(long now) {
+        if (now < startedBefore) {
+            reservationsByStart.addAll(loansByEnd);
+            loansByEnd.clear();
+        }
+        while (!reservationsByStart.isEmpty() && reservationsByStart.first().getStartTime() < now) {
+            loansByEnd.add(reservationsByStart.pollFirst());
+        }
+        startedBefore = now;
+    }
+
+    /**
+     * Returns the Reservations that have started by a given current time, including those that
+     * are overdue, and that end strictly before a given time, from the one that ends first.
+     * @param now  the current time, in epoch milliseconds.
+     * @param time the time in question, in epoch milliseconds.
+     * @return the loans ending before that time, in the order they end.
+     */
+    public ArrayList<Reservation> getLoansEndingBefore(long now, long time) {
+        startLoansBefore(now);
+        ArrayList<Reservation> endingBefore = new ArrayList<Reservation>();
+        for (Reservation thisReservation : loansByEnd) {
+            if (thisReservation.getEndTime() >= time) {
+                break;
+            }
+            endingBefore.add(thisReservation);
+        }
+        return endingBefore;
+    }
+}
@@ -0,0 +1,108 @@
+package rims.core;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+
+/**
+ * Keeps track of which IDs are in use, and hands out the lowest IDs that are still free.
+ *
+ * <p>Used IDs are kept in a bitset, along with the lowest free ID. Marking an ID as used
+ * only searches forward from that ID, so handing out IDs one after another takes
+ * amortized constant time.
+ */
+public class IdAllocator {
+    protected BitSet usedIds = new BitSet();
+    protected int lowestFreeId = 0;
+
+    /**
+     * Marks every ID as free.
+     */
+    public void clear() {
+        usedIds.clear();
+        lowestFreeId = 0;
+    }
+
+    /**
+     * Checks if an ID is in use.
+     * @param id the ID to be checked.
+     * @return true if the ID is in use.
+     */
+    public boolean isUsed(int id) {
+        return id >= 0 && usedIds.get(id);
+    }
+
+    /**
+     * Marks an ID as used.
+     * @param id the ID that has been taken.
+     */
+    public void markUsed(int id) {
+        if (id < 0) {
+            return;
+        }
+        usedIds.set(id);
+        if (id == lowestFreeId) {
+            lowestFreeId = usedIds.nextClearBit(id);
+        }
+    }
+
+    /**
+     * Marks an ID as free again, so that it may be handed out later.
+     * @param id the ID that is no longer in use.
+     */
+    public void release(int id) {
+        if (id < 0) {
+            return;
+        }
+        usedIds.clear(id);
+        if (id < lowestFreeId) {
+            lowestFreeId = id;
+        }
+    }
+
+    /**
+     * Returns the lowest free ID, without marking it as used.
+     * @return the lowest free ID.
+     */
+    public int peek() {
+        return lowestFreeId;
+    }
+
+    /**
+     * Returns the lowest free IDs, in ascending order, without marking them as used.
+     * @param number the number of IDs needed.
+     * @return an array of distinct free IDs.
+     */
+    public ArrayList<Integer> peek(int number) {
+        ArrayList<Integer> freeIds = new ArrayList<Integer>(Math.max(number, 0));
+        int id = lowestFreeId;
+        for (int i = 0; i < number; i++) {
+            freeIds.add(id);
+            id = usedIds.nextClearBit(id + 1);
+        }
+        return freeIds;
+    }
+
+    /**
+     * Marks the lowest free ID as used and returns it.
+     * @return the newly allocated ID.
+     */
+    public int allocate() {
+        int id = lowestFreeId;
+        markUsed(id);
+        return id;
+    }
+
+    /**
+     * Marks the lowest free IDs as used and returns them, in ascending order.
+     * @param number the number of IDs needed.
+     * @return an array of newly allocated IDs.
+     */
+    public ArrayList<Integer> allocate(int number) {
+        ArrayList<Integer> allocatedIds = peek(number);
+        for (int i = 0; i < allocatedIds.size(); i++) {
+            usedIds.set(allocatedIds.get(i));
+        }
+        lowestFreeId = usedIds.nextClearBit(lowestFreeId);
+        return allocatedIds;
+    }
+}
@@ -0,0 +1,185 @@
+package rims.core;
+
+import rims.exception.RimsException;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+import java.util.ArrayList;
+
+/**
+ * An append-only operation journal kept next to the data files. Every command that modifies
+ * the inventory appends one compact record per change, and the records of a command are
+ * written and synced to disk together as one group, terminated by a commit marker.
+ *
+ * <p>Format of journal records:
+ * ADD,[ resource id ],[ type ],[ name ]
+ * DELETE,[ resource id ]
+ * BOOK,[ reservation id ],[ resource id ],[ user id ],[ date from ],[ date until ]
+ * CANCEL,[ resource id ],[ reservation id ]
+ * COMMIT
+ *
+ * <p>When the journal is compacted it is first rotated into a separate file, so that new
+ * groups can keep being committed while the snapshot is written. That file is removed once
+ * the snapshot containing its changes is safely on disk.
+ *
+ * <p>Commands may be executed concurrently, each on the thread of its own session. The records
+ * waiting to be committed are therefore kept apart for every thread, and a group holds only the
+ * records appended on the thread that commits it, so that it never holds part of a command still
+ * being executed in another session. Writing to the journal files is synchronized.
+ */
+public class Journal {
+    public static final String COMMIT = "COMMIT";
+
+    protected File journalFile;
+    protected File compactingFile;
+    protected ThreadLocal<ArrayList<String>> pendingRecords = ThreadLocal.withInitial(ArrayList::new);
+    protected int committedRecords = 0;
+
+    /**
+     * Constructor for a Journal, kept in the given directory alongside the data files.
+     * @param directory the directory where the data files are stored.
+     */
+    public Journal(File directory) {
+        this.journalFile = new File(directory, "journal.txt");
+        this.compactingFile = new File(directory, "journal.compacting.txt");
+    }
+
+    /**
+     * Adds a record to the group of the command currently being executed on this thread. The
+     * record is only written to disk when the group is committed.
+     * @param record the compact text version of the change made.
+     */
+    public void append(String record) {
+        pendingRecords.get().add(record);
+    }
+
+    /**
+     * Checks if any record has been added on this thread since its last commit.
+     * @return true if there are records waiting to be committed.
+     */
+    public boolean hasPendingRecords() {
+        return !pendingRecords.get().isEmpty();
+    }
+
+    /**
+     * Returns the number of records committed to the journal since it was last rotated or cleared.
+     * @return the number of committed records.
+     */
+    public synchronized int getCommittedRecordCount() {
+        return committedRecords;
+    }
+
+    /**
+     * Appends all records pending on this thread to the journal file, followed by a commit marker,
+     * and forces them to disk with a single sync.
+     * @throws RimsException if the journal file cannot be written to.
+     */
+    public synchronized void commit() throws RimsException {
+        ArrayList<String> pendingRecords = this.pendingRecords.get();
+        if (pendingRecords.isEmpty()) {
+            return;
+        }
+        StringBuilder group = new StringBuilder();
+        for (int i = 0; i < pendingRecords.size(); i++) {
+            group.append(pendingRecords.get(i)).append(System.lineSeparator());
+        }
+        group.append(COMMIT).append(System.lineSeparator());
+        try (FileOutputStream journalStream = new FileOutputStream(journalFile, true)) {
+            journalStream.write(group.toString().getBytes(StandardCharsets.UTF_8));
+            journalStream.getFD().sync();
+        } catch (IOException e) {
+            throw new RimsException("Unable to write to the journal file " + journalFile.toString() + "!");
+        }
+        committedRecords += pendingRecords.size();
+        pendingRecords.clear();
+    }
+
+    /**
+     * Reads every fully committed group of records, first from a journal left behind by an
+     * unfinished compaction and then from the current journal. A trailing group without a
+     * commit marker was not completely written and is ignored.
+     *
+     * <p>The number of records committed to the current journal is refreshed as it is read.
+     * @return the committed groups of records, in the order they were committed.
+     * @throws RimsException if a journal file exists but cannot be read.
+     */
+    public synchronized ArrayList<ArrayList<String>> readCommittedGroups() throws RimsException {
+        ArrayList<ArrayList<String>> groups = new ArrayList<ArrayList<String>>();
+        readCommittedGroups(compactingFile, groups);
+        committedRecords = readCommittedGroups(journalFile, groups);
+        return groups;
+    }
+
+    private int readCommittedGroups(File file, ArrayList<ArrayList<String>> groups) throws RimsException {
+        int recordCount = 0;
+        if (!file.exists()) {
+            return recordCount;
+        }
+        try (BufferedReader fileReader = new BufferedReader(new FileReader(file))) {
+            ArrayList<String> group = new ArrayList<String>();
+            String record;
+            while ((record = fileReader.readLine()) != null) {
+                if (record.equals(COMMIT)) {
+                    groups.add(group);
+                    recordCount += group.size();
+                    group = new ArrayList<String>();
+                } else if (!record.isEmpty()) {
+                    group.add(record);
+                }
+            }
+        } catch (IOException e) {
+            throw new RimsException("Unable to read the journal file " + file.toString() + "!");
+        }
+        return recordCount;
+    }
+
+    /**
+     * Moves the current journal aside so that its groups can be folded into a new snapshot,
+     * while newly committed groups go to a fresh journal file. If an earlier compaction
+     * failed to finish, the current journal is appended to the journal it left behind.
+     * @throws RimsException if the journal files cannot be moved or copied.
+     */
+    public synchronized void rotate() throws RimsException {
+        committedRecords = 0;
+        if (!journalFile.exists()) {
+            return;
+        }
+        try {
+            if (compactingFile.exists()) {
+                Files.write(compactingFile.toPath(), Files.readAllBytes(journalFile.toPath()),
+                        StandardOpenOption.APPEND);
+                Files.delete(journalFile.toPath());
+            } else if (!journalFile.renameTo(compactingFile)) {
+                throw new IOException();
+            }
+        } catch (IOException e) {
+            throw new RimsException("Unable to rotate the journal file " + journalFile.toString() + "!");
+        }
+    }
+
+    /**
+     * Removes the journal moved aside by rotate(), once its changes are part of a snapshot.
+     */
+    public synchronized void discardCompacted() {
+        compactingFile.delete();
+    }
+
+    /**
+     * Removes every journal file, and the records pending on this thread, once a full snapshot
+     * has been saved.
+     */
+    public synchronized void clear() {
+        pendingRecords.get().clear();
+        committedRecords = 0;
+        compactingFile.delete();
+        journalFile.delete();
+    }
+}
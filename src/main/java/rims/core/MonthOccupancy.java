@@ -0,0 +1,151 @@
+package rims.core;
+
+import rims.resource.Reservation;
+import rims.resource.Resource;
+
+import java.time.YearMonth;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+
+/**
+ * The number of Resources of each name that are booked on every day of a month, built in a
+ * single sweep over all Reservations.
+ *
+ * <p>Every day is checked at the same time of day. As in ResourceList, a Resource is booked
+ * at a time if one of its Reservations starts strictly before and ends strictly after it,
+ * or if one of its Reservations is overdue.
+ */
+public class MonthOccupancy {
+    private final int daysInMonth;
+    private final long[] dayTimes;
+    private final LinkedHashMap<String, Integer> nameIndexes = new LinkedHashMap<String, Integer>();
+    private final String[] names;
+    private final int[][] bookedCounts;
+
+    /**
+     * Builds the occupancy of a month from the Resources in a ResourceList.
+     *
+     * @param resources the ResourceList holding every Resource.
+     * @param month     the month in question.
+     * @param hour      the hour of the day at which every day is checked.
+     * @param minute    the minute of the hour at which every day is checked.
+     * @param now       the current time, in epoch milliseconds, against which Reservations are overdue.
+     */
+    public MonthOccupancy(ResourceList resources, YearMonth month, int hour, int minute, long now) {
+        daysInMonth = month.lengthOfMonth();
+        dayTimes = new long[daysInMonth];
+        for (int day = 1; day <= daysInMonth; day++) {
+            dayTimes[day - 1] = DateCodec.toMillis(month.getYear(), month.getMonthValue(), day, hour, minute);
+        }
+        ArrayList<Resource> allResources = resources.getResources();
+        for (int i = 0; i < allResources.size(); i++) {
+            String name = allResources.get(i).getName();
+            if (!nameIndexes.containsKey(name)) {
+                nameIndexes.put(name, nameIndexes.size());
+            }
+        }
+        names = nameIndexes.keySet().toArray(new String[0]);
+        bookedCounts = new int[daysInMonth][names.length];
+
+        int[] bookingsStartingOn = new int[daysInMonth + 1];
+        for (int i = 0; i < allResources.size(); i++) {
+            Resource thisResource = allResources.get(i);
+            int nameIndex = nameIndexes.get(thisResource.getName());
+            ArrayList<Reservation> thisResourceReservations = thisResource.getReservations().getReservationList();
+            boolean isOverdue = false;
+            boolean isBookedInMonth = false;
+            for (int j = 0; j < thisResourceReservations.size() && !isOverdue; j++) {
+                Reservation thisReservation = thisResourceReservations.get(j);
+                isOverdue = thisReservation.getEndTime() < now;
+                int firstDay = countDaysUpTo(thisReservation.getStartTime());
+                int lastDay = countDaysBefore(thisReservation.getEndTime()) - 1;
+                if (firstDay <= lastDay) {
+                    bookingsStartingOn[firstDay]++;
+                    bookingsStartingOn[lastDay + 1]--;
+                    isBookedInMonth = true;
+                }
+            }
+            if (isOverdue) {
+                for (int day = 0; day < daysInMonth; day++) {
+                    bookedCounts[day][nameIndex]++;
+                }
+            } else if (isBookedInMonth) {
+                int bookings = 0;
+                for (int day = 0; day < daysInMonth; day++) {
+                    bookings += bookingsStartingOn[day];
+                    if (bookings > 0) {
+                        bookedCounts[day][nameIndex]++;
+                    }
+                }
+            }
+            if (isBookedInMonth) {
+                Arrays.fill(bookingsStartingOn, 0);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of days, from the start of the month, that are checked at or before a given time.
+     */
+    private int countDaysUpTo(long time) {
+        int day = 0;
+        while (day < daysInMonth && dayTimes[day] <= time) {
+            day++;
+        }
+        return day;
+    }
+
+    /**
+     * Returns the number of days, from the start of the month, that are checked strictly before a given time.
+     */
+    private int countDaysBefore(long time) {
+        int day = 0;
+        while (day < daysInMonth && dayTimes[day] < time) {
+            day++;
+        }
+        return day;
+    }
+
+    /**
+     * Returns the number of days in the month.
+     *
+     * @return the number of days in the month.
+     */
+    public int getDaysInMonth() {
+        return daysInMonth;
+    }
+
+    /**
+     * Returns the number of Resources of a certain name that are booked on a day of the month.
+     *
+     * @param day          the day of the month, starting from 1.
+     * @param resourceName the name of the Resource in question.
+     * @return the number of booked Resources with that name on that day.
+     */
+    public int getBookedNumber(int day, String resourceName) {
+        Integer nameIndex = nameIndexes.get(resourceName);
+        if (nameIndex == null) {
+            return 0;
+        }
+        return bookedCounts[day - 1][nameIndex];
+    }
+
+    /**
+     * Returns the Resources booked on a day of the month, as one entry per name in the format
+     * [ number ]x [ name ], in the order in which the names first appear in the ResourceList.
+     *
+     * @param day the day of the month, starting from 1.
+     * @return the list of Resources booked on that day.
+     */
+    public ArrayList<String> getBookedList(int day) {
+        ArrayList<String> bookedList = new ArrayList<String>();
+        for (int i = 0; i < names.length; i++) {
+            if (bookedCounts[day - 1][i] > 0) {
+                bookedList.add(bookedCounts[day - 1][i] + "x " + names[i]);
+            }
+        }
+        return bookedList;
+    }
+}
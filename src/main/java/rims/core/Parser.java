@@ -10,12 +10,12 @@ import rims.resource.ReservationList;
 
 import java.text.ParseException;
 
-import java.util.ArrayList;
-import java.util.Calendar;
-import java.util.Date;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
-import java.text.SimpleDateFormat;
-import java.text.DateFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.function.Supplier;
 
 //@@author rabhijit
 /**
@@ -24,9 +24,29 @@ import java.text.DateFormat;
  * carry out the tasks required for that input.
  */
 public class Parser {
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HHmm");
+    private static final String UNRECOGNIZED_COMMAND = "Please enter a recognizable command!";
+
     Ui ui;
     ResourceList resources;
-    Command prevCommand;
+    CommandHistory history;
+    HashMap<String, CommandParser> commandParsers = new HashMap<String, CommandParser>();
+
+    /**
+     * Parses the input for one command, which starts with the word under which it is registered.
+     */
+    public interface CommandParser {
+        /**
+         * Parses the input from the user into an executable command.
+         *
+         * @param tokens the input from the user, split into words.
+         * @return a Command that can be executed to carry out the necessary tasks.
+         * @throws RimsException  if the input is in a wrong format or does not make sense.
+         * @throws ParseException if a date in the input cannot be parsed.
+         */
+        Command parse(TokenizedInput tokens) throws RimsException, ParseException;
+    }
 
     /**
      * Constructor for the Parser.
@@ -35,20 +55,78 @@ public class Parser {
      * @param resources An instance of the resource list.
      */
     public Parser(Ui ui, ResourceList resources) {
+        this(ui, resources, CommandHistory.DEFAULT_DEPTH);
+    }
+
+    /**
+     * Constructor for the Parser, keeping a history of the given depth for undo and redo.
+     *
+     * @param ui           An instance of the user interface class.
+     * @param resources    An instance of the resource list.
+     * @param historyDepth the largest number of commands that can be undone.
+     */
+    public Parser(Ui ui, ResourceList resources, int historyDepth) {
         this.ui = ui;
         this.resources = resources;
+        this.history = new CommandHistory(historyDepth);
+        registerCommandParsers();
+    }
+
+    /**
+     * Registers the parser of every command that RIMS understands, under the word that each command starts with.
+     */
+    private void registerCommandParsers() {
+        registerOneWord("bye", CloseCommand::new);
+        register("list", tokens -> tokens.size() == 1 ? new ListCommand() : listParser(tokens));
+        registerOneWord("deadlines", ViewDeadlinesCommand::new);
+        registerOneWord("help", HelpCommand::new);
+        registerOneWord("calendar", () -> new CalendarCommand(resources, ui));
+        registerOneWord("calendar+", () -> new CalendarCommand(resources, ui, "+"));
+        registerOneWord("calendar-", () -> new CalendarCommand(resources, ui, "-"));
+        register("add", this::addParser);
+        register("delete", this::deleteParser);
+        register("loan", this::loanParser);
+        register("reserve", this::reserveParser);
+        register("return", this::returnParser);
+        registerOneWord("undo", () -> new UndoCommand(history));
+        registerOneWord("redo", () -> new RedoCommand(history));
+        register("stats", this::statsParser);
+        register("tag", this::tagParser);
+    }
+
+    /**
+     * Registers the parser of a command, replacing any parser already registered under the same word.
+     *
+     * @param commandWord   the first word of the input for the command.
+     * @param commandParser the parser of the input for the command.
+     */
+    public void register(String commandWord, CommandParser commandParser) {
+        commandParsers.put(commandWord, commandParser);
+    }
+
+    /**
+     * Registers a command that is made up of a single word and takes no parameters.
+     *
+     * @param commandWord the one word of the command.
+     * @param command     creates the command whenever the word is entered on its own.
+     */
+    private void registerOneWord(String commandWord, Supplier<Command> command) {
+        register(commandWord, tokens -> {
+            if (tokens.size() != 1) {
+                throw new RimsException(UNRECOGNIZED_COMMAND);
+            }
+            return command.get();
+        });
     }
 
     //@@author hin1
     /**
-     * Saves the last executed command that modified data
-     * in Parser.
-     * @param c Previous command that modified data in ResourceList.
+     * Saves the last executed command in the history of Parser,
+     * if it modified data.
+     * @param c Previous command that may have modified data in ResourceList.
      */
     public void setPrevCommand(Command c) {
-        if (c.canModifyData()) {
-            prevCommand = c; 
-        }
+        history.record(c);
     }
 
     //@@author rabhijit
@@ -64,23 +142,18 @@ public class Parser {
      *                       week.
      */
     public String convertNaturalDate(String day, String time) throws RimsException {
-        Date todayDate = new Date(System.currentTimeMillis());
+        LocalDateTime todayDate = LocalDateTime.now();
+        String currentTime = TIME_FORMAT.format(todayDate);
         String stringDate = null;
         boolean validDay = false;
         for (int i = 0; i < 8; i++) {
-            if (new SimpleDateFormat("EEEEE").format(todayDate).equals(day)
-                && !(i == 0 && (new SimpleDateFormat("HHmm").format(todayDate).compareTo(time) > 0))) {
+            if (DateCodec.formatDayName(todayDate).equals(day)
+                && !(i == 0 && (currentTime.compareTo(time) > 0))) {
                 validDay = true;
-                DateFormat format = new SimpleDateFormat("dd/MM/yyyy HHmm");
-                stringDate = format.format(todayDate);
-                stringDate = stringDate.substring(0, stringDate.length() - 4);
-                stringDate += time;
+                stringDate = DAY_FORMAT.format(todayDate) + " " + time;
                 break;
             } else {
-                Calendar cal = Calendar.getInstance();
-                cal.setTime(todayDate);
-                cal.add(Calendar.DATE, 1);
-                todayDate = cal.getTime();
+                todayDate = todayDate.plusDays(1);
             }
         }
         if (!validDay || stringDate == null) {
@@ -97,10 +170,8 @@ public class Parser {
      */
     protected void checkParsableDate(String date) throws RimsException {
         try {
-            SimpleDateFormat formatter = new SimpleDateFormat("dd/MM/yyyy HHmm");
-            formatter.setLenient(false);
-            Date dateValue = formatter.parse(date);
-        } catch (ParseException e) {
+            DateCodec.parseMillis(date);
+        } catch (RimsException e) {
             throw new RimsException("Please specify a valid date using the following format: dd/MM/yyyy HHmm");
         }
     }
@@ -152,88 +223,77 @@ public class Parser {
      *                       sense.
      */
     public Command parseInput(String input) throws RimsException, ParseException {
-        input = input.trim();
-        String[] words = input.split(" ");
-        Command c;
-
-        if (input.equals("bye") && words.length == 1) {
-            c = new CloseCommand();
-        } else if (input.equals("list") && words.length == 1) {
-            c = new ListCommand();
-        } else if (words[0].equals("list") && words.length > 1) {
-            c = listParser(input, words);
-        //@@author aarushisingh1
-        } else if (input.equals("deadlines") && words.length == 1) {
-            c = new ViewDeadlinesCommand();
-        //@@author rabhijit
-        } else if (input.equals("help") && words.length == 1) {
-            c = new HelpCommand();
-        } else if (input.equals("calendar")) {
-            c = new CalendarCommand(resources, ui);
-        } else if (input.equals("calendar+")) {
-            c = new CalendarCommand(resources, ui, "+");
-        } else if (input.equals("calendar-")) {
-            c = new CalendarCommand(resources, ui, "-");
-        } else if (words[0].equals("add")) {
-            c = addParser(input, words);
-        } else if (words[0].equals("delete")) {
-            c = deleteParser(input, words);
-        } else if (words[0].equals("loan")) {
-            c = loanParser(input, words);
-        } else if (words[0].equals("reserve")) {
-            c = reserveParser(input, words);
-        } else if (words[0].equals("return") && input.contains(" /id")) {
-            c = returnParser(input, words);
-        } else if (input.equals("undo")) {
-            c = new UndoCommand(prevCommand);
-        } else if ((words[0].equals("stats") && words.length > 1)) {
-            c = statsParser(input, words);
-        } else if(words[0].equals("tag")){
-            c = tagParser(input, words);
-        }else {
-            throw new RimsException("Please enter a recognizable command!");
+        TokenizedInput tokens = new TokenizedInput(input.trim());
+        CommandParser commandParser = tokens.size() == 0 ? null : commandParsers.get(tokens.get(0));
+        if (commandParser == null) {
+            throw new RimsException(UNRECOGNIZED_COMMAND);
         }
-        return c;
+        return commandParser.parse(tokens);
     }
 
     /**
      * Parses user input into the parameters for a ListCommand.
-     * @param input the input obtained from the user by the Ui.
-     * @param words the input from the user, delimited by spaces into an array of individual words.
+     * @param tokens the input obtained from the user by the Ui, split into words.
      * @return a ListCommand, if the input can be parsed into the required parameters.
      * @throws RimsException if the input cannot be parsed into the required parameters for a ListCommand.
      */
-    protected Command listParser(String input, String[] words) throws RimsException {
+    protected Command listParser(TokenizedInput tokens) throws RimsException {
+        String input = tokens.getInput();
         int paramTypeIndex = input.indexOf("/");
         int paramIndex = paramTypeIndex + 5;
         if (paramTypeIndex == -1 || paramIndex > input.length() || paramIndex + 1 > input.length()) {
             throw new RimsException("Please specify the parameter you want to view a detailed list of.");
         }
         String paramType = input.substring(paramTypeIndex + 1, paramIndex);
-        if (!(paramType.equals("date") || paramType.equals("room") || paramType.equals("item") || paramType.equals("tag "))) {
+        if (!(paramType.equals("date") || paramType.equals("room") || paramType.equals("item")
+                || paramType.equals("tag ") || paramType.equals("page"))) {
             throw new RimsException("Invalid list parameter! Please specify '/date', '/room' "
-                    + "'/item', or 'tag' to view a detailed list.");
+                    + "'/item', 'tag', or '/page' to view a detailed list.");
         }
         String param = input.substring(paramIndex + 1).trim();
         if (paramType.equals("date")) {
             parseDate(param);
         }
+        if (paramType.equals("page")) {
+            return listPageParser(param);
+        }
         return new ListCommand(paramType, param);
     }
 
+    /**
+     * Parses the parameters of a list command for one page, given as [ page ], or as
+     * [ page ] /size [ number of names on each page ], into a ListCommand.
+     * @param param the parameters that follow '/page' in the input from the user.
+     * @return a ListCommand for one page of the list.
+     * @throws RimsException if the page or its size is not a positive integer.
+     */
+    protected Command listPageParser(String param) throws RimsException {
+        int sizeIndex = param.indexOf("/size");
+        int pageSize = ListCommand.DEFAULT_PAGE_SIZE;
+        if (sizeIndex != -1) {
+            pageSize = parseInt(param.substring(sizeIndex + 5).trim());
+            param = param.substring(0, sizeIndex).trim();
+        }
+        int page = parseInt(param);
+        if (page == 0 || pageSize == 0) {
+            throw new RimsException("Please use a valid integer value above zero!");
+        }
+        return new ListCommand(page, pageSize);
+    }
+
     /**
      * Parses user input into the parameters for an AddCommand.
-     * @param input the input obtained from the user by the Ui.
-     * @param words the input from the user, delimited by spaces into an array of individual words.
+     * @param tokens the input obtained from the user by the Ui, split into words.
      * @return an AddCommand, if the input can be parsed into the required parameters.
      * @throws RimsException if the input cannot be parsed into the required parameters for an AddCommand.
      */
-    protected Command addParser(String input, String[] words) throws RimsException {
-        if (!(words.length > 1)) {
+    protected Command addParser(TokenizedInput tokens) throws RimsException {
+        String input = tokens.getInput();
+        if (tokens.size() < 2) {
             throw new RimsException("Please specify the resource to add to your inventory.");
         }
-        if (words[1].equals("/item")) {
-            int itemIndex = input.indexOf("/item") + 6;
+        if (tokens.get(1).equals("/item")) {
+            int itemIndex = tokens.getOffset(1) + 6;
             int qtyIndex = input.indexOf(" /qty");
             if (itemIndex > input.length()) {
                 throw new RimsException("Please specify the name of the item to add to your inventory.");
@@ -263,11 +323,11 @@ public class Parser {
                 throw new RimsException("You can only add up to 100 items at a time!");
             }
             return new AddCommand(itemname, qty);
-        } else if (words[1].equals("/room")) {
+        } else if (tokens.get(1).equals("/room")) {
             if (input.contains("/qty")) {
                 throw new RimsException("Rooms do not require quantity!");
             }
-            int roomIndex = input.indexOf("/room") + 6;
+            int roomIndex = tokens.getOffset(1) + 6;
             if (roomIndex > input.length()) {
                 throw new RimsException("Please specify the room to add to your inventory.");
             }
@@ -280,24 +340,24 @@ public class Parser {
 
     /**
      * Parses user input into the parameters for a DeleteCommand.
-     * @param input the input obtained from the user by the Ui.
-     * @param words the input from the user, delimited by spaces into an array of individual words.
+     * @param tokens the input obtained from the user by the Ui, split into words.
      * @return a DeleteCommand, if the input can be parsed into the required parameters.
      * @throws RimsException if the input cannot be parsed into the required parameters for a DeleteCommand.
      */
-    protected Command deleteParser(String input, String[] words) throws RimsException {
-        if (!(words.length > 1)) {
+    protected Command deleteParser(TokenizedInput tokens) throws RimsException {
+        String input = tokens.getInput();
+        if (tokens.size() < 2) {
             throw new RimsException("Please specify the resource to delete from your inventory.");
         }
-        if (words[1].equals("/item")) {
-            int itemIndex = input.indexOf("/item") + 6;
+        if (tokens.get(1).equals("/item")) {
+            int itemIndex = tokens.getOffset(1) + 6;
             if (itemIndex > input.length()) {
                 throw new RimsException("Please specify the item to delete from your inventory.");
             }
             String itemName = input.substring(itemIndex);
             return new DeleteCommand(itemName.trim(), "item");
-        } else if (words[1].equals("/room")) {
-            int roomIndex = input.indexOf("/room") + 6;
+        } else if (tokens.get(1).equals("/room")) {
+            int roomIndex = tokens.getOffset(1) + 6;
             if (roomIndex > input.length()) {
                 throw new RimsException("Please specify the room to delete from your inventory.");
             }
@@ -310,17 +370,17 @@ public class Parser {
 
     /**
      * Parses user input into the parameters for a LoanCommand.
-     * @param input the input obtained from the user by the Ui.
-     * @param words the input from the user, delimited by spaces into an array of individual words.
+     * @param tokens the input obtained from the user by the Ui, split into words.
      * @return a LoanCommand, if the input can be parsed into the required parameters.
      * @throws RimsException if the input cannot be parsed into the required parameters for a LoanCommand.
      */
-    protected Command loanParser(String input, String[] words) throws RimsException {
-        if (!(words.length > 1)) {
+    protected Command loanParser(TokenizedInput tokens) throws RimsException {
+        String input = tokens.getInput();
+        if (tokens.size() < 2) {
             throw new RimsException("Please specify the resource to be loaned out.");
         }
-        if (words[1].equals("/item")) {
-            int itemIndex = input.indexOf("/item") + 6;
+        if (tokens.get(1).equals("/item")) {
+            int itemIndex = tokens.getOffset(1) + 6;
             int qtyIndex = input.indexOf(" /qty");
             if (qtyIndex == -1) {
                 throw new RimsException("Please specify the quantity of item to be loaned out.");
@@ -353,8 +413,8 @@ public class Parser {
             int userId = parseInt(input.substring(idIndex + 5, byIndex).trim());
             String dateTill = parseDate(input.substring(byIndex + 5).trim());
             return new ReserveCommand(itemName, qty, dateTill, userId);
-        } else if (words[1].equals("/room")) {
-            int roomIndex = input.indexOf("/room") + 6;
+        } else if (tokens.get(1).equals("/room")) {
+            int roomIndex = tokens.getOffset(1) + 6;
             int idIndex = input.indexOf(" /id");
             if (idIndex == -1) {
                 throw new RimsException("Please specify the ID of the borrower of this room.");
@@ -389,17 +449,17 @@ public class Parser {
 
     /**
      * Parses user input into the parameters for a ReserveCommand.
-     * @param input the input obtained from the user by the Ui.
-     * @param words the input from the user, delimited by spaces into an array of individual words.
+     * @param tokens the input obtained from the user by the Ui, split into words.
      * @return a ReserveCommand, if the input can be parsed into the required parameters.
      * @throws RimsException if the input cannot be parsed into the required parameters for a ReserveCommand.
      */
-    protected Command reserveParser(String input, String[] words) throws RimsException {
-        if (!(words.length > 1)) {
+    protected Command reserveParser(TokenizedInput tokens) throws RimsException {
+        String input = tokens.getInput();
+        if (tokens.size() < 2) {
             throw new RimsException("Please specify the resource to be reserved.");
         }
-        if (words[1].equals("/item")) {
-            int itemIndex = input.indexOf("/item") + 6;
+        if (tokens.get(1).equals("/item")) {
+            int itemIndex = tokens.getOffset(1) + 6;
             int qtyIndex = input.indexOf(" /qty");
             if (qtyIndex == -1) {
                 throw new RimsException("Please specify the quantity of item to be reserved.");
@@ -440,8 +500,8 @@ public class Parser {
             String dateFrom = parseDate(input.substring(fromIndex + 7, byIndex).trim());
             String dateTill = parseDate(input.substring(byIndex + 5).trim());
             return new ReserveCommand(itemName, qty, dateFrom, dateTill, userId);
-        } else if (words[1].equals("/room")) {
-            int roomIndex = input.indexOf("/room") + 6;
+        } else if (tokens.get(1).equals("/room")) {
+            int roomIndex = tokens.getOffset(1) + 6;
             int idIndex = input.indexOf(" /id");
             if (idIndex == -1) {
                 throw new RimsException("Please specify the ID of the borrower of this room.");
@@ -478,14 +538,17 @@ public class Parser {
 
     /**
      * Parses user input into the parameters for a ReturnCommand.
-     * @param input the input obtained from the user by the Ui.
-     * @param words the input from the user, delimited by spaces into an array of individual words.
+     * @param tokens the input obtained from the user by the Ui, split into words.
      * @return a ReturnCommand, if the input can be parsed into the required parameters.
      * @throws RimsException if the input cannot be parsed into the required parameters for a ReturnCommand.
      */
-    protected Command returnParser(String input, String[] words) throws RimsException {
-        if (words[1].equals("/id")) {
-            int idIndex = input.indexOf(" /id") + 5;
+    protected Command returnParser(TokenizedInput tokens) throws RimsException {
+        String input = tokens.getInput();
+        if (!input.contains(" /id")) {
+            throw new RimsException(UNRECOGNIZED_COMMAND);
+        }
+        if (tokens.get(1).equals("/id")) {
+            int idIndex = tokens.getOffset(1) + 4;
             if (idIndex > input.length()) {
                 throw new RimsException("Please specify the borrower's user ID.");
             }
@@ -509,9 +572,9 @@ public class Parser {
             if (stringReservations.isEmpty()) {
                 throw new RimsException("Please specify the IDs of the reservations you wish to end!");
             }
-            String[] splitStringReservations = stringReservations.split(" ");
-            for (int j = 0; j < splitStringReservations.length; j++) {
-                int thisReservationId = parseInt(splitStringReservations[j]);
+            TokenizedInput splitStringReservations = new TokenizedInput(stringReservations);
+            for (int j = 0; j < splitStringReservations.size(); j++) {
+                int thisReservationId = parseInt(splitStringReservations.get(j));
                 resourcesToReturn.add(userReservations.getReservationById(thisReservationId).getResourceId());
                 reservationsToCancel.add(thisReservationId);
             }
@@ -523,12 +586,15 @@ public class Parser {
 
     /**
      * Parses user input into the parameters for a StatsCommand.
-     * @param input the input obtained from the user by the Ui.
-     * @param words the input from the user, delimited by spaces into an array of individual words.
+     * @param tokens the input obtained from the user by the Ui, split into words.
      * @return a StatsCommand, if the input can be parsed into the required parameters.
      * @throws RimsException if the input cannot be parsed into the required parameters for a StatsCommand.
      */
-    protected Command statsParser(String input, String[] words) throws RimsException, ParseException {
+    protected Command statsParser(TokenizedInput tokens) throws RimsException, ParseException {
+        if (tokens.size() < 2) {
+            throw new RimsException(UNRECOGNIZED_COMMAND);
+        }
+        String input = tokens.getInput();
         int dateFromIndex = input.indexOf(" /from");
         int dateTillIndex = input.indexOf(" /till");
         if (dateFromIndex + 7 > dateTillIndex) {
@@ -541,13 +607,13 @@ public class Parser {
 
     /**
      * Parses user input into the parameters for a ListCommand.
-     * @param input the input obtained from the user by the Ui.
-     * @param words the input from the user, delimited by spaces into an array of individual words.
+     * @param tokens the input obtained from the user by the Ui, split into words.
      * @return a ListCommand, if the input can be parsed into the required parameters.
      * @throws RimsException if the input cannot be parsed into the required parameters for a ListCommand.
      */
-    protected Command tagParser(String input, String[] words) throws RimsException {
-        if (!(words.length > 1)) {
+    protected Command tagParser(TokenizedInput tokens) throws RimsException {
+        String input = tokens.getInput();
+        if (tokens.size() < 2) {
             throw new RimsException("Please specify the resource to be tagged.");
         }
         int paramTypeIndex = input.indexOf("/resource") + 10;
@@ -559,7 +625,7 @@ public class Parser {
         if (paramTypeIndex > paramIndex) {
             throw new RimsException("Please specify the name of the item to be tagged.");
         }
-        String tagName = words[words.length-1];
+        String tagName = tokens.getLast();
         if (tagName.isEmpty()) {
             throw new RimsException("Please specify the name of the resource to be tagged out.");
         }
@@ -0,0 +1,153 @@
+package rims.core;
+
+import rims.exception.RimsException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs read-only queries over a range of indexes, such as the Resources in a ResourceList,
+ * and collects their results in the order of those indexes.
+ *
+ * <p>With a parallelism of more than one, the range is split into chunks that are queried
+ * on a ForkJoinPool of that many threads. With a parallelism of one, every index is queried
+ * one after another on the calling thread. Queries must not change the data they read, and
+ * nothing may change it while they run.
+ */
+public class QueryExecutor {
+    public static final int SEQUENTIAL = 1;
+    private static final int MIN_CHUNK_SIZE = 64;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final int parallelism;
+    private final ForkJoinPool pool;
+
+    /**
+     * A query that is run once for every index in a range.
+     *
+     * @param <T> the type of the result of the query.
+     */
+    public interface Query<T> {
+        /**
+         * Runs the query for one index.
+         *
+         * @param index the index in question.
+         * @return the result of the query for that index.
+         * @throws RimsException if the query cannot be answered.
+         */
+        T run(int index) throws RimsException;
+    }
+
+    /**
+     * Constructor for a QueryExecutor that runs every query on the calling thread.
+     */
+    public QueryExecutor() {
+        this(SEQUENTIAL);
+    }
+
+    /**
+     * Constructor for a QueryExecutor that runs queries on a given number of threads.
+     *
+     * @param parallelism the number of threads on which queries are run.
+     * @throws IllegalArgumentException if the number of threads is less than one.
+     */
+    public QueryExecutor(int parallelism) {
+        if (parallelism < SEQUENTIAL) {
+            throw new IllegalArgumentException("The number of query threads must be at least 1!");
+        }
+        this.parallelism = parallelism;
+        this.pool = parallelism > SEQUENTIAL ? new ForkJoinPool(parallelism) : null;
+    }
+
+    /**
+     * Returns the number of threads on which queries are run.
+     *
+     * @return the number of threads, which is 1 if queries are run on the calling thread.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Runs a query for every index from 0 up to, but excluding, a given size.
+     *
+     * @param size  the number of indexes to be queried.
+     * @param query the query to be run for each index.
+     * @param <T>   the type of the result of the query.
+     * @return the results of the query, in the order of their indexes.
+     * @throws RimsException the first error raised by the query, if any.
+     */
+    public <T> ArrayList<T> map(int size, Query<T> query) throws RimsException {
+        Object[] results = new Object[size];
+        if (pool == null || size <= MIN_CHUNK_SIZE) {
+            for (int i = 0; i < size; i++) {
+                results[i] = query.run(i);
+            }
+        } else {
+            int chunkSize = Math.max(MIN_CHUNK_SIZE, size / (parallelism * CHUNKS_PER_THREAD));
+            AtomicReference<RimsException> error = new AtomicReference<RimsException>();
+            pool.invoke(new ChunkTask<T>(query, results, 0, size, chunkSize, error));
+            if (error.get() != null) {
+                throw error.get();
+            }
+        }
+        @SuppressWarnings("unchecked")
+        ArrayList<T> resultList = new ArrayList<T>((List<T>) Arrays.asList(results));
+        return resultList;
+    }
+
+    /**
+     * Stops the threads of this QueryExecutor once their queries are done.
+     */
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Queries a chunk of indexes, splitting it in half for as long as it is larger than the chunk size.
+     * Each chunk writes only to its own part of the shared array of results.
+     */
+    private static class ChunkTask<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Query<T> query;
+        private final Object[] results;
+        private final int from;
+        private final int till;
+        private final int chunkSize;
+        private final AtomicReference<RimsException> error;
+
+        ChunkTask(Query<T> query, Object[] results, int from, int till, int chunkSize,
+                AtomicReference<RimsException> error) {
+            this.query = query;
+            this.results = results;
+            this.from = from;
+            this.till = till;
+            this.chunkSize = chunkSize;
+            this.error = error;
+        }
+
+        @Override
+        protected void compute() {
+            if (till - from > chunkSize) {
+                int middle = (from + till) >>> 1;
+                invokeAll(new ChunkTask<T>(query, results, from, middle, chunkSize, error),
+                        new ChunkTask<T>(query, results, middle, till, chunkSize, error));
+                return;
+            }
+            for (int i = from; i < till && error.get() == null; i++) {
+                try {
+                    results[i] = query.run(i);
+                } catch (RimsException e) {
+                    error.compareAndSet(null, e);
+                }
+            }
+        }
+    }
+}
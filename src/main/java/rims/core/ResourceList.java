@@ -3,7 +3,9 @@ package rims.core;
 import rims.core.Ui;
 
 import rims.resource.Reservation;
+import rims.resource.ReservationIndex;
 import rims.resource.ReservationList;
+import rims.resource.ReservationObserver;
 import rims.resource.Resource;
 import rims.resource.Item;
 import rims.resource.Room;
@@ -11,23 +13,52 @@ import rims.resource.Room;
 import rims.exception.RimsException;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
-import java.text.DateFormat;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 
 
 //@@author rabhijit
 /**
  * Stores an array of the Resources created thus far, as well as functions to
  * search, find for, create and delete Resources.
+ *
+ * <p>Resources are also indexed by their ID and by their name, so that they can be
+ * looked up without searching through the whole array. The resource IDs and reservation
+ * IDs in use are tracked as well, so that new IDs can be generated straight away, and every
+ * Reservation is kept in a DeadlineIndex, so that the loans due soon are found straight away.
+ *
+ * <p>Read-only reports over the whole ResourceList are run through its QueryExecutor,
+ * which queries the Resources one after another unless it is given more threads.
+ *
+ * <p>Commands may be executed concurrently. The array of Resources and its indexes are guarded
+ * by a read-write lock, so that any number of commands may look Resources up while Resources
+ * are only added or deleted one at a time, and whole-inventory reports read a snapshot of the
+ * array. The reservation IDs, the DeadlineIndex and the indexes of Reservations by name have a
+ * lock of their own, which is always taken after the lock of the array. The Reservations of each
+ * Resource are swapped atomically without any lock, so that bookings go ahead in parallel.
  */
-public class ResourceList {
+public class ResourceList implements ReservationObserver {
     protected Ui ui;
     protected ArrayList<Resource> resources;
+    protected volatile ArrayList<Resource> resourcesSnapshot = null;
+    protected final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    protected final Object reservationIndexLock = new Object();
+    protected ConcurrentHashMap<Integer, Resource> resourcesById = new ConcurrentHashMap<Integer, Resource>();
+    protected LinkedHashMap<String, ArrayList<Resource>> resourcesByName =
+            new LinkedHashMap<String, ArrayList<Resource>>();
+    protected IdAllocator resourceIds = new IdAllocator();
+    protected IdAllocator reservationIds = new IdAllocator();
+    protected DeadlineIndex deadlines = new DeadlineIndex();
+    protected HashMap<String, ReservationIndex> reservationsByName = new HashMap<String, ReservationIndex>();
+    protected QueryExecutor queries = new QueryExecutor();
 
     // @@author hin1
     /**
@@ -40,54 +71,225 @@ public class ResourceList {
     public ResourceList(Ui ui, ArrayList<Resource> resources) throws RimsException {
         this.ui = ui;
         this.resources = resources;
+        try {
+            rebuildIndexes();
+        } catch (IllegalArgumentException e) {
+            throw new RimsException(e.getMessage());
+        }
         printResourcesDueSoon(3);
     }
 
+    /**
+     * Rebuilds the ID and name indexes, and the IDs in use, from the array of Resources.
+     */
+    protected void rebuildIndexes() {
+        lock.writeLock().lock();
+        try {
+            resourcesSnapshot = null;
+            resourcesById.clear();
+            resourcesByName.clear();
+            resourceIds.clear();
+            synchronized (reservationIndexLock) {
+                reservationIds.clear();
+                deadlines.clear();
+                reservationsByName.clear();
+            }
+            for (int i = 0; i < resources.size(); i++) {
+                addToIndexes(resources.get(i));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a Resource to every index. Must be called while holding the write lock.
+     *
+     * @throws IllegalArgumentException if another Resource already has the same ID.
+     */
+    private void addToIndexes(Resource thisResource) {
+        checkIdIsFree(thisResource);
+        resourcesById.put(thisResource.getResourceId(), thisResource);
+        ArrayList<Resource> allOfResource = resourcesByName.get(thisResource.getName());
+        if (allOfResource == null) {
+            allOfResource = new ArrayList<Resource>();
+            resourcesByName.put(thisResource.getName(), allOfResource);
+        }
+        allOfResource.add(thisResource);
+        resourceIds.markUsed(thisResource.getResourceId());
+        ReservationList thisResourceReservations = thisResource.getReservations();
+        synchronized (reservationIndexLock) {
+            reservationsByName.remove(thisResource.getName());
+            for (Reservation thisReservation : thisResourceReservations.getReservationList()) {
+                reservationIds.markUsed(thisReservation.getReservationId());
+                deadlines.add(thisReservation);
+            }
+            thisResourceReservations.setObserver(this);
+        }
+    }
+
+    /**
+     * Checks that no Resource in the ResourceList has the ID of a given Resource. Must be called
+     * while holding the write lock.
+     *
+     * @throws IllegalArgumentException if another Resource already has the same ID.
+     */
+    private void checkIdIsFree(Resource thisResource) {
+        if (resourcesById.containsKey(thisResource.getResourceId())) {
+            throw new IllegalArgumentException("The resource ID " + thisResource.getResourceId()
+                    + " is already in use!");
+        }
+    }
+
+    /**
+     * Removes a Resource from every index. Must be called while holding the write lock.
+     */
+    private void removeFromIndexes(Resource thisResource) {
+        resourcesById.remove(thisResource.getResourceId(), thisResource);
+        ArrayList<Resource> allOfResource = resourcesByName.get(thisResource.getName());
+        allOfResource.remove(thisResource);
+        if (allOfResource.isEmpty()) {
+            resourcesByName.remove(thisResource.getName());
+        }
+        resourceIds.release(thisResource.getResourceId());
+        ReservationList thisResourceReservations = thisResource.getReservations();
+        synchronized (reservationIndexLock) {
+            reservationsByName.remove(thisResource.getName());
+            thisResourceReservations.setObserver(null);
+            for (Reservation thisReservation : thisResourceReservations.getReservationList()) {
+                reservationIds.release(thisReservation.getReservationId());
+                deadlines.remove(thisReservation);
+            }
+        }
+    }
+
+    /**
+     * Marks the ID of a Reservation made for one of the Resources in this ResourceList as used,
+     * and adds the Reservation to the DeadlineIndex.
+     *
+     * @param thisReservation the Reservation that has been made.
+     */
+    @Override
+    public void reservationAdded(Reservation thisReservation) {
+        synchronized (reservationIndexLock) {
+            reservationIds.markUsed(thisReservation.getReservationId());
+            deadlines.add(thisReservation);
+            forgetReservationIndexOf(thisReservation);
+        }
+    }
+
+    /**
+     * Frees the ID of a Reservation that has been cancelled, so that it can be reused, and
+     * removes the Reservation from the DeadlineIndex.
+     *
+     * @param thisReservation the Reservation that has been cancelled.
+     */
+    @Override
+    public void reservationRemoved(Reservation thisReservation) {
+        synchronized (reservationIndexLock) {
+            reservationIds.release(thisReservation.getReservationId());
+            deadlines.remove(thisReservation);
+            forgetReservationIndexOf(thisReservation);
+        }
+    }
+
+    /**
+     * Drops the index of the Reservations of the name of the Resource a Reservation was made
+     * for, so that it is rebuilt when it is next needed. Must be called while holding the lock
+     * of the reservation indexes.
+     */
+    private void forgetReservationIndexOf(Reservation thisReservation) {
+        Resource thisResource = resourcesById.get(thisReservation.getResourceId());
+        if (thisResource == null) {
+            reservationsByName.clear();
+        } else {
+            reservationsByName.remove(thisResource.getName());
+        }
+    }
+
     // @author hin1
     /**
      * This method prints all the resources that are due soon (deadline within 3 days).
      */
     public void printResourcesDueSoon(int daysDue) throws RimsException {
-        ReservationList allDueReservations = new ReservationList();
-        for (int i = 0; i < size(); i++) {
-            Resource thisResource = getResourceByIndex(i);
-            ReservationList thisResourceDueReservations = thisResource.getDueReservations(daysDue);
-            if (!thisResourceDueReservations.isEmpty()) {
-                // add only the earliest reservation that's still due
-                allDueReservations.add(thisResourceDueReservations.getReservationByIndex(0));
-            }
-        }
-        Collections.sort(allDueReservations.getReservationList(), new Comparator<Reservation>() {
-            @Override
-            public int compare(Reservation o1, Reservation o2) {
-                try {
-                    return o1.getEndDate().compareTo(o2.getEndDate());
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
-                return -1;
-            }
-        });
+        ArrayList<Reservation> allDueReservations = getDueReservations(daysDue, System.currentTimeMillis());
         if (!allDueReservations.isEmpty()) {
             ui.printLine();
             ui.print("REMINDER - The following loans are due soon (within " + daysDue + " days, or overdue):");
             ui.printEmptyLine();
             for (int i = 0; i < allDueReservations.size(); i++) {
-                ui.print(getResourceById(allDueReservations.getReservationByIndex(i).getResourceId()).toString());
-                ui.print("\t" + allDueReservations.getReservationByIndex(i).toString());
+                ui.print(getResourceById(allDueReservations.get(i).getResourceId()).toString());
+                ui.print("\t" + allDueReservations.get(i).toString());
             }
         }
         ui.printLine();
     }
 
+    /**
+     * Returns the earliest Reservation of each Resource that is active at a given current time,
+     * and is either overdue or expiring within a given number of days. Only the head of the
+     * loans in the DeadlineIndex, up to the last of these Reservations to end, is read.
+     *
+     * @param daysDue the number of days within which Reservations which are expiring should be returned.
+     * @param now     the current time, in epoch milliseconds.
+     * @return the Reservations that are due, in the order they end.
+     */
+    public ArrayList<Reservation> getDueReservations(int daysDue, long now) {
+        ArrayList<Reservation> loans;
+        synchronized (reservationIndexLock) {
+            loans = deadlines.getLoansEndingBefore(now, now + TimeUnit.DAYS.toMillis(daysDue + 1));
+        }
+        return getFirstLoanOfEachResource(loans);
+    }
+
+    /**
+     * Returns the earliest Reservation to end of each Resource that is booked at a given current
+     * time, either under a Reservation that has started and not yet ended, or an overdue one.
+     * Only the loans in the DeadlineIndex are read.
+     *
+     * @param now the current time, in epoch milliseconds.
+     * @return the Reservations under which Resources are booked, in the order they end.
+     */
+    public ArrayList<Reservation> getActiveLoans(long now) {
+        ArrayList<Reservation> loans;
+        synchronized (reservationIndexLock) {
+            loans = deadlines.getLoansEndingBefore(now, Long.MAX_VALUE);
+        }
+        loans.removeIf(thisReservation -> thisReservation.getEndTime() == now);
+        return getFirstLoanOfEachResource(loans);
+    }
+
+    /**
+     * Returns the first of a list of loans for each Resource.
+     */
+    private ArrayList<Reservation> getFirstLoanOfEachResource(ArrayList<Reservation> loans) {
+        ArrayList<Reservation> firstLoans = new ArrayList<Reservation>();
+        HashSet<Integer> coveredResources = new HashSet<Integer>();
+        for (int i = 0; i < loans.size(); i++) {
+            if (coveredResources.add(loans.get(i).getResourceId())) {
+                firstLoans.add(loans.get(i));
+            }
+        }
+        return firstLoans;
+    }
+
     //@@author rabhijit
     /**
      * Adds a new Resource to the ResourceList.
      *
      * @param thisResource the newly created Resource.
+     * @throws IllegalArgumentException if another Resource already has the same ID.
      */
     public void add(Resource thisResource) {
-        resources.add(thisResource);
+        lock.writeLock().lock();
+        try {
+            checkIdIsFree(thisResource);
+            resources.add(thisResource);
+            resourcesSnapshot = null;
+            addToIndexes(thisResource);
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
@@ -98,17 +300,18 @@ public class ResourceList {
      * @throws RimsException if there is no such Resource of that name.
      */
     public void deleteResourceByName(String resourceName) throws RimsException {
-        boolean deleted = false;
-        for (int i = 0; i < size(); i++) {
-            Resource thisResource = getResourceByIndex(i);
-            if (thisResource.getName().equals(resourceName)) {
-                resources.remove(i);
-                deleted = true;
-                break;
+        lock.writeLock().lock();
+        try {
+            ArrayList<Resource> allOfResource = resourcesByName.get(resourceName);
+            if (allOfResource == null) {
+                throw new RimsException("No such resource found!");
             }
-        }
-        if (!deleted) {
-            throw new RimsException("No such resource found!");
+            Resource thisResource = allOfResource.get(0);
+            resources.remove(thisResource);
+            resourcesSnapshot = null;
+            removeFromIndexes(thisResource);
+        } finally {
+            lock.writeLock().unlock();
         }
     }
 
@@ -121,28 +324,143 @@ public class ResourceList {
      * @throws RimsException if there is no such resource with that ID.
      */
     public void deleteResourceById(int resourceId) throws RimsException {
-        boolean deleted = false;
-        for (int i = 0; i < size(); i++) {
-            Resource thisResource = getResourceByIndex(i);
-            if (thisResource.getResourceId() == resourceId) {
-                resources.remove(i);
-                deleted = true;
-                break;
+        lock.writeLock().lock();
+        try {
+            Resource thisResource = resourcesById.get(resourceId);
+            if (thisResource == null) {
+                throw new RimsException("No such resource ID found!");
+            }
+            resources.remove(thisResource);
+            resourcesSnapshot = null;
+            removeFromIndexes(thisResource);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a Resource from the ResourceList, as specified by the ID of that resource, only if
+     * it holds exactly the given Reservations. Bookings made through this ResourceList wait for
+     * the removal to be done, so a Reservation made by another command is never removed with it.
+     *
+     * @param resourceId           the ID of the Resource
+     * @param expectedReservations the Reservations the Resource should hold.
+     * @throws RimsException if there is no such resource with that ID, or if its Reservations
+     *                       have been changed since.
+     */
+    public void deleteResourceIfUnchanged(int resourceId, ArrayList<Reservation> expectedReservations)
+            throws RimsException {
+        lock.writeLock().lock();
+        try {
+            Resource thisResource = resourcesById.get(resourceId);
+            if (thisResource == null) {
+                throw new RimsException("No such resource ID found!");
             }
+            ArrayList<Reservation> currentReservations = thisResource.getReservations().getReservationList();
+            if (currentReservations.size() != expectedReservations.size()
+                    || !currentReservations.containsAll(expectedReservations)) {
+                throw new RimsException("The " + thisResource.getName()
+                        + " has since been booked or returned by another user!");
+            }
+            resources.remove(thisResource);
+            resourcesSnapshot = null;
+            removeFromIndexes(thisResource);
+        } finally {
+            lock.writeLock().unlock();
         }
-        if (!deleted) {
-            throw new RimsException("No such resource ID found!");
+    }
+
+    /**
+     * Adds back a Resource that was deleted, together with its Reservations, only if its ID and the
+     * IDs of its Reservations are all still free. As those IDs were freed when the Resource was
+     * deleted, another command may have been given them since.
+     *
+     * @param thisResource the Resource to be added back.
+     * @throws RimsException if its ID, or the ID of one of its Reservations, has since been taken.
+     */
+    public void restore(Resource thisResource) throws RimsException {
+        lock.writeLock().lock();
+        try {
+            if (resourcesById.containsKey(thisResource.getResourceId())) {
+                throw new RimsException("The resource ID " + thisResource.getResourceId()
+                        + " has since been taken by another user!");
+            }
+            synchronized (reservationIndexLock) {
+                for (Reservation thisReservation : thisResource.getReservations().getReservationList()) {
+                    checkReservationIdIsFree(thisReservation);
+                }
+            }
+            resources.add(thisResource);
+            resourcesSnapshot = null;
+            addToIndexes(thisResource);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds back a Reservation that was cancelled, only if its ID is still free and its Resource is
+     * still free over its dates, and is not overdue at a given current time.
+     *
+     * @param thisReservation the Reservation to be added back.
+     * @param now             the current time, in epoch milliseconds.
+     * @throws RimsException if its Resource can no longer be found, or its ID or dates have since
+     *                       been taken.
+     */
+    public void restoreReservation(Reservation thisReservation, long now) throws RimsException {
+        lock.readLock().lock();
+        try {
+            Resource thisResource = resourcesById.get(thisReservation.getResourceId());
+            if (thisResource == null) {
+                throw new RimsException("No such resource ID found!");
+            }
+            synchronized (reservationIndexLock) {
+                checkReservationIdIsFree(thisReservation);
+                reservationIds.markUsed(thisReservation.getReservationId());
+            }
+            if (!thisResource.getReservations().addIfAvailable(thisReservation, now)) {
+                synchronized (reservationIndexLock) {
+                    reservationIds.release(thisReservation.getReservationId());
+                }
+                throw new RimsException("The " + thisResource.getName() + " has since been booked by another user "
+                        + "over the dates of reservation " + thisReservation.getReservationId() + "!");
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks that the ID of a Reservation to be added back is not in use. Must be called while
+     * holding the lock of the reservation indexes.
+     */
+    private void checkReservationIdIsFree(Reservation thisReservation) throws RimsException {
+        if (reservationIds.isUsed(thisReservation.getReservationId())) {
+            throw new RimsException("The reservation ID " + thisReservation.getReservationId()
+                    + " has since been taken by another user!");
         }
     }
 
     // @@author rabhijit
     /**
-     * Returns the ResourceList itself.
+     * Returns a snapshot of the array of Resources. The snapshot is never changed once returned,
+     * as Resources are added to and deleted from a new snapshot, so it may be read while other
+     * commands are executed, but must not be changed by the caller.
      *
      * @return the array of Resources.
      */
     public ArrayList<Resource> getResources() {
-        return resources;
+        ArrayList<Resource> thisSnapshot = resourcesSnapshot;
+        if (thisSnapshot == null) {
+            lock.readLock().lock();
+            try {
+                thisSnapshot = new ArrayList<Resource>(resources);
+                resourcesSnapshot = thisSnapshot;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        return thisSnapshot;
     }
 
     /**
@@ -151,7 +469,13 @@ public class ResourceList {
      * @param resources Takes in the resource list
      */
     public void setResources(ArrayList<Resource> resources) {
-        this.resources = resources;
+        lock.writeLock().lock();
+        try {
+            this.resources = resources;
+            rebuildIndexes();
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
@@ -160,23 +484,54 @@ public class ResourceList {
      * @return the number of items in the ResourceList.
      */
     public int size() {
-        return resources.size();
+        return getResources().size();
     }
 
     /**
-     * Generates a resource ID for a newly created Resource.
+     * Generates a resource ID for a newly created Resource. The ID is taken once the
+     * Resource is added to the ResourceList.
      *
      * @return a new resource ID.
      */
     public int generateResourceId() {
-        for (int i = 0; i < size(); i++) {
-            try {
-                Resource thisResource = getResourceById(i);
-            } catch (RimsException e) {
-                return i;
-            }
+        lock.readLock().lock();
+        try {
+            return resourceIds.peek();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Generates resource IDs for a batch of newly created Resources. Each ID is taken
+     * once its Resource is added to the ResourceList.
+     *
+     * @param number the number of Resources to be created.
+     * @return an array of distinct new resource IDs, in ascending order.
+     */
+    public ArrayList<Integer> generateResourceIds(int number) {
+        lock.readLock().lock();
+        try {
+            return resourceIds.peek(number);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Takes resource IDs for a batch of Resources that are about to be created and added to the
+     * ResourceList, so that no other command can take the same IDs in the meantime.
+     *
+     * @param number the number of Resources to be created.
+     * @return an array of distinct new resource IDs, in ascending order.
+     */
+    public ArrayList<Integer> takeResourceIds(int number) {
+        lock.writeLock().lock();
+        try {
+            return resourceIds.allocate(number);
+        } finally {
+            lock.writeLock().unlock();
         }
-        return size();
     }
 
     /**
@@ -186,7 +541,7 @@ public class ResourceList {
      * @return the Resource itself.
      */
     public Resource getResourceByIndex(int indexNo) {
-        return resources.get(indexNo);
+        return getResources().get(indexNo);
     }
 
     /**
@@ -197,13 +552,16 @@ public class ResourceList {
      * @throws RimsException if no such resource has that name.
      */
     public Resource getResourceByName(String resourceName) throws RimsException {
-        for (int i = 0; i < size(); i++) {
-            Resource thisResource = getResourceByIndex(i);
-            if (thisResource.getName().equals(resourceName)) {
-                return thisResource;
+        lock.readLock().lock();
+        try {
+            ArrayList<Resource> allOfResource = resourcesByName.get(resourceName);
+            if (allOfResource == null) {
+                throw new RimsException("This resource does not exist in your inventory!");
             }
+            return allOfResource.get(0);
+        } finally {
+            lock.readLock().unlock();
         }
-        throw new RimsException("This resource does not exist in your inventory!");
     }
 
     /**
@@ -214,13 +572,11 @@ public class ResourceList {
      * @throws RimsException if no such resource has that ID.
      */
     public Resource getResourceById(int resourceId) throws RimsException {
-        for (int i = 0; i < size(); i++) {
-            Resource thisResource = getResourceByIndex(i);
-            if (thisResource.getResourceId() == resourceId) {
-                return thisResource;
-            }
+        Resource thisResource = resourcesById.get(resourceId);
+        if (thisResource == null) {
+            throw new RimsException("No such resource ID!");
         }
-        throw new RimsException("No such resource ID!");
+        return thisResource;
     }
 
     /**
@@ -254,13 +610,98 @@ public class ResourceList {
      * @return an array of all the Resources with that name.
      */
     public ArrayList<Resource> getAllOfResource(String resourceName) {
-        ArrayList<Resource> allOfResource = new ArrayList<Resource>();
-        for (int i = 0; i < size(); i++) {
-            Resource thisResource = getResourceByIndex(i);
-            if (thisResource.getName().equals(resourceName)) {
-                allOfResource.add(thisResource);
+        lock.readLock().lock();
+        try {
+            return new ArrayList<Resource>(getIndexedResources(resourceName));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the first Resource of each name, in the order in which the names first
+     * appear in the array of Resources.
+     *
+     * @return one Resource for every name in this ResourceList.
+     */
+    public ArrayList<Resource> getFirstOfEachResource() {
+        ArrayList<Resource> allResources = getResources();
+        ArrayList<Resource> firstOfEachResource = new ArrayList<Resource>();
+        HashSet<String> coveredNames = new HashSet<String>();
+        for (int i = 0; i < allResources.size(); i++) {
+            if (coveredNames.add(allResources.get(i).getName())) {
+                firstOfEachResource.add(allResources.get(i));
             }
         }
+        return firstOfEachResource;
+    }
+
+    /**
+     * Returns the first Resource of each of a range of names, in the order in which the names
+     * were first indexed. Only the names before the range are skipped, and no other name is visited.
+     *
+     * @param fromName      the position of the first name in the range, starting from 0.
+     * @param numberOfNames the number of names in the range.
+     * @return one Resource for every name in the range.
+     */
+    public ArrayList<Resource> getFirstOfEachResource(int fromName, int numberOfNames) {
+        lock.readLock().lock();
+        try {
+            ArrayList<Resource> firstOfEachResource = new ArrayList<Resource>();
+            Iterator<ArrayList<Resource>> allOfEachResource = resourcesByName.values().iterator();
+            for (int i = 0; i < fromName && allOfEachResource.hasNext(); i++) {
+                allOfEachResource.next();
+            }
+            while (allOfEachResource.hasNext() && firstOfEachResource.size() < numberOfNames) {
+                firstOfEachResource.add(allOfEachResource.next().get(0));
+            }
+            return firstOfEachResource;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of different names of the Resources in this ResourceList.
+     *
+     * @return the number of names.
+     */
+    public int getNumberOfNames() {
+        lock.readLock().lock();
+        try {
+            return resourcesByName.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the QueryExecutor on which read-only reports over this ResourceList are run.
+     *
+     * @return the QueryExecutor of this ResourceList.
+     */
+    public QueryExecutor getQueryExecutor() {
+        return queries;
+    }
+
+    /**
+     * Sets the QueryExecutor on which read-only reports over this ResourceList are run.
+     *
+     * @param queries the new QueryExecutor of this ResourceList.
+     */
+    public void setQueryExecutor(QueryExecutor queries) {
+        this.queries = queries;
+    }
+
+    /**
+     * Returns the live array of resources of a certain name from the name index, which must not be modified.
+     * Must be called while holding the read lock, for as long as the array is read.
+     */
+    private ArrayList<Resource> getIndexedResources(String resourceName) {
+        ArrayList<Resource> allOfResource = resourcesByName.get(resourceName);
+        if (allOfResource == null) {
+            return new ArrayList<Resource>();
+        }
         return allOfResource;
     }
 
@@ -272,14 +713,12 @@ public class ResourceList {
      * @return the number of Resources with that name.
      */
     public int getNumberOfResource(String resourceName) {
-        int number = 0;
-        for (int i = 0; i < size(); i++) {
-            Resource thisResource = getResourceByIndex(i);
-            if (thisResource.getName().equals(resourceName)) {
-                number++;
-            }
+        lock.readLock().lock();
+        try {
+            return getIndexedResources(resourceName).size();
+        } finally {
+            lock.readLock().unlock();
         }
-        return number;
     }
 
     /**
@@ -290,14 +729,31 @@ public class ResourceList {
      * @return the number of available Resources with that name.
      */
     public int getAvailableNumberOfResource(String resourceName) {
-        ArrayList<Resource> allOfResource = getAllOfResource(resourceName);
-        int number = 0;
-        for (int i = 0; i < allOfResource.size(); i++) {
-            if (allOfResource.get(i).isCurrentlyAvailable()) {
-                number++;
+        return getAvailableNumberOfResource(resourceName, System.currentTimeMillis());
+    }
+
+    /**
+     * Returns the number of resources of a certain name that are available to be
+     * booked at a given current time.
+     *
+     * @param resourceName the name of the Resource in question.
+     * @param now          the current time, in epoch milliseconds.
+     * @return the number of available Resources with that name.
+     */
+    public int getAvailableNumberOfResource(String resourceName, long now) {
+        lock.readLock().lock();
+        try {
+            ArrayList<Resource> allOfResource = getIndexedResources(resourceName);
+            int number = 0;
+            for (int i = 0; i < allOfResource.size(); i++) {
+                if (allOfResource.get(i).isCurrentlyAvailable(now)) {
+                    number++;
+                }
             }
+            return number;
+        } finally {
+            lock.readLock().unlock();
         }
-        return number;
     }
 
     // overloaded
@@ -311,14 +767,61 @@ public class ResourceList {
      * @return the number of available Resources with that name.
      */
     public int getAvailableNumberOfResource(String resourceName, Date dateFrom, Date dateTill) {
-        ArrayList<Resource> allOfResource = getAllOfResource(resourceName);
-        int number = 0;
-        for (int i = 0; i < allOfResource.size(); i++) {
-            if (allOfResource.get(i).isCurrentlyAvailable()) {
-                number++;
+        return getAvailableNumberOfResource(resourceName, dateFrom, dateTill, System.currentTimeMillis());
+    }
+
+    /**
+     * Returns the number of resources of a certain name that are free to be booked between
+     * two given dates, given the current time, exactly as checked by isAvailableFrom. Only the
+     * Reservations of that name that overlap the dates, or are overdue, are visited.
+     *
+     * @param resourceName the name of the Resource in question.
+     * @param dateFrom     the date from which the Resource should be available.
+     * @param dateTill     the date till which the Resource should be available.
+     * @param now          the current time, in epoch milliseconds.
+     * @return the number of available Resources with that name.
+     */
+    public int getAvailableNumberOfResource(String resourceName, Date dateFrom, Date dateTill, long now) {
+        long from = dateFrom.getTime();
+        long till = dateTill.getTime();
+        lock.readLock().lock();
+        try {
+            ReservationIndex thisIndex = getReservationIndexOfName(resourceName);
+            HashSet<Integer> bookedResources = new HashSet<Integer>();
+            for (Reservation thisReservation : thisIndex.getOverdue(now)) {
+                bookedResources.add(thisReservation.getResourceId());
             }
+            for (Reservation thisReservation : thisIndex.getOverlapping(Math.min(from, till), Math.max(from, till))) {
+                long start = thisReservation.getStartTime();
+                long end = thisReservation.getEndTime();
+                if ((start < Math.max(from, till) && Math.min(from, till) < end) || start == from || end == till) {
+                    bookedResources.add(thisReservation.getResourceId());
+                }
+            }
+            return getNumberOfResource(resourceName) - bookedResources.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the index of the Reservations of all Resources of a certain name, building it
+     * if they have changed since it was last built. Must be called while holding the read lock.
+     */
+    private ReservationIndex getReservationIndexOfName(String resourceName) {
+        synchronized (reservationIndexLock) {
+            ReservationIndex thisIndex = reservationsByName.get(resourceName);
+            if (thisIndex == null) {
+                ArrayList<Reservation> allReservations = new ArrayList<Reservation>();
+                ArrayList<Resource> allOfResource = getIndexedResources(resourceName);
+                for (int i = 0; i < allOfResource.size(); i++) {
+                    allReservations.addAll(allOfResource.get(i).getReservations().getReservationList());
+                }
+                thisIndex = new ReservationIndex(allReservations);
+                reservationsByName.put(resourceName, thisIndex);
+            }
+            return thisIndex;
         }
-        return number;
     }
 
     // @@author aarushisingh1
@@ -331,15 +834,32 @@ public class ResourceList {
      * @return the number of available Resources with that name on that date.
      */
     public int getAvailableNumberOfResourceForDate(String resourceName, String date) throws RimsException {
-        ArrayList<Resource> allOfResource = getAllOfResource(resourceName);
-        Date checkedDate = stringToDate(date);
-        int number = 0;
-        for (int i = 0; i < allOfResource.size(); i++) {
-            if (allOfResource.get(i).isAvailableOnDate(checkedDate)) {
-                number++;
+        return getAvailableNumberOfResourceForDate(resourceName, stringToDate(date), System.currentTimeMillis());
+    }
+
+    /**
+     * Returns the number of resources of a certain name that are available to be
+     * booked on a date, given the current time.
+     *
+     * @param resourceName the name of the Resource in question.
+     * @param checkedDate  the date that is being checked.
+     * @param now          the current time, in epoch milliseconds.
+     * @return the number of available Resources with that name on that date.
+     */
+    public int getAvailableNumberOfResourceForDate(String resourceName, Date checkedDate, long now) {
+        lock.readLock().lock();
+        try {
+            ArrayList<Resource> allOfResource = getIndexedResources(resourceName);
+            int number = 0;
+            for (int i = 0; i < allOfResource.size(); i++) {
+                if (allOfResource.get(i).isAvailableOnDate(checkedDate, now)) {
+                    number++;
+                }
             }
+            return number;
+        } finally {
+            lock.readLock().unlock();
         }
-        return number;
     }
 
     //@@author rabhijit
@@ -350,14 +870,89 @@ public class ResourceList {
      * @return the number of booked Resources with that name.
      */
     public int getBookedNumberOfResource(String resourceName) {
-        ArrayList<Resource> allOfResource = getAllOfResource(resourceName);
-        int number = 0;
-        for (int i = 0; i < allOfResource.size(); i++) {
-            if (!allOfResource.get(i).isCurrentlyAvailable()) {
-                number++;
+        return getBookedNumberOfResource(resourceName, System.currentTimeMillis());
+    }
+
+    /**
+     * Returns the number of resources of a certain name that are booked at a given current time.
+     *
+     * @param resourceName the name of the Resource in question.
+     * @param now          the current time, in epoch milliseconds.
+     * @return the number of booked Resources with that name.
+     */
+    public int getBookedNumberOfResource(String resourceName, long now) {
+        lock.readLock().lock();
+        try {
+            ArrayList<Resource> allOfResource = getIndexedResources(resourceName);
+            int number = 0;
+            for (int i = 0; i < allOfResource.size(); i++) {
+                if (!allOfResource.get(i).isCurrentlyAvailable(now)) {
+                    number++;
+                }
             }
+            return number;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Books a given number of the Resources of a certain name between two dates for a user, in one
+     * pass over the Resources of that name. Either all of them are booked or none is.
+     *
+     * <p>Each Resource is booked with a compare-and-set of its Reservations: the dates are checked
+     * against its current Reservations without taking any lock, and the booking is only published
+     * if no other booking or cancellation has been made for that Resource since, or else the dates
+     * are checked again. Bookings of the same or different Resources thus never wait for a lock,
+     * while two bookings of the same Resource that overlap can never both be made.
+     *
+     * @param resourceName the name of the Resources to be booked.
+     * @param number       the number of Resources to be booked.
+     * @param userId       the ID of the user making the booking.
+     * @param dateFrom     the date from which the Resources are to be booked.
+     * @param dateTill     the date till which the Resources are to be booked.
+     * @param now          the current time, in epoch milliseconds.
+     * @return the Reservations made, in the order the Resources were added, or null if fewer Resources
+     *         were free than asked for, in which case none is booked.
+     */
+    public ArrayList<Reservation> bookResources(String resourceName, int number, int userId, Date dateFrom,
+            Date dateTill, long now) {
+        lock.readLock().lock();
+        try {
+            ArrayList<Resource> allOfResource = getIndexedResources(resourceName);
+            ArrayList<Integer> newReservationIds;
+            synchronized (reservationIndexLock) {
+                newReservationIds = reservationIds.allocate(number);
+            }
+            ArrayList<Reservation> newReservations = new ArrayList<Reservation>();
+            for (int i = 0; i < allOfResource.size() && newReservations.size() < number; i++) {
+                Reservation newReservation = allOfResource.get(i).bookIfAvailable(
+                        newReservationIds.get(newReservations.size()), userId, dateFrom, dateTill, now);
+                if (newReservation != null) {
+                    newReservations.add(newReservation);
+                }
+            }
+            if (newReservations.size() == number) {
+                return newReservations;
+            }
+            for (int i = 0; i < newReservations.size(); i++) {
+                Reservation thisReservation = newReservations.get(i);
+                try {
+                    getResourceById(thisReservation.getResourceId()).getReservations()
+                            .cancelReservationById(thisReservation.getReservationId());
+                } catch (RimsException e) {
+                    // already cancelled by another command
+                }
+            }
+            synchronized (reservationIndexLock) {
+                for (int i = newReservations.size(); i < number; i++) {
+                    reservationIds.release(newReservationIds.get(i));
+                }
+            }
+            return null;
+        } finally {
+            lock.readLock().unlock();
         }
-        return number;
     }
 
     // @@author aarushisingh1
@@ -370,15 +965,31 @@ public class ResourceList {
      * @throws ParseException if the date is in an invalid format.
      */
     public int getBookedNumberOfResourceForDate(String resourceName, String date) throws RimsException {
-        ArrayList<Resource> allOfResource = getAllOfResource(resourceName);
-        Date checkedDate = stringToDate(date);
-        int number = 0;
-        for (int i = 0; i < allOfResource.size(); i++) {
-            if (!allOfResource.get(i).isAvailableOnDate(checkedDate)) {
-                number++;
+        return getBookedNumberOfResourceForDate(resourceName, stringToDate(date), System.currentTimeMillis());
+    }
+
+    /**
+     * Returns the number of resources of a certain name that are booked on a date, given the current time.
+     *
+     * @param resourceName the name of the Resource in question.
+     * @param checkedDate  the date that that is being checked
+     * @param now          the current time, in epoch milliseconds.
+     * @return the number of booked Resources with that name on that date.
+     */
+    public int getBookedNumberOfResourceForDate(String resourceName, Date checkedDate, long now) {
+        lock.readLock().lock();
+        try {
+            ArrayList<Resource> allOfResource = getIndexedResources(resourceName);
+            int number = 0;
+            for (int i = 0; i < allOfResource.size(); i++) {
+                if (!allOfResource.get(i).isAvailableOnDate(checkedDate, now)) {
+                    number++;
+                }
             }
+            return number;
+        } finally {
+            lock.readLock().unlock();
         }
-        return number;
     }
 
     /** Returns the number of resources that are currently booked on a certain date.
@@ -388,9 +999,20 @@ public class ResourceList {
      * @throws ParseException if the date is in an invalid format.
      */
     public int getBookedNumberOfResourceForDate(Date date) {
+        return getBookedNumberOfResourceForDate(date, System.currentTimeMillis());
+    }
+
+    /** Returns the number of resources that are booked on a certain date, given the current time.
+     *
+     * @param date the date for which the number resources are to be obtained.
+     * @param now  the current time, in epoch milliseconds.
+     * @return the number of booked Resources on that date.
+     */
+    public int getBookedNumberOfResourceForDate(Date date, long now) {
+        ArrayList<Resource> allResources = getResources();
         int number = 0;
-        for (int i = 0; i < resources.size(); i++) {
-            if (!resources.get(i).isAvailableOnDate(date)) {
+        for (int i = 0; i < allResources.size(); i++) {
+            if (!allResources.get(i).isAvailableOnDate(date, now)) {
                 number++;
             }
         }
@@ -405,39 +1027,38 @@ public class ResourceList {
      * @return the list of reservations made by the aforementioned user.
      */
     public ReservationList getUserBookings(int userId) {
-        ReservationList userBookings = new ReservationList();
-        for (int i = 0; i < size(); i++) {
-            ReservationList thisResourceUserReservations = getResourceByIndex(i).getUserReservations(userId);
-            for (int j = 0; j < thisResourceUserReservations.size(); j++) {
-                userBookings.add(thisResourceUserReservations.getReservationByIndex(j));
-            }
+        ArrayList<Resource> allResources = getResources();
+        ArrayList<Reservation> userBookings = new ArrayList<Reservation>();
+        for (int i = 0; i < allResources.size(); i++) {
+            userBookings.addAll(allResources.get(i).getUserReservations(userId).getReservationList());
         }
-        return userBookings;
+        return new ReservationList(userBookings);
     }
 
     /**
      * Generates a unique reservation ID for each new reservation made, regardless
-     * of which resource that reservation is made for.
+     * of which resource that reservation is made for. The ID is taken once the
+     * reservation is made.
      *
      * @return a unique reservation ID.
      */
     public int generateReservationId() {
-        ArrayList<Integer> coveredIds = new ArrayList<Integer>();
-        for (int i = 0; i < size(); i++) {
-            Resource thisResource = resources.get(i);
-            ReservationList thisResourceReservations = thisResource.getReservations();
-            for (int j = 0; j < thisResourceReservations.size(); j++) {
-                if (!coveredIds.contains(thisResourceReservations.getReservationByIndex(j).getReservationId())) {
-                    coveredIds.add(thisResourceReservations.getReservationByIndex(j).getReservationId());
-                }
-            }
+        synchronized (reservationIndexLock) {
+            return reservationIds.peek();
         }
-        for (int k = 0; k < coveredIds.size(); k++) {
-            if (!coveredIds.contains(k)) {
-                return k;
-            }
+    }
+
+    /**
+     * Generates unique reservation IDs for a batch of new reservations. Each ID is taken
+     * once its reservation is made.
+     *
+     * @param number the number of reservations to be made.
+     * @return an array of distinct new reservation IDs, in ascending order.
+     */
+    public ArrayList<Integer> generateReservationIds(int number) {
+        synchronized (reservationIndexLock) {
+            return reservationIds.peek(number);
         }
-        return coveredIds.size();
     }
 
     /**
@@ -449,14 +1070,7 @@ public class ResourceList {
      * @throws RimsException if stringDate cannot be formatted into a date.
      */
     public Date stringToDate(String stringDate) throws RimsException {
-        SimpleDateFormat formatter = new SimpleDateFormat("dd/MM/yyyy HHmm");
-        Date dateValue;
-        try {
-            dateValue = formatter.parse(stringDate);
-        } catch (ParseException e) {
-            throw new RimsException("Invalid format of date " + stringDate + "!");
-        }
-        return dateValue;
+        return DateCodec.parse(stringDate);
     }
 
     /**
@@ -466,9 +1080,7 @@ public class ResourceList {
      * @return a String representing the Date object.
      */
     public String dateToString(Date thisDate) {
-        DateFormat format = new SimpleDateFormat("dd/MM/yyyy HHmm");
-        String stringDate = format.format(thisDate);
-        return stringDate;
+        return DateCodec.format(thisDate);
     }
 
     /**
@@ -478,24 +1090,7 @@ public class ResourceList {
      * @return a human-readable String representing the Date object.
      */
     public String getDateToPrint(Date date) {
-        DateFormat dayFormat = new SimpleDateFormat("d");
-        int actualDay = Integer.parseInt(dayFormat.format(date));
-        int roundedDay = actualDay % 10;
-        String suffix;
-        if (actualDay < 20 && actualDay > 9) {
-            suffix = "th";
-        } else if (roundedDay == 1) {
-            suffix = "st";
-        } else if (roundedDay == 2) {
-            suffix = "nd";
-        } else if (roundedDay == 3) {
-            suffix = "rd";
-        } else {
-            suffix = "th";
-        }
-        String stringDate = (new SimpleDateFormat("EEEEE, ")).format(date) + actualDay + suffix + " "
-                + (new SimpleDateFormat("MMMMM yyyy, hh:mm aaa")).format(date);
-        return stringDate;
+        return DateCodec.formatForPrinting(date);
     }
 
 }
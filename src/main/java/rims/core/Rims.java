@@ -13,6 +13,8 @@ import java.io.IOException;
 import java.text.ParseException;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Scanner;
 
 //@@author rabhijit
 /**
@@ -20,9 +22,11 @@ import java.util.ArrayList;
  * the relevant sub-tasks of RIMS.
  */
 public class Rims {
+    public static final int NO_CHECKPOINTS = 0;
+
     private Storage storage;
     private ResourceList resources;
-    public static TagList tags;
+    private static volatile TagList tags;
     private Ui ui;
     private Parser parser;
 
@@ -40,43 +44,280 @@ public class Rims {
      *                      output.
      */
     public Rims(String resourceFilePath, String reserveFilePath, String tagFilePath) throws ParseException, RimsException, IOException {
+        this(resourceFilePath, reserveFilePath, tagFilePath, Storage.Format.TEXT);
+    }
+
+    /**
+     * Constructor for RIMS that keeps its snapshot of resources and reservations in the given format.
+     *
+     * @param resourceFilePath the file path of the document where resource data is stored.
+     * @param reserveFilePath  the file path of the document where reservation data is stored.
+     * @param tagFilePath      the file path of the document where tag data is stored.
+     * @param format           the format of the snapshot kept by Storage.
+     * @throws RimsException if the data files cannot be created or read.
+     * @throws IOException  if there is an error related to user input or printing output.
+     */
+    public Rims(String resourceFilePath, String reserveFilePath, String tagFilePath, Storage.Format format)
+            throws RimsException, IOException {
         ui = new Ui();
-        storage = new Storage(resourceFilePath, reserveFilePath, tagFilePath);
+        storage = new Storage(resourceFilePath, reserveFilePath, tagFilePath, format);
         resources = new ResourceList(ui, storage.getResources());
-        tags = new TagList(ui, storage.getTags());
+        setTags(new TagList(ui, storage.getTags()));
         parser = new Parser(ui, resources);
+        ui.setBuffered(true);
     }
 
     /**
      * This method repeatedly runs the parser, which obtains and parses the input, and
      * depending to the parsed input, creates an executable command, which then carries out
-     * the necessary tasks. Will halt when a command issues an exit code of true.
+     * the necessary tasks. The output of the command is written out at once when it is done,
+     * and any changes made by the command are then committed to the journal,
+     * and recorded so that they can be undone, even if it failed partway. Will halt when a command
+     * issues an exit code of true, or when there is no more input.
      * @throws ParseException if input is un-parsable
      * @throws IOException if there is an error in reading input or printing output
      */
     public void run() throws ParseException, IOException {
-        Boolean toExit = false;
-        while (!toExit) {
+        runCommands(ui, parser);
+    }
+
+    /**
+     * Runs the commands of one front-desk terminal, read from and printed to a Ui of its own,
+     * exactly as {@link #run()} does, against the inventory shared by every terminal. Each terminal
+     * has a Parser of its own, so that undo and redo only apply to the commands typed in there.
+     * Halts when a command issues an exit code of true, or when the terminal disconnects.
+     *
+     * @param sessionUi the Ui bound to the connection of the terminal.
+     * @throws ParseException if input is un-parsable.
+     */
+    public void runSession(Ui sessionUi) throws ParseException {
+        sessionUi.setBuffered(true);
+        runCommands(sessionUi, new Parser(sessionUi, resources));
+    }
+
+    private void runCommands(Ui commandUi, Parser commandParser) throws ParseException {
+        boolean toExit = false;
+        while (!toExit && commandUi.hasInput()) {
             try {
-                Command c = parser.parseInput(ui.getInput());
-                c.execute(ui, storage, resources);
-                parser.setPrevCommand(c);
+                Command c = commandParser.parseInput(commandUi.getInput());
+                try {
+                    c.execute(commandUi, storage, resources);
+                } finally {
+                    commandUi.flush();
+                    storage.commit(resources.getResources());
+                    commandParser.setPrevCommand(c);
+                }
                 toExit = c.getExitCode();
             } catch (RimsException e) {
+                commandUi.flush();
+                e.displayError(commandUi.getOutput());
+            }
+        }
+    }
+
+    /**
+     * Runs every command in a script, one line at a time, without waiting for the user. Any line
+     * a command asks for, such as the IDs of the reservations to return, is read from the script too.
+     * A command that fails is reported, and the script carries on with the next line.
+     * Once the script is done, or if it cannot be run to the end, input is read as before again.
+     *
+     * <p>Unlike in {@link #run()}, the changes made by the commands are not committed to the journal
+     * one command at a time. They are committed together once the script is done, or after every
+     * given number of commands, so that only the commands up to the last commit are kept should
+     * RIMS be stopped partway. A summary of how long each kind of command took is printed at the end.
+     *
+     * @param scriptFilePath     the file path of the script, which has one command on each line.
+     * @param checkpointInterval the number of commands after which changes are committed,
+     *                           or 0 to commit only once the script is done.
+     * @throws RimsException  if the script cannot be read, or the changes cannot be committed.
+     * @throws ParseException if input is un-parsable.
+     */
+    public void runScript(String scriptFilePath, int checkpointInterval) throws RimsException, ParseException {
+        if (checkpointInterval < NO_CHECKPOINTS) {
+            throw new RimsException("The number of commands between checkpoints cannot be negative!");
+        }
+        Scanner consoleInput = ui.getInputScanner();
+        try (Scanner script = openScript(scriptFilePath)) {
+            ui.setInput(script);
+            runScriptCommands(checkpointInterval);
+        } finally {
+            ui.setInput(consoleInput);
+        }
+    }
+
+    /**
+     * Opens a script of commands for reading.
+     *
+     * @param scriptFilePath the file path of the script.
+     * @return a Scanner over the script, which the caller must close.
+     * @throws RimsException if the script cannot be read.
+     */
+    private Scanner openScript(String scriptFilePath) throws RimsException {
+        try {
+            return new Scanner(new File(scriptFilePath));
+        } catch (FileNotFoundException e) {
+            throw new RimsException("Unable to read the script " + scriptFilePath + "!");
+        }
+    }
+
+    /**
+     * Runs every command left in the input of the Ui, then commits the changes and prints how long
+     * each kind of command took.
+     *
+     * @param checkpointInterval the number of commands after which changes are committed,
+     *                           or 0 to commit only once the input is exhausted.
+     * @throws RimsException  if the changes cannot be committed.
+     * @throws ParseException if input is un-parsable.
+     */
+    private void runScriptCommands(int checkpointInterval) throws RimsException, ParseException {
+        CommandTimings timings = new CommandTimings();
+        int commandsSinceCheckpoint = 0;
+        boolean toExit = false;
+        while (!toExit && ui.hasInput()) {
+            String input = ui.getInput().trim();
+            if (input.isEmpty()) {
+                continue;
+            }
+            long startTime = System.nanoTime();
+            boolean isSuccessful = false;
+            try {
+                Command c = parser.parseInput(input);
+                try {
+                    c.execute(ui, storage, resources);
+                } finally {
+                    ui.flush();
+                    parser.setPrevCommand(c);
+                    commandsSinceCheckpoint++;
+                }
+                toExit = c.getExitCode();
+                isSuccessful = true;
+                if (checkpointInterval != NO_CHECKPOINTS && commandsSinceCheckpoint >= checkpointInterval) {
+                    commandsSinceCheckpoint = 0;
+                    storage.commit(resources.getResources());
+                }
+            } catch (RimsException e) {
+                ui.flush();
                 e.displayError();
             }
+            timings.record(new TokenizedInput(input).get(0), System.nanoTime() - startTime, isSuccessful);
+        }
+        storage.commit(resources.getResources());
+        ui.formattedPrintArray(timings.getSummary());
+        ui.flush();
+    }
+
+    /**
+     * Starts serving front-desk terminals over TCP, on the given port of the loopback address.
+     * Every terminal runs its own commands against the inventory of this instance of RIMS, and
+     * any session that fails is reported on the console.
+     *
+     * @param port the port to listen on, or 0 for any free port.
+     * @return the RimsServer, which serves terminals until it is closed.
+     * @throws RimsException if the port cannot be listened on.
+     */
+    public RimsServer startServer(int port) throws RimsException {
+        RimsServer server = new RimsServer(this, ui, port);
+        ui.formattedPrint("RIMS is now serving front-desk terminals on port " + server.getPort() + "!");
+        ui.flush();
+        server.start();
+        return server;
+    }
+
+    /**
+     * Sets the number of threads on which read-only reports, such as stats, date listings and
+     * deadlines, are computed. With one thread, they are computed on the thread that runs RIMS.
+     *
+     * @param threads the number of threads for read-only reports.
+     * @throws RimsException if the number of threads is less than one.
+     */
+    public void setQueryThreads(int threads) throws RimsException {
+        if (threads < QueryExecutor.SEQUENTIAL) {
+            throw new RimsException("The number of query threads must be at least 1!");
+        }
+        resources.getQueryExecutor().shutdown();
+        resources.setQueryExecutor(new QueryExecutor(threads));
+    }
+
+    /**
+     * Returns the TagList of the running instance of RIMS.
+     *
+     * @return the TagList shared by every command.
+     */
+    public static TagList getTags() {
+        return tags;
+    }
+
+    /**
+     * Sets the TagList shared by every command.
+     *
+     * @param newTags the TagList read from the data files.
+     */
+    public static void setTags(TagList newTags) {
+        tags = newTags;
+    }
+
+    /**
+     * Reads the value given after an option in the command-line arguments, or returns null
+     * if the option is not given.
+     */
+    private static String getArgument(String[] args, String option, String error) throws RimsException {
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].equals(option)) {
+                continue;
+            }
+            if (i + 1 == args.length) {
+                throw new RimsException(error);
+            }
+            return args[i + 1];
+        }
+        return null;
+    }
+
+    /**
+     * Reads the integer given after an option in the command-line arguments, or returns the
+     * given default value if the option is not given.
+     */
+    private static int getIntArgument(String[] args, String option, int defaultValue, String error)
+            throws RimsException {
+        String argument = getArgument(args, option, error);
+        if (argument == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(argument);
+        } catch (NumberFormatException e) {
+            throw new RimsException(error);
         }
     }
 
     //@@author rabhijit
     /**
      * The main method that calls the RIMS constructor and sets the ball rolling.
+     * Read-only reports are computed on as many threads as given by --threads [ number ].
+     * With --script [ file path ], the commands in that file are run instead of those typed in,
+     * and their changes are committed after every --checkpoint [ number ] commands, or at the end.
+     * With --serve, front-desk terminals connect over TCP instead, on --port [ number ] if given.
      * @throws FileNotFoundException if file path does not exist
      * @throws ParseException if any input is un-parsable
      * @throws IOException if there is an error in reading input or printing output
      * @throws RimsException if the input has no meaning or does not follow our format
+     * @throws InterruptedException if interrupted while serving terminals
      */
-    public static void main(String[] args) throws FileNotFoundException, ParseException, IOException, RimsException {
-        new Rims("data/resources.txt", "data/reserves.txt", "data/tags.txt").run();
+    public static void main(String[] args)
+            throws FileNotFoundException, ParseException, IOException, RimsException, InterruptedException {
+        Rims rims = new Rims("data/resources.txt", "data/reserves.txt", "data/tags.txt");
+        rims.setQueryThreads(getIntArgument(args, "--threads", QueryExecutor.SEQUENTIAL,
+                "Please specify the number of query threads after --threads!"));
+        String scriptFilePath = getArgument(args, "--script",
+                "Please specify the file path of the script after --script!");
+        if (Arrays.asList(args).contains("--serve")) {
+            rims.startServer(getIntArgument(args, "--port", RimsServer.DEFAULT_PORT,
+                    "Please specify the port to serve terminals on after --port!")).awaitClose();
+        } else if (scriptFilePath == null) {
+            rims.run();
+        } else {
+            rims.runScript(scriptFilePath, getIntArgument(args, "--checkpoint", NO_CHECKPOINTS,
+                    "Please specify the number of commands between checkpoints after --checkpoint!"));
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,197 @@
+package rims.core;
+
+import rims.exception.RimsException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+
+import java.lang.reflect.Method;
+
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+import java.nio.charset.StandardCharsets;
+
+import java.text.ParseException;
+
+import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Lets many front-desk terminals share one inventory over TCP. The server listens on the
+ * loopback address only, and every terminal that connects is served in a session of its own,
+ * with a Ui bound to its connection, running the commands it sends one line at a time
+ * against the ResourceList shared by every session.
+ *
+ * <p>Each session runs on a virtual thread where the Java runtime has them, so that thousands
+ * of idle terminals cost little more than their sockets. On older runtimes, each session runs
+ * on a thread from a cached pool instead.
+ */
+public class RimsServer implements Closeable {
+    public static final int DEFAULT_PORT = 4100;
+
+    protected Rims rims;
+    protected Ui serverUi;
+    protected ServerSocket serverSocket;
+    protected ExecutorService sessions;
+    protected Set<Socket> clients = ConcurrentHashMap.newKeySet();
+    protected Thread acceptor = null;
+
+    /**
+     * Constructor for a RimsServer, which listens on the given port of the loopback address.
+     * Terminals are only served once the server is started.
+     *
+     * @param rims     the instance of RIMS whose inventory is shared by every terminal.
+     * @param serverUi the Ui of the server console, on which sessions that fail are reported.
+     * @param port     the port to listen on, or 0 for any free port.
+     * @throws RimsException if the port cannot be listened on.
+     */
+    public RimsServer(Rims rims, Ui serverUi, int port) throws RimsException {
+        this.rims = rims;
+        this.serverUi = serverUi;
+        try {
+            this.serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            throw new RimsException("Unable to listen for terminals on port " + port + "!");
+        }
+        this.sessions = newSessionExecutor();
+    }
+
+    /**
+     * Returns an executor that runs each task on a new virtual thread, if the Java runtime has
+     * them, or else on a thread from a cached pool of daemon threads.
+     */
+    protected static ExecutorService newSessionExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread sessionThread = new Thread(runnable, "rims-session");
+                sessionThread.setDaemon(true);
+                return sessionThread;
+            });
+        }
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     *
+     * @return the port number.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Returns the number of terminals currently connected.
+     *
+     * @return the number of open sessions.
+     */
+    public int getNumberOfClients() {
+        return clients.size();
+    }
+
+    /**
+     * Starts accepting terminals in the background.
+     */
+    public synchronized void start() {
+        if (acceptor != null) {
+            return;
+        }
+        acceptor = new Thread(this::acceptClients, "rims-server");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Waits until the server is closed.
+     *
+     * @throws InterruptedException if the waiting thread is interrupted.
+     */
+    public void awaitClose() throws InterruptedException {
+        Thread thisAcceptor;
+        synchronized (this) {
+            thisAcceptor = acceptor;
+        }
+        if (thisAcceptor != null) {
+            thisAcceptor.join();
+        }
+    }
+
+    private void acceptClients() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket client = serverSocket.accept();
+                clients.add(client);
+                sessions.execute(() -> serve(client));
+            } catch (IOException e) {
+                // the server socket has been closed
+            }
+        }
+    }
+
+    /**
+     * Runs the session of one terminal until it exits or disconnects, and then closes its connection.
+     * A session that fails is reported both on the terminal and on the server console before it is closed.
+     */
+    protected void serve(Socket client) {
+        Ui sessionUi = null;
+        try {
+            Scanner input = new Scanner(client.getInputStream(), StandardCharsets.UTF_8.name());
+            PrintStream output = new PrintStream(client.getOutputStream(), false, StandardCharsets.UTF_8.name());
+            sessionUi = new Ui(input, output);
+            rims.runSession(sessionUi);
+        } catch (IOException e) {
+            // the terminal has disconnected
+        } catch (ParseException | RuntimeException e) {
+            reportFailedSession(client, sessionUi, e);
+        } finally {
+            clients.remove(client);
+            closeQuietly(client);
+        }
+    }
+
+    /**
+     * Tells the terminal that its session has ended because of an error, and prints the error,
+     * together with where it was thrown, on the server console.
+     */
+    private void reportFailedSession(Socket client, Ui sessionUi, Exception e) {
+        if (sessionUi != null) {
+            sessionUi.formattedPrint("ERROR: Something went wrong, so this session has been closed! "
+                    + "Please connect again.");
+            sessionUi.flush();
+        }
+        synchronized (serverUi) {
+            serverUi.formattedPrint("The session of the terminal at " + client.getRemoteSocketAddress()
+                    + " has ended because of an error: " + e);
+            serverUi.flush();
+            e.printStackTrace(serverUi.getOutput());
+        }
+    }
+
+    /**
+     * Stops accepting terminals, and disconnects every terminal still connected.
+     */
+    @Override
+    public void close() {
+        closeQuietly(serverSocket);
+        for (Socket client : clients) {
+            closeQuietly(client);
+        }
+        sessions.shutdown();
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // already closed
+        }
+    }
+}
@@ -4,16 +4,28 @@ import rims.resource.*;
 
 import rims.exception.RimsException;
 
+import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
 import java.text.ParseException;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Scanner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 
 //@@author rabhijit
@@ -24,13 +36,36 @@ import java.util.Scanner;
  * <p>Format of data files:
  * Resource.txt: [ resource id ] [ type ] [ name ]
  * Reserve.txt: [ reservation id ] [ resource id ] [ user id ] [ date from ] [ date until ]
+ *
+ * <p>The data files hold a snapshot of the inventory. Changes made since the snapshot are appended
+ * to a Journal instead of rewriting the data files, and are replayed on top of the snapshot when
+ * it is loaded. Once enough changes have been journaled, they are folded into a new snapshot in the background.
+ *
+ * <p>The snapshot is kept either in the text data files above, or in a BinarySnapshot file next to them,
+ * as chosen when the Storage is created. The text data files remain the format for importing and
+ * exporting data: a binary Storage with no snapshot file yet is loaded from the text data files.
  */
 public class Storage {
+    public static final int COMPACTION_THRESHOLD = 1000;
+
+    /**
+     * The format in which the snapshot of Resources and Reservations is kept.
+     */
+    public enum Format {
+        TEXT, BINARY
+    }
+
     protected ArrayList<Resource> resources = new ArrayList<Resource>();
     protected ArrayList<Tag> tags = new ArrayList<>();
     protected File resourceFile;
     protected File reservationFile;
     protected File tagFile;
+    protected File snapshotFile;
+    protected Format format;
+    protected HashMap<Integer, ArrayList<Reservation>> reservationIndex;
+    protected Journal journal;
+    protected ExecutorService compactor;
+    protected Future<?> compaction;
 
     /**
      * Constructor for the Storage class. Accesses the resource file path
@@ -41,6 +76,20 @@ public class Storage {
      * @throws RimsException when a new file cannot be created with the given path for resource and reservations.
      */
     public Storage(String resourceFile, String reserveFile, String tagFile) throws RimsException {
+        this(resourceFile, reserveFile, tagFile, Format.TEXT);
+    }
+
+    /**
+     * Constructor for the Storage class, keeping the snapshot of Resources and Reservations in the given
+     * format. A binary snapshot is kept in snapshot.bin, in the same directory as the resource file.
+     * @param resourceFile the file path where the text version of Resources are stored.
+     * @param reserveFile the file path where the text version of Reservations are stored.
+     * @param tagFile the file path where the text version of Tags are stored.
+     * @param format the format of the snapshot.
+     * @throws RimsException when a new file cannot be created with the given path for resource and reservations.
+     */
+    public Storage(String resourceFile, String reserveFile, String tagFile, Format format) throws RimsException {
+        this.format = format;
         this.resourceFile = new File(resourceFile);
         this.reservationFile = new File(reserveFile);
         this.tagFile = new File(tagFile);
@@ -54,26 +103,79 @@ public class Storage {
         } catch (IOException e) {
             throw new RimsException("Cannot create a new file!");
         }
+        this.snapshotFile = new File(this.resourceFile.getAbsoluteFile().getParentFile(), "snapshot.bin");
+        this.journal = new Journal(this.resourceFile.getAbsoluteFile().getParentFile());
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread compactionThread = new Thread(runnable, "rims-compaction");
+            compactionThread.setDaemon(true);
+            return compactionThread;
+        });
         readResourceFile();
         readTagFile();
     }
 
+    /**
+     * Loads the latest snapshot of Resources and Reservations from the data files, then replays
+     * every change committed to the journal since that snapshot was saved.
+     *
+     * @throws RimsException when the data files or journal cannot be read, or contain an invalid entry.
+     */
+    public void readResourceFile() throws RimsException {
+        awaitCompaction();
+        readSnapshot();
+        replayJournal(journal.readCommittedGroups());
+    }
+
+    /**
+     * Loads the latest snapshot of Resources and Reservations, from the binary snapshot file if one is
+     * kept, and from the text data files otherwise.
+     *
+     * @throws RimsException when the snapshot cannot be read, or contains an invalid entry.
+     */
+    protected void readSnapshot() throws RimsException {
+        if (format == Format.BINARY && snapshotFile.exists()) {
+            readBinarySnapshot();
+        } else {
+            readTextSnapshot();
+        }
+    }
+
+    /**
+     * Loads the Resources and Reservations held in the binary snapshot file.
+     *
+     * @throws RimsException when the snapshot file cannot be read or is invalid.
+     */
+    protected void readBinarySnapshot() throws RimsException {
+        resources.clear();
+        BinarySnapshot snapshot = BinarySnapshot.read(snapshotFile);
+        reservationIndex = snapshot.getGroupedReservations();
+        for (int i = 0; i < snapshot.getResourceCount(); i++) {
+            int resourceId = snapshot.getResourceId(i);
+            if (snapshot.getResourceType(i).equals("I")) {
+                resources.add(new Item(resourceId, snapshot.getResourceName(i), getReservationsOf(resourceId)));
+            } else if (snapshot.getResourceType(i).equals("R")) {
+                resources.add(new Room(resourceId, snapshot.getResourceName(i), getReservationsOf(resourceId)));
+            }
+        }
+    }
+
     /**
      * Obtains the contents of a ResourceList line by line from a text file in a
      * specified file path.
      *
      * <p>Data retrieval:
-     * 1. Open the resource file
-     * 2. Loop through each single entry to fetch [ resource id ] [ type ] [ name ]
-     * 3. For each entry, open reservation file and fetch any reservations under
-     *    this resource_id
-     * 4. Create a new resource object using the above data
-     * 5. Add this object to ResourceList object
+     * 1. Stream the reservation file once, grouping every reservation under its resource id
+     * 2. Open the resource file
+     * 3. Loop through each single entry to fetch [ resource id ] [ type ] [ name ]
+     * 4. For each entry, attach the group of reservations found under this resource id
+     * 5. Create a new resource object using the above data
+     * 6. Add this object to ResourceList object
      *
      * @throws RimsException when Scanner cannot detect a valid file or when Resource is missing arguments.
      */
-    public void readResourceFile() throws RimsException {
+    protected void readTextSnapshot() throws RimsException {
         resources.clear();
+        reservationIndex = readReserveFile();
         Scanner fileScanner;
         try {
             fileScanner = new Scanner(resourceFile);
@@ -88,33 +190,207 @@ public class Storage {
                 throw new RimsException("\nResource entry has insufficient information: " + inputString
                         + "\nEither delete the invalid entry or fill in the missing details!");
             }
-            ReservationList reservations = readReserveFile(input[0]);
+            int resourceId = Integer.parseInt(input[0]);
             if (input[1].equals("I")) {
-                Item newItem = new Item(Integer.parseInt(input[0]), input[2], reservations);
+                Item newItem = new Item(resourceId, input[2], getReservationsOf(resourceId));
                 resources.add(newItem);
             } else if (input[1].equals("R")) {
-                Room newRoom = new Room(Integer.parseInt(input[0]), input[2], reservations);
+                Room newRoom = new Room(resourceId, input[2], getReservationsOf(resourceId));
                 resources.add(newRoom);
             }
         }
+        fileScanner.close();
     }
 
     /**
-     * Obtains the contents of a ResourceList line by line from a text file in a
+     * Applies committed groups of journal records, in order, on top of the loaded snapshot.
+     * Every record sets the final state of the resource or reservation it names, so a group
+     * that is already part of the snapshot can be replayed again without changing the result.
+     *
+     * @param groups the committed groups of journal records to be replayed.
+     * @throws RimsException if a journal record is invalid.
+     */
+    protected void replayJournal(ArrayList<ArrayList<String>> groups) throws RimsException {
+        if (groups.isEmpty()) {
+            return;
+        }
+        LinkedHashMap<Integer, Resource> resourcesById = new LinkedHashMap<Integer, Resource>();
+        for (int i = 0; i < resources.size(); i++) {
+            resourcesById.put(resources.get(i).getResourceId(), resources.get(i));
+        }
+        for (int i = 0; i < groups.size(); i++) {
+            ArrayList<String> group = groups.get(i);
+            for (int j = 0; j < group.size(); j++) {
+                replayRecord(group.get(j), resourcesById);
+            }
+        }
+        resources.clear();
+        resources.addAll(resourcesById.values());
+    }
+
+    private void replayRecord(String record, LinkedHashMap<Integer, Resource> resourcesById) throws RimsException {
+        String[] input = record.split(",", 4);
+        try {
+            if (input[0].equals("ADD") && input.length == 4) {
+                int resourceId = Integer.parseInt(input[1]);
+                if (input[2].equals("I")) {
+                    resourcesById.put(resourceId, new Item(resourceId, input[3]));
+                } else if (input[2].equals("R")) {
+                    resourcesById.put(resourceId, new Room(resourceId, input[3]));
+                }
+            } else if (input[0].equals("DELETE") && input.length == 2) {
+                resourcesById.remove(Integer.parseInt(input[1]));
+            } else if (input[0].equals("BOOK")) {
+                String[] line = record.substring(record.indexOf(',') + 1).split(",");
+                if (line.length < 5) {
+                    throw new RimsException("\nJournal entry has insufficient information: " + record);
+                }
+                Resource thisResource = resourcesById.get(Integer.parseInt(line[1]));
+                int reservationId = Integer.parseInt(line[0]);
+                if (thisResource != null && !hasReservation(thisResource, reservationId)) {
+                    thisResource.getReservations().add(new Reservation(reservationId,
+                        Integer.parseInt(line[1]), Integer.parseInt(line[2]), line[3], line[4]));
+                }
+            } else if (input[0].equals("CANCEL") && input.length == 3) {
+                Resource thisResource = resourcesById.get(Integer.parseInt(input[1]));
+                int reservationId = Integer.parseInt(input[2]);
+                if (thisResource != null && hasReservation(thisResource, reservationId)) {
+                    thisResource.getReservations().cancelReservationById(reservationId);
+                }
+            } else {
+                throw new RimsException("\nJournal entry is invalid: " + record);
+            }
+        } catch (NumberFormatException e) {
+            throw new RimsException("\nJournal entry is invalid: " + record);
+        }
+    }
+
+    private boolean hasReservation(Resource thisResource, int reservationId) {
+        try {
+            thisResource.getReservations().getReservationById(reservationId);
+            return true;
+        } catch (RimsException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Journals the addition of a new Resource. The record is written when the command commits.
+     * @param thisResource the Resource that has been added.
+     */
+    public void logAddResource(Resource thisResource) {
+        journal.append("ADD," + thisResource.toDataFormat());
+    }
+
+    /**
+     * Journals the deletion of a Resource, together with all of its Reservations.
+     * @param thisResource the Resource that has been deleted.
+     */
+    public void logDeleteResource(Resource thisResource) {
+        journal.append("DELETE," + thisResource.getResourceId());
+    }
+
+    /**
+     * Journals the creation of a new Reservation.
+     * @param thisReservation the Reservation that has been created.
+     */
+    public void logCreateReservation(Reservation thisReservation) {
+        journal.append("BOOK," + thisReservation.toDataFormat());
+    }
+
+    /**
+     * Journals the cancellation of a Reservation.
+     * @param thisReservation the Reservation that has been cancelled.
+     */
+    public void logCancelReservation(Reservation thisReservation) {
+        journal.append("CANCEL," + thisReservation.getResourceId() + "," + thisReservation.getReservationId());
+    }
+
+    /**
+     * Commits the changes journaled by the last command to disk as a single group. Once enough
+     * changes have built up in the journal, starts folding them into a new snapshot.
+     *
+     * @param resources the current array of Resources, from which a new snapshot would be taken.
+     * @throws RimsException if the journal or the data files cannot be written to.
+     */
+    public synchronized void commit(ArrayList<Resource> resources) throws RimsException {
+        journal.commit();
+        if (journal.getCommittedRecordCount() >= COMPACTION_THRESHOLD) {
+            compact(resources);
+        }
+    }
+
+    /**
+     * Folds the journal into a new snapshot. The contents of the Resources are captured straight
+     * away, while the data files are rewritten in the background; until then, the rotated journal
+     * still holds every change and is replayed if RIMS is restarted.
+     *
+     * @param resources the current array of Resources.
+     * @throws RimsException if the journal cannot be rotated.
+     */
+    protected void compact(ArrayList<Resource> resources) throws RimsException {
+        awaitCompaction();
+        SnapshotWriter snapshot = captureSnapshot(resources);
+        journal.rotate();
+        compaction = compactor.submit(() -> {
+            snapshot.write();
+            journal.discardCompacted();
+            return null;
+        });
+    }
+
+    /**
+     * Waits for a snapshot being written in the background to be completed, even if the waiting
+     * thread is interrupted, as the journal must not be rotated again before then. If the snapshot
+     * could not be written, the rotated journal is kept, so no change is lost, and the next
+     * compaction folds it into its own snapshot.
+     *
+     * @throws RimsException if the snapshot could not be written.
+     */
+    protected void awaitCompaction() throws RimsException {
+        if (compaction == null) {
+            return;
+        }
+        boolean isInterrupted = false;
+        try {
+            while (true) {
+                try {
+                    compaction.get();
+                    return;
+                } catch (InterruptedException e) {
+                    isInterrupted = true;
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new RimsException("Unable to save a snapshot of the data files! "
+                    + "Your changes are still kept in the journal.");
+        } finally {
+            compaction = null;
+            if (isInterrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Obtains the contents of a TagList line by line from a text file in a
      * specified file path.
      *
      * <p>Data retrieval:
-     * 1. Open the resource file
-     * 2. Loop through each single entry to fetch [ resource id ] [ type ] [ name ]
-     * 3. For each entry, open reservation file and fetch any reservations under
-     *    this resource_id
-     * 4. Create a new resource object using the above data
-     * 5. Add this object to ResourceList object
+     * 1. Open the tag file
+     * 2. Loop through each single entry to fetch [ resource id ] [ type ] [ name ] [ tag ]
+     * 3. For each entry, attach the reservations grouped under this resource id by the
+     *    last call to readResourceFile(), streaming the reservation file once if it has not been read yet
+     * 4. Create a new tag object using the above data
+     * 5. Add this object to TagList object
      *
      * @throws RimsException when Scanner cannot detect a valid file or when Resource is missing arguments.
      */
     public void readTagFile() throws RimsException {
         tags.clear();
+        if (reservationIndex == null) {
+            reservationIndex = readReserveFile();
+        }
         Scanner fileScanner;
         try {
             fileScanner = new Scanner(tagFile);
@@ -129,94 +405,100 @@ public class Storage {
                 throw new RimsException("\nResource entry has insufficient information: " + inputString
                         + "\nEither delete the invalid entry or fill in the missing details!");
             }
-            ReservationList reservations = readReserveFile(input[0]);
+            int resourceId = Integer.parseInt(input[0]);
             if (input[1].equals("I")) {
-                Tag newTag = new Tag(Integer.parseInt(input[0]), input[2], reservations, input[3], input[1]);
+                Tag newTag = new Tag(resourceId, input[2], getReservationsOf(resourceId), input[3], input[1]);
                 tags.add(newTag);
             } else if (input[1].equals("R")) {
-                Tag newTag = new Tag(Integer.parseInt(input[0]), input[2], reservations, input[3], input[1]);
+                Tag newTag = new Tag(resourceId, input[2], getReservationsOf(resourceId), input[3], input[1]);
                 tags.add(newTag);
             }
         }
+        fileScanner.close();
     }
 
+    /**
+     * Returns a new ReservationList holding the reservations grouped under a resource id by the
+     * last pass over the reservation file. Every caller receives its own list, so that a Resource
+     * and a Tag of the same resource id never share one.
+     *
+     * @param resourceId the id of the resource whose reservations are to be obtained.
+     * @return a new list of the reservations made for that resource, which may be empty.
+     */
+    protected ReservationList getReservationsOf(int resourceId) {
+        ArrayList<Reservation> group = reservationIndex.get(resourceId);
+        if (group == null) {
+            return new ReservationList();
+        }
+        return new ReservationList(new ArrayList<Reservation>(group));
+    }
 
     //@@author isbobby
     /**
-     * Obtains the contents of a ResourceList line by line from a text file in a
-     * specified file path.
+     * Streams the reservation file exactly once, grouping every reservation under the
+     * resource id it was made for.
      *
+     * @return a map from each resource id to the reservations made for it, in file order.
      * @throws RimsException when specified file path does not lead to a valid file type,
      *                       and when unable to parse an integer for ID, 
      *                       or checking if a resource is booked.
      */
-    public ReservationList readReserveFile(String resourceId) throws RimsException {
-        Scanner fileScanner;
-        try {
-            fileScanner = new Scanner(reservationFile);
-        } catch (FileNotFoundException e1) {
-            if (resourceFile.isDirectory()) {
+    public HashMap<Integer, ArrayList<Reservation>> readReserveFile() throws RimsException {
+        HashMap<Integer, ArrayList<Reservation>> groupedReservations = new HashMap<Integer, ArrayList<Reservation>>();
+        try (BufferedReader fileReader = new BufferedReader(new FileReader(reservationFile))) {
+            String inputString;
+            while ((inputString = fileReader.readLine()) != null) {
+                String[] line = inputString.split(",");
+                if (line.length < 5) {
+                    throw new RimsException("\nReservation/loan entry has insufficient information: " + inputString
+                            + "\nEither delete the invalid entry or fill in the missing details!");
+                }
+                Reservation newReservation = new Reservation(Integer.parseInt(line[0]),
+                    Integer.parseInt(line[1]), Integer.parseInt(line[2]), line[3], line[4]);
+                ArrayList<Reservation> group = groupedReservations.get(newReservation.getResourceId());
+                if (group == null) {
+                    group = new ArrayList<Reservation>();
+                    groupedReservations.put(newReservation.getResourceId(), group);
+                }
+                group.add(newReservation);
+            }
+        } catch (IOException e) {
+            if (reservationFile.isDirectory()) {
                 throw new RimsException("File is a directory!");
-            } else if (!resourceFile.exists()) {
+            } else if (!reservationFile.exists()) {
                 throw new RimsException("File does not exist!");
             } else {
                 throw new RimsException("File cannot be opened for some reason!");
             }
         }
-        ReservationList resourceReservations = new ReservationList();
-        while (fileScanner.hasNextLine()) {
-            String inputString = fileScanner.nextLine();
-            String[] line = inputString.split(",");
-            if (line.length < 5) {
-                throw new RimsException("\nReservation/loan entry has insufficient information: " + inputString
-                        + "\nEither delete the invalid entry or fill in the missing details!");
-            }
-            if (line[1].equals(resourceId)) {
-                Reservation newReservation = new Reservation(Integer.parseInt(line[0]),
-                    Integer.parseInt(line[1]), Integer.parseInt(line[2]), line[3], line[4]);
-                resourceReservations.add(newReservation);
-            }
-        }
-        return resourceReservations;
+        return groupedReservations;
+    }
+
+    /**
+     * Obtains the reservations made for a single resource from the reservation file.
+     *
+     * @param resourceId the id of the resource whose reservations are to be obtained.
+     * @return the list of reservations made for that resource.
+     * @throws RimsException when the reservation file cannot be read or contains an invalid entry.
+     */
+    public ReservationList readReserveFile(String resourceId) throws RimsException {
+        reservationIndex = readReserveFile();
+        return getReservationsOf(Integer.parseInt(resourceId));
     }
 
     //@@author rabhijit
     /**
-     * Put contents of a ResourceList into a text file for future reference.
+     * Put contents of a ResourceList into a text file for future reference. As this snapshot
+     * holds every change made so far, the journal is cleared once it has been saved.
      *
      * @param resources ResourceList to put contents into text file.
      * @throws RimsException when file given is directory, or file does not exist and
      *                     cannot be created.
      */
-    public void saveToFile(ArrayList<Resource> resources) throws RimsException {
-        BufferedWriter resourceFileWriter;
-        BufferedWriter reservationFileWriter;
-        //BufferedWriter tagFileWriter;
+    public synchronized void saveToFile(ArrayList<Resource> resources) throws RimsException {
+        awaitCompaction();
         try {
-            resourceFileWriter = new BufferedWriter(new FileWriter(resourceFile, false));
-            reservationFileWriter = new BufferedWriter(new FileWriter(reservationFile, false));
-           // tagFileWriter = new BufferedWriter(new FileWriter(tagFile, false));
-            String reservationLine;
-            for (int i = 0; i < resources.size(); i++) {
-                Resource thisResource = resources.get(i);
-                resourceFileWriter.write(thisResource.toDataFormat());
-                resourceFileWriter.newLine();
-
-                ReservationList thisReservationList = thisResource.getReservations();
-                for (int j = 0; j < thisReservationList.size(); j++) {
-                    reservationLine = thisReservationList.getReservationByIndex(j).toDataFormat();
-                    reservationFileWriter.write(reservationLine);
-                    reservationFileWriter.newLine();
-                }
-            }
-//            for(int i = 0; i < tags.size(); i++){
-//                Tag thisTag = tags.get(i);
-//                tagFileWriter.write(thisTag.toDataFormatTag());
-//                tagFileWriter.newLine();
-//            }
-            resourceFileWriter.close();
-            reservationFileWriter.close();
-           // tagFileWriter.close();
+            captureSnapshot(resources).write();
         } catch (IOException e) {
             if (resourceFile.isDirectory()) {
                 throw new RimsException("File is a directory!");
@@ -226,6 +508,83 @@ public class Storage {
                 throw new RimsException("File cannot be opened for some reason!");
             }
         }
+        journal.clear();
+    }
+
+    /**
+     * Writes the text data files, regardless of the format of the snapshot, so that the data can be
+     * exported or read by a text Storage. The journal is left untouched.
+     *
+     * @param resources the current array of Resources.
+     * @throws RimsException when the data files cannot be written to.
+     */
+    public synchronized void exportToText(ArrayList<Resource> resources) throws RimsException {
+        ArrayList<String> resourceLines = new ArrayList<String>();
+        ArrayList<String> reservationLines = new ArrayList<String>();
+        captureLines(resources, resourceLines, reservationLines);
+        try {
+            writeSnapshot(resourceLines, reservationLines);
+        } catch (IOException e) {
+            throw new RimsException("Unable to export to " + resourceFile.toString() + "!");
+        }
+    }
+
+    /**
+     * Writes a snapshot that has been captured, in the format of this Storage.
+     */
+    private interface SnapshotWriter {
+        void write() throws IOException;
+    }
+
+    /**
+     * Captures the contents of the Resources straight away, to be written as a snapshot later.
+     */
+    private SnapshotWriter captureSnapshot(ArrayList<Resource> resources) {
+        if (format == Format.BINARY) {
+            BinarySnapshot snapshot = BinarySnapshot.capture(resources);
+            return () -> snapshot.write(snapshotFile);
+        }
+        ArrayList<String> resourceLines = new ArrayList<String>();
+        ArrayList<String> reservationLines = new ArrayList<String>();
+        captureLines(resources, resourceLines, reservationLines);
+        return () -> writeSnapshot(resourceLines, reservationLines);
+    }
+
+    private void captureLines(ArrayList<Resource> resources, ArrayList<String> resourceLines,
+            ArrayList<String> reservationLines) {
+        for (int i = 0; i < resources.size(); i++) {
+            Resource thisResource = resources.get(i);
+            resourceLines.add(thisResource.toDataFormat());
+            for (Reservation thisReservation : thisResource.getReservations().getReservationList()) {
+                reservationLines.add(thisReservation.toDataFormat());
+            }
+        }
+    }
+
+    /**
+     * Writes a snapshot to the data files. Each file is written in full to a temporary file first,
+     * which then replaces the data file, so that a crash never leaves a half-written data file behind.
+     */
+    private void writeSnapshot(ArrayList<String> resourceLines, ArrayList<String> reservationLines)
+            throws IOException {
+        writeLines(resourceFile, resourceLines);
+        writeLines(reservationFile, reservationLines);
+    }
+
+    private void writeLines(File file, ArrayList<String> lines) throws IOException {
+        File tempFile = new File(file.getPath() + ".tmp");
+        BufferedWriter fileWriter = new BufferedWriter(new FileWriter(tempFile, false));
+        for (int i = 0; i < lines.size(); i++) {
+            fileWriter.write(lines.get(i));
+            fileWriter.newLine();
+        }
+        fileWriter.close();
+        try {
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
     }
 
     /**
@@ -235,7 +594,7 @@ public class Storage {
      * @throws RimsException when file given is directory, or file does not exist and
      *                     cannot be created.
      */
-    public void saveToFileTags(ArrayList<Tag> tags) throws RimsException, IOException {
+    public synchronized void saveToFileTags(ArrayList<Tag> tags) throws RimsException, IOException {
 
         BufferedWriter tagFileWriter;
         tagFileWriter = new BufferedWriter(new FileWriter(tagFile, false));
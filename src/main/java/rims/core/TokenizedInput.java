@@ -0,0 +1,101 @@
+package rims.core;
+
+import java.util.Arrays;
+
+/**
+ * A line of input from the user, split into its words in a single pass. The position of each
+ * word within the line is kept, so that parsers can take the rest of the line after a word,
+ * such as a name containing spaces, without searching or splitting the line again.
+ *
+ * <p>Words are separated by one or more spaces, and no word is empty.
+ */
+public class TokenizedInput {
+    private final String input;
+    private String[] words;
+    private int[] offsets;
+    private int size;
+
+    /**
+     * Constructor for a TokenizedInput, which splits the given input into its words.
+     *
+     * @param input the input obtained from the user by the Ui, with any surrounding whitespace removed.
+     */
+    public TokenizedInput(String input) {
+        this.input = input;
+        this.words = new String[8];
+        this.offsets = new int[8];
+        int wordStart = -1;
+        for (int i = 0; i <= input.length(); i++) {
+            boolean isSpace = i == input.length() || input.charAt(i) == ' ';
+            if (isSpace && wordStart != -1) {
+                addWord(wordStart, i);
+                wordStart = -1;
+            } else if (!isSpace && wordStart == -1) {
+                wordStart = i;
+            }
+        }
+    }
+
+    private void addWord(int from, int till) {
+        if (size == words.length) {
+            words = Arrays.copyOf(words, size * 2);
+            offsets = Arrays.copyOf(offsets, size * 2);
+        }
+        words[size] = input.substring(from, till);
+        offsets[size] = from;
+        size++;
+    }
+
+    /**
+     * Returns the whole line of input.
+     *
+     * @return the input that was split into words.
+     */
+    public String getInput() {
+        return input;
+    }
+
+    /**
+     * Returns the number of words in the input.
+     *
+     * @return the number of words.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a word of the input.
+     *
+     * @param index the position of the word, starting from 0.
+     * @return the word at that position.
+     */
+    public String get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return words[index];
+    }
+
+    /**
+     * Returns the last word of the input.
+     *
+     * @return the last word, or an empty String if there are no words.
+     */
+    public String getLast() {
+        return size == 0 ? "" : words[size - 1];
+    }
+
+    /**
+     * Returns the position within the input at which a word starts.
+     *
+     * @param index the position of the word, starting from 0.
+     * @return the index of the first character of that word in the input.
+     */
+    public int getOffset(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return offsets[index];
+    }
+}
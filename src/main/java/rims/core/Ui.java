@@ -1,5 +1,7 @@
 package rims.core;
 
+import java.io.PrintStream;
+
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Scanner;
@@ -17,9 +19,16 @@ import java.util.Scanner;
  * Handles the taking in of input from the user and passes it to the Parser to
  * translate it into usable commands. Also handles printing of messages for the
  * user's reading.
+ *
+ * <p>In buffered mode, printed lines are collected in a reusable buffer and written out
+ * all at once when the buffer is flushed, which happens before any input is read.
+ *
+ * <p>A Ui reads from the console and prints to it, unless it is given other streams, such as
+ * those of a network connection to a front-desk terminal.
  */
 public class Ui {
     protected Scanner inputScanner;
+    protected PrintStream output;
     protected String input;
     protected int intInput;
     protected String arrow = ">> ";
@@ -30,6 +39,8 @@ public class Ui {
     protected String hash = "***************************************************************"
             + "*****************************************************************************";
     protected String tab = "\t";
+    protected boolean isBuffered = false;
+    protected StringBuilder buffer = new StringBuilder();
     protected ArrayList<String> welcomeMsg = new ArrayList<String>(Arrays.asList("Welcome to RIMS, your Resource"
         + " & Inventory Management System.",
         "How can I help you?",
@@ -46,15 +57,28 @@ public class Ui {
             "\t" + "list /item - see all loans and future reservations of a particular item",
             "\t" + "list /room - see all loans and future reservations of a particular room",
             "\t" + "list /date - see all resources available on a particular date",
+            "\t" + "list /page - see one page of all resources and current reservations",
             "deadlines - view all currently active loans and reservations",
             "stats - view loan and reservation statistics",
             "calendar - view a monthly calendar showing all booked resources",
             "\t" + "calendar+ - enlarge the cell size of the calendar",
             "\t" + "calendar- - reduce the cell size of the calendar",
-            "undo - undo the last command that modified inventory data"));
+            "undo - undo the last command that modified inventory data",
+            "redo - redo the last command that was undone"));
 
     public Ui() {
-        inputScanner = new Scanner(System.in);
+        this(new Scanner(System.in), null);
+    }
+
+    /**
+     * Constructor for a Ui that reads input from the given Scanner and prints to the given stream.
+     *
+     * @param inputScanner the Scanner from which input is read.
+     * @param output       the stream to which everything is printed, or null to print to the console.
+     */
+    public Ui(Scanner inputScanner, PrintStream output) {
+        this.inputScanner = inputScanner;
+        this.output = output;
         welcome();
     }
 
@@ -64,8 +88,9 @@ public class Ui {
      * @return the new input typed by the user.
      */
     public String getInput() {
+        flush();
         input = inputScanner.nextLine();
-        System.out.println(arrow + input);
+        printRawLine(arrow + input);
         return input;
     }
 
@@ -78,8 +103,9 @@ public class Ui {
      */
     public String getInput(String question) {
         formattedPrint(question);
+        flush();
         input = inputScanner.nextLine();
-        System.out.println(arrow + input);
+        printRawLine(arrow + input);
         return input;
     }
 
@@ -90,8 +116,9 @@ public class Ui {
      * @return the new integer input typed by the user.
      */
     public int getIntegerInput() {
+        flush();
         intInput = inputScanner.nextInt();
-        System.out.println(arrow + intInput);
+        printRawLine(arrow + intInput);
         return intInput;
     }
 
@@ -103,17 +130,100 @@ public class Ui {
      */
     public int getIntegerInput(String question) {
         formattedPrint(question);
+        flush();
         intInput = inputScanner.nextInt();
-        System.out.println(arrow + intInput);
+        printRawLine(arrow + intInput);
         return intInput;
     }
 
+    /**
+     * Returns the Scanner from which input is currently read.
+     *
+     * @return the Scanner from which input is read.
+     */
+    public Scanner getInputScanner() {
+        return inputScanner;
+    }
+
+    /**
+     * Makes all further input be read from the given Scanner, such as one over a script
+     * of commands, instead of from the user.
+     *
+     * @param inputScanner the Scanner from which input is to be read.
+     */
+    public void setInput(Scanner inputScanner) {
+        this.inputScanner = inputScanner;
+    }
+
+    /**
+     * Checks if there is another line of input to be read.
+     *
+     * @return true if another line of input can be read.
+     */
+    public boolean hasInput() {
+        return inputScanner.hasNextLine();
+    }
+
+    /**
+     * Returns the stream to which everything is printed, such as error messages.
+     *
+     * @return the output stream of this Ui.
+     */
+    public PrintStream getOutput() {
+        if (output == null) {
+            return System.out;
+        }
+        return output;
+    }
+
+    /**
+     * Sets whether printed lines are collected in a buffer until it is flushed, or are
+     * written out straight away. Anything already in the buffer is written out first.
+     *
+     * @param isBuffered true if printed lines should be buffered.
+     */
+    public void setBuffered(boolean isBuffered) {
+        flush();
+        this.isBuffered = isBuffered;
+    }
+
+    /**
+     * Writes out every line in the buffer at once, and empties the buffer for reuse.
+     */
+    public void flush() {
+        if (buffer.length() > 0) {
+            getOutput().print(buffer);
+            buffer.setLength(0);
+        }
+        getOutput().flush();
+    }
+
+    /**
+     * Prints a String as it is, without a tab before it or a new line after it.
+     *
+     * @param output the String to be printed.
+     */
+    public void printInline(String output) {
+        if (isBuffered) {
+            buffer.append(output);
+        } else {
+            getOutput().print(output);
+        }
+    }
+
+    /**
+     * Prints a String as it is, followed by a new line.
+     */
+    private void printRawLine(String output) {
+        printInline(output + System.lineSeparator());
+    }
+
     // @@author rabhijit
     /**
      * Prints a line of underscores.
      */
     public void printLine() {
-        System.out.println(tab + line);
+        printRawLine(tab + line);
     }
 
     // @@author isbobby
@@ -121,7 +231,7 @@ public class Ui {
      * Prints a line of dashes.
      */
     public void printDash() {
-        System.out.println(tab + dash);
+        printRawLine(tab + dash);
     }
 
     // @@author rabhijit
@@ -129,7 +239,7 @@ public class Ui {
      * Prints a desired line for the user to read.
      */
     public void print(String input) {
-        System.out.println(tab + input);
+        printRawLine(tab + input);
     }
 
     /**
@@ -137,7 +247,7 @@ public class Ui {
      */
     public void printArray(ArrayList<String> inputs) {
         for (int i = 0; i < inputs.size(); i++) {
-            System.out.println("\t" + inputs.get(i));
+            printRawLine("\t" + inputs.get(i));
         }
     }
 
@@ -145,7 +255,7 @@ public class Ui {
      * Prints an empty line.
      */
     public void printEmptyLine() {
-        System.out.println();
+        printRawLine("");
     }
 
     /**
@@ -261,7 +371,7 @@ public class Ui {
                 +
                 tab + "                                                         "
                 + "                                           \n";
-        System.out.println(logo);
+        printRawLine(logo);
     }
 
 }
\ No newline at end of file
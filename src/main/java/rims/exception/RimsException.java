@@ -1,5 +1,7 @@
 package rims.exception;
 
+import java.io.PrintStream;
+
 //@@author rabhijit
 /**
  * A custom exception for RIMS, when inputs don't fit the desired format or have
@@ -27,12 +29,22 @@ public class RimsException extends Exception {
      * Prints the error message in the standard RIMS format.
      */
     public void displayError() {
-        System.out.println(tab + hash);
-        System.out.println(tab + "ERROR: " + error);
-        System.out.println(tab + line + "\n");
-        System.out.println(tab + "Please re-type the command with the necessary changes, "
+        displayError(System.out);
+    }
+
+    /**
+     * Prints the error message in the standard RIMS format to the given stream.
+     *
+     * @param output the stream to which the error message is printed.
+     */
+    public void displayError(PrintStream output) {
+        output.println(tab + hash);
+        output.println(tab + "ERROR: " + error);
+        output.println(tab + line + "\n");
+        output.println(tab + "Please re-type the command with the necessary changes, "
                 + "or type in any other command.");
-        System.out.println(tab + hash);
+        output.println(tab + hash);
+        output.flush();
     }
 
     /**
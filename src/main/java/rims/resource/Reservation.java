@@ -1,5 +1,6 @@
 package rims.resource;
 
+import rims.core.DateCodec;
 import rims.exception.RimsException;
 
 import java.util.Calendar;
@@ -8,21 +9,20 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.concurrent.TimeUnit;
 
-import java.text.SimpleDateFormat;
-import java.text.DateFormat;
-import java.text.ParseException;
-
 //@@author isbobby
 /**
  * This class represents an instance of a Reservation. Contains the reservation ID, the resource ID of the Resource
  * that it represents a booking of, and the dates between which this Resource has been booked.
+ *
+ * <p>The dates are stored as epoch milliseconds. Every check against the current time can also be given that
+ * time by the caller, so that a whole command can be evaluated against a single reading of the clock.
  */
 public class Reservation {
     private int reservationId;
     private int userId;
     private int resourceId;
-    private Date dateFrom;
-    private Date dateTill;
+    private long dateFrom;
+    private long dateTill;
 
     /**
      * Constructor for a newly created Reservation.
@@ -34,6 +34,18 @@ public class Reservation {
      */
     public Reservation(int reservationId, int resourceId, int userId,
         Date dateFrom, Date dateTill) {
+        this(reservationId, resourceId, userId, dateFrom.getTime(), dateTill.getTime());
+    }
+
+    /**
+     * Constructor for a Reservation whose dates are given in epoch milliseconds.
+     * @param reservationId the reservation ID of this Reservation
+     * @param resourceId the ID of the resource for which this Reservation has been made.
+     * @param userId the ID of the user who made this Reservation.
+     * @param dateFrom the time from which this Reservation has been made, in epoch milliseconds.
+     * @param dateTill the time till which this Reservation has been made, in epoch milliseconds.
+     */
+    public Reservation(int reservationId, int resourceId, int userId, long dateFrom, long dateTill) {
         this.reservationId = reservationId;
         this.resourceId = resourceId;
         this.userId = userId;
@@ -48,15 +60,15 @@ public class Reservation {
      * @param userId the ID of the user who made this Reservation.
      * @param dateFrom the string representation of the date from which this Reservation has been made.
      * @param dateTill the string representation of the date till which this Reservation has been made.
-     * @throws ParseException if the dates given are in an invalid format.
+     * @throws RimsException if the dates given are in an invalid format.
      */
     public Reservation(int reservationId, int resourceId, int userId,
         String dateFrom, String dateTill) throws RimsException {
         this.reservationId = reservationId;
         this.resourceId = resourceId;
         this.userId = userId;
-        this.dateFrom = stringToDate(dateFrom);
-        this.dateTill = stringToDate(dateTill);
+        this.dateFrom = DateCodec.parseMillis(dateFrom);
+        this.dateTill = DateCodec.parseMillis(dateTill);
     }
 
     /**
@@ -85,17 +97,33 @@ public class Reservation {
 
     /**
      * Returns the starting date of this Reservation.
-     * @return the Date object representing the starting date of this Reservation.
+     * @return a new Date object representing the starting date of this Reservation.
      */
     public Date getStartDate() {
-        return dateFrom;
+        return new Date(dateFrom);
     }
 
     /**
      * Returns the ending date of this Reservation.
-     * @return the Date object representing the ending date of this Reservation.
+     * @return a new Date object representing the ending date of this Reservation.
      */
     public Date getEndDate() {
+        return new Date(dateTill);
+    }
+
+    /**
+     * Returns the starting time of this Reservation.
+     * @return the starting time of this Reservation, in epoch milliseconds.
+     */
+    public long getStartTime() {
+        return dateFrom;
+    }
+
+    /**
+     * Returns the ending time of this Reservation.
+     * @return the ending time of this Reservation, in epoch milliseconds.
+     */
+    public long getEndTime() {
         return dateTill;
     }
 
@@ -105,11 +133,16 @@ public class Reservation {
      * @return a boolean: true if this Reservation has not expired yet, false otherwise.
      */
     public boolean isStillValid() {
-        Date currentDate = new Date(System.currentTimeMillis());
-        if (currentDate.after(dateFrom) && currentDate.after(dateTill)) {
-            return false;
-        }
-        return true;
+        return isStillValid(System.currentTimeMillis());
+    }
+
+    /**
+     * Checks if this Reservation has expired at a given current time.
+     * @param now the current time, in epoch milliseconds.
+     * @return a boolean: true if this Reservation has not expired yet, false otherwise.
+     */
+    public boolean isStillValid(long now) {
+        return !(now > dateFrom && now > dateTill);
     }
 
     /**
@@ -118,7 +151,7 @@ public class Reservation {
      */
     public String toString() {
         String output = "[" + reservationId + "]" + " borrowed by user: " + userId + " from "
-                + getDateToPrint(dateFrom) + " till " + getDateToPrint(dateTill);
+                + DateCodec.formatForPrinting(dateFrom) + " till " + DateCodec.formatForPrinting(dateTill);
         if (isOverdue()) {
             return output + " [OVERDUE]";
         }
@@ -131,7 +164,7 @@ public class Reservation {
      */
     public String toDataFormat() {
         return reservationId + "," + resourceId + "," + userId + ","
-                + dateToString(dateFrom) + "," + dateToString(dateTill);
+                + DateCodec.format(dateFrom) + "," + DateCodec.format(dateTill);
     }
 
     /**
@@ -140,14 +173,7 @@ public class Reservation {
      * @return a Date object representing the date and time inputted by the user.
      */
     public Date stringToDate(String stringDate) throws RimsException {
-        SimpleDateFormat formatter = new SimpleDateFormat("dd/MM/yyyy HHmm");
-        Date dateValue;
-        try {
-            dateValue = formatter.parse(stringDate);
-        } catch (ParseException e) {
-            throw new RimsException("Invalid format of date " + stringDate + "!");
-        }
-        return dateValue;
+        return DateCodec.parse(stringDate);
     }
 
     /**
@@ -156,9 +182,7 @@ public class Reservation {
      * @return a String representing the Date object.
      */
     public String dateToString(Date thisDate) {
-        DateFormat format = new SimpleDateFormat("dd/MM/yyyy HHmm");
-        String stringDate = format.format(thisDate);
-        return stringDate;
+        return DateCodec.format(thisDate);
     }
 
     /**
@@ -167,24 +191,7 @@ public class Reservation {
      * @return a human-readable String representing the Date object.
      */
     public String getDateToPrint(Date date) {
-        DateFormat dayFormat = new SimpleDateFormat("d");
-        int actualDay = Integer.parseInt(dayFormat.format(date));
-        int roundedDay = actualDay % 10;
-        String suffix;
-        if (actualDay < 20 && actualDay > 9) {
-            suffix = "th";
-        } else if (roundedDay == 1) {
-            suffix = "st";
-        } else if (roundedDay == 2) {
-            suffix = "nd";
-        } else if (roundedDay == 3) {
-            suffix = "rd";
-        } else {
-            suffix = "th";
-        }
-        String stringDate = (new SimpleDateFormat("EEEEE, ")).format(date) + actualDay + suffix
-                + " " + (new SimpleDateFormat("MMMMM yyyy, hh:mm aaa")).format(date);
-        return stringDate;
+        return DateCodec.formatForPrinting(date);
     }
 
     /**
@@ -192,10 +199,16 @@ public class Reservation {
      * @return the number of days within which this Reservation expires.
      */
     public int getDaysDueIn() {
-        Date currentDate = new Date(System.currentTimeMillis());
-        int daysLeftToDue = (int) (TimeUnit.DAYS.convert((getEndDate().getTime()
-                - currentDate.getTime()), TimeUnit.MILLISECONDS));
-        return daysLeftToDue;
+        return getDaysDueIn(System.currentTimeMillis());
+    }
+
+    /**
+     * Returns the number of days within which this Reservation expires, from a given current time.
+     * @param now the current time, in epoch milliseconds.
+     * @return the number of days within which this Reservation expires.
+     */
+    public int getDaysDueIn(long now) {
+        return (int) TimeUnit.DAYS.convert(dateTill - now, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -204,7 +217,17 @@ public class Reservation {
      * @return a boolean: true if it is expiring within the given number of days, false otherwise
      */
     public boolean isDueInDays(int daysDue) {
-        return getDaysDueIn() <= daysDue;
+        return isDueInDays(daysDue, System.currentTimeMillis());
+    }
+
+    /**
+     * Checks if this Reservation is expiring within a given number of days from a given current time.
+     * @param daysDue the number of days within which this Reservation is checked for expiry
+     * @param now the current time, in epoch milliseconds.
+     * @return a boolean: true if it is expiring within the given number of days, false otherwise
+     */
+    public boolean isDueInDays(int daysDue, long now) {
+        return getDaysDueIn(now) <= daysDue;
     }
 
     //@author hin1
@@ -213,15 +236,17 @@ public class Reservation {
      * @return a boolean: true if it has already expired, false otherwise.
      */
     public boolean isOverdue() {
-        Date currentDate = new Date(System.currentTimeMillis());
-        int daysLeftToDue = (int) (TimeUnit.DAYS.convert((getEndDate().getTime()
-                - currentDate.getTime()), TimeUnit.MILLISECONDS));
-        boolean wasDuePast = daysLeftToDue < 0;
-        boolean wasDueEarlierToday = (daysLeftToDue == 0 && (getEndDate().getTime() - currentDate.getTime() < 0));
-        if (wasDuePast || wasDueEarlierToday) {
-            return true;
-        }
-        return false;
+        return isOverdue(System.currentTimeMillis());
+    }
+
+    /**
+     * Checks if this Reservation has already expired at a given current time. A Reservation
+     * is overdue as soon as its ending time has passed, whether that was days ago or earlier today.
+     * @param now the current time, in epoch milliseconds.
+     * @return a boolean: true if it has already expired, false otherwise.
+     */
+    public boolean isOverdue(long now) {
+        return dateTill < now;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,280 @@
+package rims.resource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+
+//@@author isbobby
+/**
+ * An immutable interval index over the Reservations of a ReservationList, used to answer
+ * availability queries without scanning every Reservation ever made for a Resource.
+ *
+ * <p>Reservations are sorted by their starting time, with a max-tree over their ending
+ * times, so that the Reservations in effect at any point in time can be found in
+ * O(log n + k). Ending times are also kept in sorted order, together with the earliest
+ * position in the ReservationList among all Reservations that end before a given time,
+ * so that overdue Reservations can be found in O(log n). The Reservations that overlap a
+ * window of time, or are overdue, can also be listed in O(log n + k).
+ *
+ * <p>All times are in epoch milliseconds, and every comparison is strict, exactly as in
+ * the scans of the ReservationList that this index replaces.
+ */
+public class ReservationIndex {
+    private static final long NO_END = Long.MIN_VALUE;
+
+    private final Reservation[] byPosition;
+    private final Reservation[] byStart;
+    private final long[] starts;
+    private final int[] positionsByStart;
+    private final long[] maxEndTree;
+    private final int leafOffset;
+    private final long[] sortedEnds;
+    private final Reservation[] byEnd;
+    private final int[] earliestPositionByEnd;
+
+    /**
+     * Builds an index over the given Reservations.
+     *
+     * @param reservations the Reservations to be indexed, in the order they appear in their ReservationList.
+     */
+    public ReservationIndex(ArrayList<Reservation> reservations) {
+        int size = reservations.size();
+        byPosition = reservations.toArray(new Reservation[size]);
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> reservations.get(i).getStartTime()));
+
+        byStart = new Reservation[size];
+        starts = new long[size];
+        positionsByStart = new int[size];
+        int leaves = 1;
+        while (leaves < size) {
+            leaves *= 2;
+        }
+        leafOffset = leaves;
+        maxEndTree = new long[2 * leaves];
+        Arrays.fill(maxEndTree, NO_END);
+        for (int i = 0; i < size; i++) {
+            Reservation thisReservation = reservations.get(order[i]);
+            byStart[i] = thisReservation;
+            starts[i] = thisReservation.getStartTime();
+            positionsByStart[i] = order[i];
+            maxEndTree[leaves + i] = thisReservation.getEndTime();
+        }
+        for (int node = leaves - 1; node > 0; node--) {
+            maxEndTree[node] = Math.max(maxEndTree[2 * node], maxEndTree[2 * node + 1]);
+        }
+
+        Arrays.sort(order, Comparator.comparingLong(i -> reservations.get(i).getEndTime()));
+        sortedEnds = new long[size];
+        byEnd = new Reservation[size];
+        earliestPositionByEnd = new int[size];
+        for (int i = 0; i < size; i++) {
+            sortedEnds[i] = reservations.get(order[i]).getEndTime();
+            byEnd[i] = reservations.get(order[i]);
+            earliestPositionByEnd[i] = (i == 0) ? order[i] : Math.min(earliestPositionByEnd[i - 1], order[i]);
+        }
+    }
+
+    /**
+     * Returns the number of Reservations that start strictly before a given time.
+     */
+    private int countStartingBefore(long time) {
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the number of Reservations that end strictly before a given time.
+     */
+    private int countEndingBefore(long time) {
+        int low = 0;
+        int high = sortedEnds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedEnds[mid] < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the latest ending time among the first given number of Reservations, in order of starting time.
+     */
+    private long maxEndOfFirst(int count) {
+        long maxEnd = NO_END;
+        int low = leafOffset;
+        int high = leafOffset + count;
+        while (low < high) {
+            if ((low & 1) == 1) {
+                maxEnd = Math.max(maxEnd, maxEndTree[low++]);
+            }
+            if ((high & 1) == 1) {
+                maxEnd = Math.max(maxEnd, maxEndTree[--high]);
+            }
+            low >>= 1;
+            high >>= 1;
+        }
+        return maxEnd;
+    }
+
+    /**
+     * Checks if any Reservation is in effect at a given time, i.e. started strictly before it
+     * and ends strictly after it.
+     *
+     * @param time the time being checked, in epoch milliseconds.
+     * @return true if some Reservation is in effect at that time.
+     */
+    public boolean isBookedAt(long time) {
+        return maxEndOfFirst(countStartingBefore(time)) > time;
+    }
+
+    /**
+     * Checks if any Reservation overlaps a window of time, i.e. starts strictly before its end
+     * and ends strictly after its start.
+     *
+     * @param from the start of the window, in epoch milliseconds.
+     * @param till the end of the window, in epoch milliseconds.
+     * @return true if some Reservation is in effect at any point within that window.
+     */
+    public boolean isBookedBetween(long from, long till) {
+        return maxEndOfFirst(countStartingBefore(till)) > from;
+    }
+
+    /**
+     * Checks if any Reservation has ended strictly before the current time.
+     *
+     * @param now the current time, in epoch milliseconds.
+     * @return true if some Reservation is overdue.
+     */
+    public boolean hasOverdue(long now) {
+        return sortedEnds.length > 0 && sortedEnds[0] < now;
+    }
+
+    /**
+     * Checks if any Reservation starts exactly at a given time.
+     *
+     * @param time the time being checked, in epoch milliseconds.
+     * @return true if some Reservation starts at that time.
+     */
+    public boolean hasStartAt(long time) {
+        int position = countStartingBefore(time);
+        return position < starts.length && starts[position] == time;
+    }
+
+    /**
+     * Checks if any Reservation ends exactly at a given time.
+     *
+     * @param time the time being checked, in epoch milliseconds.
+     * @return true if some Reservation ends at that time.
+     */
+    public boolean hasEndAt(long time) {
+        int position = countEndingBefore(time);
+        return position < sortedEnds.length && sortedEnds[position] == time;
+    }
+
+    /**
+     * Returns the Reservations that have ended strictly before the current time.
+     *
+     * @param now the current time, in epoch milliseconds.
+     * @return the overdue Reservations, in order of ending time.
+     */
+    public ArrayList<Reservation> getOverdue(long now) {
+        return new ArrayList<Reservation>(Arrays.asList(byEnd).subList(0, countEndingBefore(now)));
+    }
+
+    /**
+     * Returns the Reservations that overlap a window of time, i.e. start at or before its end
+     * and end at or after its start.
+     *
+     * @param from the start of the window, in epoch milliseconds.
+     * @param till the end of the window, in epoch milliseconds.
+     * @return the overlapping Reservations, in order of starting time.
+     */
+    public ArrayList<Reservation> getOverlapping(long from, long till) {
+        ArrayList<Reservation> overlapping = new ArrayList<Reservation>();
+        int count = (till == Long.MAX_VALUE) ? starts.length : countStartingBefore(till + 1);
+        collectEndingFrom(1, 0, leafOffset, count, from, overlapping);
+        return overlapping;
+    }
+
+    /**
+     * Collects, in order of starting time, the Reservations that end at or after a given time,
+     * among the first given number of Reservations. Only subtrees of the max-tree holding such a
+     * Reservation are visited.
+     */
+    private void collectEndingFrom(int node, int nodeLow, int nodeHigh, int count, long time,
+            ArrayList<Reservation> collected) {
+        if (nodeLow >= count || maxEndTree[node] < time) {
+            return;
+        }
+        if (node >= leafOffset) {
+            collected.add(byStart[nodeLow]);
+            return;
+        }
+        int mid = (nodeLow + nodeHigh) >>> 1;
+        collectEndingFrom(2 * node, nodeLow, mid, count, time, collected);
+        collectEndingFrom(2 * node + 1, mid, nodeHigh, count, time, collected);
+    }
+
+    /**
+     * Returns the Reservation under which the Resource is booked at the current time,
+     * either because it is in effect or because it is overdue. When several Reservations
+     * qualify, the one that comes first in the ReservationList is returned.
+     *
+     * @param now the current time, in epoch milliseconds.
+     * @return the current Reservation, or null if there is none.
+     */
+    public Reservation getCurrentBooking(long now) {
+        int earliestPosition = Integer.MAX_VALUE;
+        int overdueCount = countEndingBefore(now);
+        int activeCount = countStartingBefore(now);
+        if (overdueCount > 0) {
+            earliestPosition = earliestPositionByEnd[overdueCount - 1];
+        }
+        int activeIndex = findEarliestActive(1, 0, leafOffset, activeCount, now, earliestPosition);
+        if (activeIndex >= 0) {
+            return byStart[activeIndex];
+        }
+        if (overdueCount > 0) {
+            return byPosition[earliestPosition];
+        }
+        return null;
+    }
+
+    /**
+     * Searches the max-tree for the Reservation in effect at a given time with the earliest
+     * position in the ReservationList, among the first given number of Reservations in order
+     * of starting time. Only subtrees holding a Reservation that ends after that time are visited.
+     *
+     * @return the index in starting order of such a Reservation with a position earlier than
+     *     the given bound, or -1 if there is none.
+     */
+    private int findEarliestActive(int node, int nodeLow, int nodeHigh, int count, long time, int bound) {
+        if (nodeLow >= count || maxEndTree[node] <= time) {
+            return -1;
+        }
+        if (node >= leafOffset) {
+            return positionsByStart[nodeLow] < bound ? nodeLow : -1;
+        }
+        int mid = (nodeLow + nodeHigh) >>> 1;
+        int left = findEarliestActive(2 * node, nodeLow, mid, count, time, bound);
+        int leftBound = (left >= 0) ? positionsByStart[left] : bound;
+        int right = findEarliestActive(2 * node + 1, mid, nodeHigh, count, time, leftBound);
+        return (right >= 0) ? right : left;
+    }
+}
@@ -7,6 +7,7 @@ import java.util.Calendar;
 import java.util.Date;
 import java.util.Collections;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import java.text.SimpleDateFormat;
 import java.text.DateFormat;
@@ -18,24 +19,149 @@ import java.text.ParseException;
  * ReservationList is stored as an attribute in its corresponding Resource, for
  * which it stores its reservations. Contains functions to create, delete, get
  * Reservations and to check the availability of its Resource.
+ *
+ * <p>Availability is checked against a ReservationIndex, which is built the first time it
+ * is needed and rebuilt only after the Reservations have changed.
+ *
+ * <p>The Reservations are kept copy-on-write, as an immutable Version of the array
+ * that is swapped atomically. Every change builds the next Version from the current one and
+ * publishes it with a compare-and-set, trying again if another change was published first,
+ * so that neither readers nor writers ever take a lock. A booking is checked against the
+ * Version it replaces, so that two bookings that overlap can never both be published.
  */
 public class ReservationList {
-    protected ArrayList<Reservation> reservations;
+    protected final AtomicReference<Version> current;
+    protected volatile ReservationObserver observer = null;
+
+    /**
+     * The Reservations of a ReservationList at one point in time. The array is never changed once
+     * the Version is published, and the index over it is built the first time it is needed.
+     */
+    protected static class Version {
+        protected final ArrayList<Reservation> reservations;
+        protected volatile ReservationIndex index = null;
+
+        protected Version(ArrayList<Reservation> reservations) {
+            this.reservations = reservations;
+        }
+
+        protected ReservationIndex getIndex() {
+            ReservationIndex thisIndex = index;
+            if (thisIndex == null) {
+                thisIndex = new ReservationIndex(reservations);
+                index = thisIndex;
+            }
+            return thisIndex;
+        }
+
+        /**
+         * Returns the next Version, with a Reservation added at the end.
+         */
+        protected Version withReservation(Reservation newReservation) {
+            ArrayList<Reservation> changedReservations = new ArrayList<Reservation>(reservations.size() + 1);
+            changedReservations.addAll(reservations);
+            changedReservations.add(newReservation);
+            return new Version(changedReservations);
+        }
+
+        /**
+         * Returns the next Version, without the Reservation at a given position.
+         */
+        protected Version withoutReservation(int position) {
+            ArrayList<Reservation> changedReservations = new ArrayList<Reservation>(reservations);
+            changedReservations.remove(position);
+            return new Version(changedReservations);
+        }
+
+        /**
+         * Returns the position of the Reservation with a given ID, or -1 if there is none.
+         */
+        protected int findReservation(int reservationId) {
+            for (int i = 0; i < reservations.size(); i++) {
+                if (reservations.get(i).getReservationId() == reservationId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Checks if the Resource is free between two times, and is not overdue at a given current time.
+         * Any Reservation that overlaps the two times makes the Resource unavailable, including one
+         * that lies wholly between them.
+         */
+        protected boolean isAvailableFrom(long start, long end, long now) {
+            if (reservations.isEmpty()) {
+                return true;
+            }
+            ReservationIndex thisIndex = getIndex();
+            boolean isBetweenDates = thisIndex.isBookedBetween(Math.min(start, end), Math.max(start, end));
+            boolean isOverdue = thisIndex.hasOverdue(now);
+            boolean startDatesAlign = thisIndex.hasStartAt(start);
+            boolean endDatesAlign = thisIndex.hasEndAt(end);
+            return !(isBetweenDates || isOverdue || startDatesAlign || endDatesAlign);
+        }
+    }
 
     /**
      * Constructor for a ReservationList.
      */
     public ReservationList() {
-        this.reservations = new ArrayList<Reservation>();
+        this(new ArrayList<Reservation>());
     }
 
     /**
-     * Returns the ReservationList itself.
+     * Constructor for a ReservationList holding the given Reservations. The array is taken over
+     * by the ReservationList, and must not be changed by the caller afterwards.
+     *
+     * @param reservations the Reservations to be held, in the order they were made.
+     */
+    public ReservationList(ArrayList<Reservation> reservations) {
+        this.current = new AtomicReference<Version>(new Version(reservations));
+    }
+
+    /**
+     * Sets the observer to be notified whenever a Reservation is added to or removed from
+     * this ReservationList.
+     *
+     * @param observer the observer to be notified, or null if no observer is needed.
+     */
+    public void setObserver(ReservationObserver observer) {
+        this.observer = observer;
+    }
+
+    /**
+     * Returns the Reservations as they are at this moment. The array is never changed once
+     * returned, as every change to this ReservationList is made to a copy, so it may be read
+     * while Reservations are being made, but must not be changed by the caller.
      *
      * @return the array of Reservations.
      */
     public ArrayList<Reservation> getReservationList() {
-        return this.reservations;
+        return current.get().reservations;
+    }
+
+    /**
+     * Returns the index of the Reservations, building it if they have changed since it was last built.
+     *
+     * @return the up-to-date ReservationIndex of this ReservationList.
+     */
+    protected ReservationIndex getIndex() {
+        return current.get().getIndex();
+    }
+
+    private void notifyAdded(Reservation newReservation) {
+        ReservationObserver thisObserver = observer;
+        if (thisObserver != null) {
+            thisObserver.reservationAdded(newReservation);
+        }
+    }
+
+    private void notifyRemoved(Reservation cancelledReservation) {
+        ReservationObserver thisObserver = observer;
+        if (thisObserver != null) {
+            thisObserver.reservationRemoved(cancelledReservation);
+        }
     }
 
     /**
@@ -46,7 +172,7 @@ public class ReservationList {
      * @return the Reservation itself.
      */
     public Reservation getReservationByIndex(int indexNo) {
-        return reservations.get(indexNo);
+        return current.get().reservations.get(indexNo);
     }
 
     /**
@@ -57,8 +183,7 @@ public class ReservationList {
      * @throws RimsException if no reservation has such an ID.
      */
     public Reservation getReservationById(int reservationId) throws RimsException {
-        for (int i = 0; i < size(); i++) {
-            Reservation thisReservation = getReservationByIndex(i);
+        for (Reservation thisReservation : current.get().reservations) {
             if (thisReservation.getReservationId() == reservationId) {
                 return thisReservation;
             }
@@ -72,7 +197,33 @@ public class ReservationList {
      * @param newReservation the newly created Reservation.
      */
     public void add(Reservation newReservation) {
-        reservations.add(newReservation);
+        Version thisVersion;
+        do {
+            thisVersion = current.get();
+        } while (!current.compareAndSet(thisVersion, thisVersion.withReservation(newReservation)));
+        notifyAdded(newReservation);
+    }
+
+    /**
+     * Adds a new Reservation to the ReservationList only if its Resource is free over the dates of
+     * the Reservation, and is not overdue at a given current time. The dates are checked against
+     * the current Reservations, and the Reservation is then published in their place with a
+     * compare-and-set; should another change be published first, the dates are checked again.
+     *
+     * @param newReservation the newly created Reservation.
+     * @param now            the current time, in epoch milliseconds.
+     * @return true if the Reservation was added, false if its Resource is not free.
+     */
+    public boolean addIfAvailable(Reservation newReservation, long now) {
+        Version thisVersion;
+        do {
+            thisVersion = current.get();
+            if (!thisVersion.isAvailableFrom(newReservation.getStartTime(), newReservation.getEndTime(), now)) {
+                return false;
+            }
+        } while (!current.compareAndSet(thisVersion, thisVersion.withReservation(newReservation)));
+        notifyAdded(newReservation);
+        return true;
     }
 
     /**
@@ -86,19 +237,21 @@ public class ReservationList {
      * @param userId        the ID of the user creating this Reservation.
      * @param startDate     the date from which this Reservation takes effect.
      * @param endDate       the date till which this Reservation will be in effect.
+     * @return the newly created Reservation.
      * @throws RimsException  if date is invalid, or if the date of return is before the date of borrowing.
      */
-    public void createReservation(int reservationId, int resourceId, int userId, Date startDate, Date endDate)
+    public Reservation createReservation(int reservationId, int resourceId, int userId, Date startDate, Date endDate)
             throws RimsException {
-        Date currentDate = new Date(System.currentTimeMillis());
+        long currentTime = System.currentTimeMillis();
         if (startDate.after(endDate)) {
             throw new RimsException("Your date of return must be after your date of borrowing!");
         }
-        if (currentDate.after(endDate)) {
+        if (currentTime > endDate.getTime()) {
             throw new RimsException("Your date of return must be a date in the future!");
         }
         Reservation newReservation = new Reservation(reservationId, resourceId, userId, startDate, endDate);
         add(newReservation);
+        return newReservation;
     }
 
     /**
@@ -109,17 +262,16 @@ public class ReservationList {
      * @throws RimsException if no such reservation has that ID.
      */
     public void cancelReservationById(int reservationId) throws RimsException {
-        boolean deleted = false;
-        for (int i = 0; i < reservations.size(); i++) {
-            if (reservations.get(i).getReservationId() == reservationId) {
-                reservations.remove(i);
-                deleted = true;
-                break;
+        Version thisVersion;
+        int position;
+        do {
+            thisVersion = current.get();
+            position = thisVersion.findReservation(reservationId);
+            if (position == -1) {
+                throw new RimsException("Reservation not found for given reservation ID!");
             }
-        }
-        if (!deleted) {
-            throw new RimsException("Reservation not found for given reservation ID!");
-        }
+        } while (!current.compareAndSet(thisVersion, thisVersion.withoutReservation(position)));
+        notifyRemoved(thisVersion.reservations.get(position));
     }
 
     // @@author rabhijit
@@ -129,7 +281,7 @@ public class ReservationList {
      * @return the size of the ReservationList.
      */
     public int size() {
-        return reservations.size();
+        return current.get().reservations.size();
     }
 
     /**
@@ -138,7 +290,7 @@ public class ReservationList {
      * @return a boolean: true if no Reservations have been made, false otherwise.
      */
     public boolean isEmpty() {
-        return reservations.isEmpty();
+        return current.get().reservations.isEmpty();
     }
 
     /**
@@ -148,17 +300,23 @@ public class ReservationList {
      * @return a boolean indicating whether this Resource is currently not booked.
      */
     public boolean isCurrentlyAvailable() {
-        Date currentDate = new Date(System.currentTimeMillis());
-        for (int i = 0; i < size(); i++) {
-            Reservation thisReservation = getReservationByIndex(i);
-            boolean isCurrentlyBooked = (currentDate.after(thisReservation.getStartDate())
-                    && currentDate.before(thisReservation.getEndDate()));
-            boolean isOverdue = thisReservation.isOverdue();
-            if (isCurrentlyBooked || isOverdue) {
-                return false;
-            }
+        return isCurrentlyAvailable(System.currentTimeMillis());
+    }
+
+    /**
+     * Checks if this Resource is booked under a Reservation, or is overdue from a
+     * previous Reservation, at a given current time.
+     *
+     * @param now the current time, in epoch milliseconds.
+     * @return a boolean indicating whether this Resource is currently not booked.
+     */
+    public boolean isCurrentlyAvailable(long now) {
+        Version thisVersion = current.get();
+        if (thisVersion.reservations.isEmpty()) {
+            return true;
         }
-        return true;
+        ReservationIndex thisIndex = thisVersion.getIndex();
+        return !(thisIndex.isBookedAt(now) || thisIndex.hasOverdue(now));
     }
 
     // @@author aarushisingh1
@@ -171,16 +329,24 @@ public class ReservationList {
      *         that date.
      */
     public boolean isAvailableOnDate(Date checkedDate) {
-        for (int i = 0; i < size(); i++) {
-            Reservation thisReservation = getReservationByIndex(i);
-            boolean isUnavailable = (checkedDate.after(thisReservation.getStartDate())
-                    && checkedDate.before(thisReservation.getEndDate()));
-            boolean isOverdue = thisReservation.isOverdue();
-            if (isUnavailable || isOverdue) {
-                return false;
-            }
+        return isAvailableOnDate(checkedDate, System.currentTimeMillis());
+    }
+
+    /**
+     * Checks if this Resource is booked under a Reservation on the date entered by the
+     * user, or is overdue from a previous Reservation at a given current time.
+     *
+     * @param checkedDate The date entered by the user that is being checked
+     * @param now         the current time, in epoch milliseconds.
+     * @return a boolean indicating whether this Resource is not booked on that date.
+     */
+    public boolean isAvailableOnDate(Date checkedDate, long now) {
+        Version thisVersion = current.get();
+        if (thisVersion.reservations.isEmpty()) {
+            return true;
         }
-        return true;
+        ReservationIndex thisIndex = thisVersion.getIndex();
+        return !(thisIndex.isBookedAt(checkedDate.getTime()) || thisIndex.hasOverdue(now));
     }
 
     //@@author rabhijit
@@ -194,24 +360,21 @@ public class ReservationList {
      *         point between those two dates.
      */
     public boolean isAvailableFrom(Date startDate, Date endDate) {
-        if (reservations.isEmpty()) {
-            return true;
-        }
-        for (int i = 0; i < size(); i++) {
-            Reservation thisReservation = getReservationByIndex(i);
-            boolean startDateIsBetween = (startDate.after(thisReservation.getStartDate())
-                    && startDate.before(thisReservation.getEndDate()));
-            boolean endDateIsBetween = (endDate.after(thisReservation.getStartDate())
-                    && endDate.before(thisReservation.getEndDate()));
-            boolean isBetweenDates = (startDateIsBetween || endDateIsBetween);
-            boolean isOverdue = thisReservation.isOverdue();
-            boolean startDatesAlign = startDate.equals(thisReservation.getStartDate());
-            boolean endDatesAlign = endDate.equals(thisReservation.getEndDate());
-            if (isBetweenDates || isOverdue || startDatesAlign || endDatesAlign) {
-                return false;
-            }
-        }
-        return true;
+        return isAvailableFrom(startDate, endDate, System.currentTimeMillis());
+    }
+
+    /**
+     * Checks if this Resource is booked between two given dates, or overdue from a
+     * previous Reservation at a given current time.
+     *
+     * @param startDate the date from which this Resource is being queried.
+     * @param endDate   the date till which this Resource is being queried.
+     * @param now       the current time, in epoch milliseconds.
+     * @return a boolean indicating whether this Resource has been booked at any
+     *         point between those two dates.
+     */
+    public boolean isAvailableFrom(Date startDate, Date endDate, long now) {
+        return current.get().isAvailableFrom(startDate.getTime(), endDate.getTime(), now);
     }
 
     /**
@@ -222,17 +385,27 @@ public class ReservationList {
      * @throws RimsException if this Resource is not currently booked.
      */
     public Reservation getCurrentBooking() throws RimsException {
-        Date currentDate = new Date(System.currentTimeMillis());
-        for (int i = 0; i < size(); i++) {
-            Reservation thisReservation = getReservationByIndex(i);
-            boolean isCurrentlyBooked = (currentDate.after(thisReservation.getStartDate())
-                    && currentDate.before(thisReservation.getEndDate()));
-            boolean isOverdue = thisReservation.isOverdue();
-            if (isCurrentlyBooked || isOverdue) {
-                return thisReservation;
-            }
+        return getCurrentBooking(System.currentTimeMillis());
+    }
+
+    /**
+     * Gets the Reservation object under which this Resource is loaned out, or still
+     * overdue, at a given current time.
+     *
+     * @param now the current time, in epoch milliseconds.
+     * @return the Reservation object under which this Resource is currently booked.
+     * @throws RimsException if this Resource is not currently booked.
+     */
+    public Reservation getCurrentBooking(long now) throws RimsException {
+        Reservation currentBooking = null;
+        Version thisVersion = current.get();
+        if (!thisVersion.reservations.isEmpty()) {
+            currentBooking = thisVersion.getIndex().getCurrentBooking(now);
+        }
+        if (currentBooking == null) {
+            throw new RimsException("Item is not currently booked!");
         }
-        throw new RimsException("Item is not currently booked!");
+        return currentBooking;
     }
 
     // @@author isbobby
@@ -245,14 +418,13 @@ public class ReservationList {
      * @return a list containing the Reservations made by the user for this object.
      */
     public ReservationList getUserReservations(int userId) {
-        ReservationList userReservations = new ReservationList();
-        for (int i = 0; i < size(); i++) {
-            Reservation thisReservation = getReservationByIndex(i);
+        ArrayList<Reservation> userReservations = new ArrayList<Reservation>();
+        for (Reservation thisReservation : current.get().reservations) {
             if (thisReservation.getUserId() == userId) {
                 userReservations.add(thisReservation);
             }
         }
-        return userReservations;
+        return new ReservationList(userReservations);
     }
 
     // @@author rabhijit
@@ -266,15 +438,27 @@ public class ReservationList {
      *         the given number of days.
      */
     public ReservationList getDueReservations(int daysDue) {
-        ReservationList reservationsDueSoon = new ReservationList();
-        Date currentDate = new Date(System.currentTimeMillis());
-        for (int i = 0; i < size(); i++) {
-            Reservation thisReservation = getReservationByIndex(i);
-            if (thisReservation.isDueInDays(daysDue) && currentDate.after(thisReservation.getStartDate())) {
+        return getDueReservations(daysDue, System.currentTimeMillis());
+    }
+
+    /**
+     * Returns the list of Reservations active at a given current time, including
+     * overdue Reservations, which are expiring in a given number of days.
+     *
+     * @param daysDue the number of days within which Reservations which are
+     *                expiring should be returned.
+     * @param now     the current time, in epoch milliseconds.
+     * @return a list of all Reservations that have expired, or are expiring within
+     *         the given number of days.
+     */
+    public ReservationList getDueReservations(int daysDue, long now) {
+        ArrayList<Reservation> reservationsDueSoon = new ArrayList<Reservation>();
+        for (Reservation thisReservation : current.get().reservations) {
+            if (thisReservation.isDueInDays(daysDue, now) && now > thisReservation.getStartTime()) {
                 reservationsDueSoon.add(thisReservation);
             }
         }
-        return reservationsDueSoon;
+        return new ReservationList(reservationsDueSoon);
     }
 
 }
\ No newline at end of file
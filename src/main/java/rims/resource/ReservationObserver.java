@@ -0,0 +1,19 @@
+package rims.resource;
+
+/**
+ * Receives a notification whenever a Reservation is added to or removed from a ReservationList,
+ * so that anything derived from the Reservations can be kept up to date.
+ */
+public interface ReservationObserver {
+    /**
+     * Called after a Reservation has been added to a ReservationList.
+     * @param thisReservation the Reservation that has been added.
+     */
+    void reservationAdded(Reservation thisReservation);
+
+    /**
+     * Called after a Reservation has been removed from a ReservationList.
+     * @param thisReservation the Reservation that has been removed.
+     */
+    void reservationRemoved(Reservation thisReservation);
+}
@@ -153,6 +153,15 @@ public abstract class Resource {
         return reservations.isCurrentlyAvailable();
     }
 
+    /**
+     * Checks if this Resource is available for booking at a given current time.
+     * @param now the current time, in epoch milliseconds.
+     * @return a boolean indicating whether this Resource is currently not booked.
+     */
+    public boolean isCurrentlyAvailable(long now) {
+        return reservations.isCurrentlyAvailable(now);
+    }
+
     //@@author aarushisingh1
     /**
      * Checks if this Resource is currently available for booking on a certain date.
@@ -162,6 +171,15 @@ public abstract class Resource {
         return reservations.isAvailableOnDate(checkedDate);
     }
 
+    /**
+     * Checks if this Resource is available for booking on a certain date, given the current time.
+     * @param now the current time, in epoch milliseconds.
+     * @return a boolean indicating whether this Resource is not booked on that date.
+     */
+    public boolean isAvailableOnDate(Date checkedDate, long now) {
+        return reservations.isAvailableOnDate(checkedDate, now);
+    }
+
     /**
      * Checks if this Resource is free to be booked between two dates.
      * @param dateFrom the date from which this Resource is to be booked.
@@ -172,6 +190,17 @@ public abstract class Resource {
         return reservations.isAvailableFrom(dateFrom, dateTill);
     }
 
+    /**
+     * Checks if this Resource is free to be booked between two dates, given the current time.
+     * @param dateFrom the date from which this Resource is to be booked.
+     * @param dateTill the date till which this Resource is to be booked.
+     * @param now the current time, in epoch milliseconds.
+     * @return a boolean indicating whether this Resource is free to be booked between the two given dates.
+     */
+    public boolean isAvailableFrom(Date dateFrom, Date dateTill, long now) {
+        return reservations.isAvailableFrom(dateFrom, dateTill, now);
+    }
+
     /**
      * Creates a new Reservation object for this Resource between two given dates, indicating
      * that this Resource has been booked between those two dates.
@@ -180,10 +209,30 @@ public abstract class Resource {
      * @param startDate the date from which this Resource has been booked.
      * @param endDate the date till which this Resource has been booked.
      * @throws ParseException if the dates are in an invalid format.
+     * @return the newly created Reservation.
      * @throws RimsException if the date of return is before the date of borrowing.
      */
-    public void book(int reservationId, int userId, Date startDate, Date endDate) throws RimsException {
-        reservations.createReservation(reservationId, resourceId, userId, startDate, endDate);
+    public Reservation book(int reservationId, int userId, Date startDate, Date endDate) throws RimsException {
+        return reservations.createReservation(reservationId, resourceId, userId, startDate, endDate);
+    }
+
+    /**
+     * Books this Resource between two given dates only if it is free between them, and is not
+     * overdue at a given current time. The check and the booking are made as one atomic step,
+     * so that two bookings that overlap can never both be made, even at the same time.
+     * @param reservationId the newly generated reservation ID for the new Reservation object.
+     * @param userId the ID of the user who made the reservation.
+     * @param startDate the date from which this Resource is to be booked.
+     * @param endDate the date till which this Resource is to be booked.
+     * @param now the current time, in epoch milliseconds.
+     * @return the newly created Reservation, or null if this Resource is not free.
+     */
+    public Reservation bookIfAvailable(int reservationId, int userId, Date startDate, Date endDate, long now) {
+        Reservation newReservation = new Reservation(reservationId, resourceId, userId, startDate, endDate);
+        if (!reservations.addIfAvailable(newReservation, now)) {
+            return null;
+        }
+        return newReservation;
     }
 
     /**
@@ -205,4 +254,15 @@ public abstract class Resource {
         return reservations.getDueReservations(daysDue);
     }
 
+    /**
+     * Returns the list of Reservations active at a given current time, including overdue Reservations,
+     * which are expiring in a given number of days.
+     * @param daysDue the number of days within which Reservations which are expiring should be returned.
+     * @param now the current time, in epoch milliseconds.
+     * @return a list of all Reservations that have expired, or are expiring within the given number of days.
+     */
+    public ReservationList getDueReservations(int daysDue, long now) {
+        return reservations.getDueReservations(daysDue, now);
+    }
+
 }
\ No newline at end of file
@@ -1,6 +1,5 @@
 package rims.resource;
 
-import rims.core.Rims;
 import rims.core.Ui;
 import rims.exception.RimsException;
 
@@ -29,17 +28,17 @@ public class TagList {
      *
      * @param thisTag the newly created tag.
      */
-    public void add(Tag thisTag) {
+    public synchronized void add(Tag thisTag) {
         tags.add(thisTag);
     }
 
     /**
-     * Returns the TagList itself.
+     * Returns a copy of the TagList, which may be read while tags are being added.
      *
      * @return the array of tagged Resources.
      */
-    public ArrayList<Tag> getTags() {
-        return tags;
+    public synchronized ArrayList<Tag> getTags() {
+        return new ArrayList<Tag>(tags);
     }
 
     /**
@@ -48,7 +47,7 @@ public class TagList {
      * @param indexNo the index number of the desired Resource.
      * @return the Resource itself.
      */
-    public Tag getTagByIndex(int indexNo) {
+    public synchronized Tag getTagByIndex(int indexNo) {
         return tags.get(indexNo);
     }
 
@@ -58,7 +57,7 @@ public class TagList {
      * @param tagName the name of the Resources to be obtained.
      * @return an array of all the Resources with that tag name.
      */
-    public ArrayList<Tag> getAllOfResource(String tagName) {
+    public synchronized ArrayList<Tag> getAllOfResource(String tagName) {
         ArrayList<Tag> allOfTag = new ArrayList<Tag>();
         for (int i = 0; i < tags.size(); i++) {
             Tag thisTag = getTagByIndex(i);
@@ -70,7 +69,7 @@ public class TagList {
    }
 
    public boolean tagExists(String tagName){
-       ArrayList<Tag> newTagList = Rims.tags.getAllOfResource(tagName);
+       ArrayList<Tag> newTagList = getAllOfResource(tagName);
           if(newTagList.size()>0){
               return true;
           }
@@ -0,0 +1,321 @@
+package rims.tools;
+
+import rims.core.DateCodec;
+import rims.exception.RimsException;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Writes resources.txt, reserves.txt and tags.txt files for an inventory of any size, in the
+ * same format as Storage, for load testing, benchmarks and capacity planning. Every line is
+ * written as soon as it is made, so that only the table of names is kept in memory, however
+ * many Resources and Reservations are written.
+ *
+ * <p>Every Resource is either a Room, with a name of its own, or an Item, whose name is picked
+ * from a fixed number of names following a Zipf distribution, so that a few names are shared
+ * by many Items and most names by only a few. The Reservations of a Resource follow one another
+ * without overlapping, from around the current time onwards, so that the Reservations of different
+ * Resources overlap as they would in use: some are under way, most are to come, and a given share
+ * of Resources have a first Reservation that is overdue.
+ * The same settings and seed always give the same files.
+ */
+public class DataGenerator {
+    public static final long DEFAULT_SEED = 2099;
+    public static final double DEFAULT_SKEW = 1.0;
+    public static final double DEFAULT_ROOM_SHARE = 0.1;
+    public static final double DEFAULT_OVERDUE_SHARE = 0.01;
+    public static final double DEFAULT_TAG_SHARE = 0.05;
+    public static final int DEFAULT_NUMBER_OF_USERS = 10000;
+
+    private static final long MINUTE = 60 * 1000L;
+    private static final long HOUR = 60 * MINUTE;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String[] STALE_FILES = {"journal.txt", "journal.compacting.txt", "snapshot.bin"};
+    private static final String[] TAG_NAMES = {"fragile", "electronics", "furniture", "sports", "exam", "event"};
+
+    protected int numberOfResources;
+    protected int numberOfReservations;
+    protected int numberOfNames;
+    protected long seed = DEFAULT_SEED;
+    protected double skew = DEFAULT_SKEW;
+    protected double roomShare = DEFAULT_ROOM_SHARE;
+    protected double overdueShare = DEFAULT_OVERDUE_SHARE;
+    protected double tagShare = DEFAULT_TAG_SHARE;
+    protected int numberOfUsers = DEFAULT_NUMBER_OF_USERS;
+    protected long now = System.currentTimeMillis() / HOUR * HOUR;
+
+    /**
+     * Constructor for a DataGenerator of an inventory with about one Item name for every ten Resources.
+     *
+     * @param numberOfResources    the number of Resources to be written.
+     * @param numberOfReservations the number of Reservations to be written, shared out evenly between the Resources.
+     * @throws RimsException if either number is negative, or there are Reservations but no Resources.
+     */
+    public DataGenerator(int numberOfResources, int numberOfReservations) throws RimsException {
+        if (numberOfResources < 0 || numberOfReservations < 0) {
+            throw new RimsException("The number of resources and reservations cannot be negative!");
+        }
+        if (numberOfResources == 0 && numberOfReservations > 0) {
+            throw new RimsException("Reservations cannot be made without any resources!");
+        }
+        this.numberOfResources = numberOfResources;
+        this.numberOfReservations = numberOfReservations;
+        this.numberOfNames = Math.max(1, numberOfResources / 10);
+    }
+
+    /**
+     * Sets the number of different names given to Items.
+     *
+     * @param numberOfNames the number of Item names.
+     * @throws RimsException if the number is less than one.
+     */
+    public void setNumberOfNames(int numberOfNames) throws RimsException {
+        if (numberOfNames < 1) {
+            throw new RimsException("There must be at least 1 item name!");
+        }
+        this.numberOfNames = numberOfNames;
+    }
+
+    /**
+     * Sets the seed from which every name, date and user is picked.
+     *
+     * @param seed the seed of the random numbers.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Sets the exponent of the Zipf distribution from which Item names are picked. The n-th most
+     * common name is given to a share of Items proportional to 1 / n ^ skew, so a skew of 0 gives
+     * every name to about as many Items.
+     *
+     * @param skew the exponent of the Zipf distribution.
+     * @throws RimsException if the skew is negative.
+     */
+    public void setSkew(double skew) throws RimsException {
+        if (skew < 0) {
+            throw new RimsException("The skew of the item names cannot be negative!");
+        }
+        this.skew = skew;
+    }
+
+    /**
+     * Sets the shares of Resources that are Rooms, that have an overdue Reservation, and that are tagged.
+     *
+     * @param roomShare    the share of Resources that are Rooms, from 0 to 1.
+     * @param overdueShare the share of Resources whose first Reservation is overdue, from 0 to 1.
+     * @param tagShare     the share of Resources that are tagged, from 0 to 1.
+     * @throws RimsException if any share is not from 0 to 1.
+     */
+    public void setShares(double roomShare, double overdueShare, double tagShare) throws RimsException {
+        if (!isShare(roomShare) || !isShare(overdueShare) || !isShare(tagShare)) {
+            throw new RimsException("Shares of resources must be from 0 to 1!");
+        }
+        this.roomShare = roomShare;
+        this.overdueShare = overdueShare;
+        this.tagShare = tagShare;
+    }
+
+    private static boolean isShare(double share) {
+        return share >= 0 && share <= 1;
+    }
+
+    /**
+     * Sets the number of different users by whom Reservations are made.
+     *
+     * @param numberOfUsers the number of users.
+     * @throws RimsException if the number is less than one.
+     */
+    public void setNumberOfUsers(int numberOfUsers) throws RimsException {
+        if (numberOfUsers < 1) {
+            throw new RimsException("There must be at least 1 user!");
+        }
+        this.numberOfUsers = numberOfUsers;
+    }
+
+    /**
+     * Sets the time around which the Reservations are made, in place of the time the DataGenerator was created.
+     *
+     * @param now the current time, in epoch milliseconds.
+     */
+    public void setNow(long now) {
+        this.now = now / MINUTE * MINUTE;
+    }
+
+    /**
+     * Returns the Item name of a given rank, where the name of rank 0 is the most common.
+     *
+     * @param rank the rank of the name.
+     * @return the name of that rank.
+     */
+    public static String getItemName(int rank) {
+        return "item " + rank;
+    }
+
+    /**
+     * Writes resources.txt, reserves.txt and tags.txt into a directory, replacing any files already there.
+     * Any journal or binary snapshot left in the directory is deleted, so that it is not loaded on top of them.
+     *
+     * @param directory the directory into which the files are written, which is created if needed.
+     * @throws RimsException if the directory cannot be created or the files cannot be written.
+     */
+    public void generate(File directory) throws RimsException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new RimsException("Unable to create the directory " + directory.toString() + "!");
+        }
+        for (String staleFile : STALE_FILES) {
+            new File(directory, staleFile).delete();
+        }
+        Random random = new Random(seed);
+        double[] cumulativeWeights = getCumulativeWeights();
+        try (Writer resourceWriter = newWriter(new File(directory, "resources.txt"));
+                Writer reserveWriter = newWriter(new File(directory, "reserves.txt"));
+                Writer tagWriter = newWriter(new File(directory, "tags.txt"))) {
+            StringBuilder line = new StringBuilder();
+            int reservationId = 0;
+            for (int resourceId = 0; resourceId < numberOfResources; resourceId++) {
+                boolean isRoom = random.nextDouble() < roomShare;
+                String type = isRoom ? "R" : "I";
+                String name = isRoom ? "room " + resourceId : getItemName(pickRank(cumulativeWeights, random));
+                line.setLength(0);
+                line.append(resourceId).append(',').append(type).append(',').append(name).append('\n');
+                resourceWriter.append(line);
+                if (random.nextDouble() < tagShare) {
+                    line.setLength(0);
+                    line.append(resourceId).append(',').append(type).append(',').append(name).append(',')
+                            .append(TAG_NAMES[random.nextInt(TAG_NAMES.length)]).append('\n');
+                    tagWriter.append(line);
+                }
+                int reservationsOfResource = numberOfReservations / numberOfResources
+                        + (resourceId < numberOfReservations % numberOfResources ? 1 : 0);
+                writeReservations(reserveWriter, line, random, reservationId, resourceId, reservationsOfResource);
+                reservationId += reservationsOfResource;
+            }
+        } catch (IOException e) {
+            throw new RimsException("Unable to write the data files to " + directory.toString() + "!");
+        }
+    }
+
+    /**
+     * Writes the Reservations of one Resource, one after another. Each lasts from an hour to three
+     * days. The first is overdue if the Resource is to be overdue, or else is under way at the current
+     * time for about half of the Resources, and the others start up to two days after the one before.
+     */
+    private void writeReservations(Writer reserveWriter, StringBuilder line, Random random, int firstReservationId,
+            int resourceId, int reservationsOfResource) throws IOException {
+        boolean isOverdue = random.nextDouble() < overdueShare;
+        long dateFrom = now + (1 + random.nextInt(2 * 24 * 60)) * MINUTE;
+        for (int i = 0; i < reservationsOfResource; i++) {
+            long duration = HOUR + random.nextInt(71 * 60) * MINUTE;
+            if (i == 0 && isOverdue) {
+                dateFrom = now - duration - (1 + random.nextInt(7 * 24 * 60)) * MINUTE;
+            } else if (i == 0 && random.nextBoolean()) {
+                dateFrom = now - random.nextInt((int) (duration / MINUTE)) * MINUTE;
+            }
+            long dateTill = dateFrom + duration;
+            line.setLength(0);
+            line.append(firstReservationId + i).append(',').append(resourceId).append(',')
+                    .append(random.nextInt(numberOfUsers)).append(',').append(DateCodec.format(dateFrom))
+                    .append(',').append(DateCodec.format(dateTill)).append('\n');
+            reserveWriter.append(line);
+            dateFrom = Math.max(dateTill, now) + (1 + random.nextInt(2 * 24 * 60)) * MINUTE;
+        }
+    }
+
+    /**
+     * Returns the running totals of the weights of the Item names, from the most common name.
+     */
+    private double[] getCumulativeWeights() {
+        double[] cumulativeWeights = new double[numberOfNames];
+        double total = 0;
+        for (int rank = 0; rank < numberOfNames; rank++) {
+            total += 1 / Math.pow(rank + 1, skew);
+            cumulativeWeights[rank] = total;
+        }
+        return cumulativeWeights;
+    }
+
+    /**
+     * Picks the rank of an Item name, with each rank as likely as its weight.
+     */
+    private static int pickRank(double[] cumulativeWeights, Random random) {
+        double target = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        int rank = Arrays.binarySearch(cumulativeWeights, target);
+        return Math.min(rank < 0 ? -rank - 1 : rank, cumulativeWeights.length - 1);
+    }
+
+    private static Writer newWriter(File file) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8),
+                BUFFER_SIZE);
+    }
+
+    /**
+     * Reads the value given after an option in the command-line arguments, or returns the given
+     * default value if the option is not given.
+     */
+    private static String getArgument(String[] args, String option, String defaultValue) throws RimsException {
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].equals(option)) {
+                continue;
+            }
+            if (i + 1 == args.length) {
+                throw new RimsException("Please specify a value after " + option + "!");
+            }
+            return args[i + 1];
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Writes the data files of a synthetic inventory, with its settings given as command-line arguments:
+     * --out [ directory ] and, optionally, --resources [ number ] --reservations [ number ] --names [ number ]
+     * --skew [ exponent ] --seed [ number ] --users [ number ] --rooms [ share ] --overdue [ share ]
+     * --tags [ share ] --now [ dd/MM/yyyy HHmm ].
+     *
+     * @param args the command-line arguments.
+     * @throws RimsException if an argument is invalid, or the files cannot be written.
+     */
+    public static void main(String[] args) throws RimsException {
+        String directory = getArgument(args, "--out", null);
+        if (directory == null) {
+            throw new RimsException("Please specify the directory to write the data files to after --out!");
+        }
+        try {
+            DataGenerator generator = new DataGenerator(Integer.parseInt(getArgument(args, "--resources", "1000")),
+                    Integer.parseInt(getArgument(args, "--reservations", "10000")));
+            String numberOfNames = getArgument(args, "--names", null);
+            if (numberOfNames != null) {
+                generator.setNumberOfNames(Integer.parseInt(numberOfNames));
+            }
+            generator.setSeed(Long.parseLong(getArgument(args, "--seed", String.valueOf(DEFAULT_SEED))));
+            generator.setSkew(Double.parseDouble(getArgument(args, "--skew", String.valueOf(DEFAULT_SKEW))));
+            generator.setNumberOfUsers(Integer.parseInt(getArgument(args, "--users",
+                    String.valueOf(DEFAULT_NUMBER_OF_USERS))));
+            generator.setShares(Double.parseDouble(getArgument(args, "--rooms", String.valueOf(DEFAULT_ROOM_SHARE))),
+                    Double.parseDouble(getArgument(args, "--overdue", String.valueOf(DEFAULT_OVERDUE_SHARE))),
+                    Double.parseDouble(getArgument(args, "--tags", String.valueOf(DEFAULT_TAG_SHARE))));
+            String now = getArgument(args, "--now", null);
+            if (now != null) {
+                generator.setNow(DateCodec.parseMillis(now));
+            }
+            long startTime = System.nanoTime();
+            generator.generate(new File(directory));
+            System.out.println("Wrote " + generator.numberOfResources + " resources and "
+                    + generator.numberOfReservations + " reservations to " + directory + " in "
+                    + (System.nanoTime() - startTime) / 1000000 + " ms.");
+        } catch (NumberFormatException e) {
+            throw new RimsException("Please specify a valid number after each option!");
+        }
+    }
+}
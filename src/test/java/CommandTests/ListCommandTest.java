@@ -12,6 +12,8 @@ import java.util.*;
 import rims.exception.RimsException;
 import rims.resource.*;
 
+import static org.junit.jupiter.api.Assertions.*;
+
 
 public class ListCommandTest {
     private ListCommand commandUnderTest;
@@ -59,4 +61,20 @@ public class ListCommandTest {
         commandUnderTest.execute(ui, storage, listUnderTest);
         System.out.print("Test: Valid input test (room) \nStatus: passed");
     }
+
+    /**
+     * This test lists each page of the resources, and a page after the last one,
+     * which should invoke a RimsException.
+     *
+     * @throws RimsException
+     */
+    @Test
+    void PrintByPageTest() throws RimsException {
+        assertEquals(2, listUnderTest.getNumberOfNames());
+        assertEquals("mpsh", listUnderTest.getFirstOfEachResource(1, 1).get(0).getName());
+        new ListCommand(1, 1).execute(ui, storage, listUnderTest);
+        new ListCommand(2, 1).execute(ui, storage, listUnderTest);
+        assertThrows(RimsException.class, () -> new ListCommand(3, 1).execute(ui, storage, listUnderTest));
+        System.out.print("Test: Valid input test (page) \nStatus: passed");
+    }
 }
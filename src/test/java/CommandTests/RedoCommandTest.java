@@ -0,0 +1,191 @@
+package CommandTests;
+
+import rims.command.AddCommand;
+import rims.command.Command;
+import rims.command.CommandHistory;
+import rims.command.DeleteCommand;
+import rims.command.RedoCommand;
+import rims.command.ReserveCommand;
+import rims.command.UndoCommand;
+import rims.core.ResourceList;
+import rims.core.Storage;
+import rims.core.Ui;
+import rims.exception.RimsException;
+import rims.resource.Item;
+import rims.resource.Resource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class covers undoing and redoing several commands in memory, through the
+ * CommandHistory shared by UndoCommand and RedoCommand.
+ */
+public class RedoCommandTest {
+    private Ui ui;
+    private File directory;
+    private Storage storage;
+    private ResourceList resources;
+    private CommandHistory history;
+
+    @BeforeEach
+    private void init() throws RimsException, IOException {
+        ui = new Ui();
+        directory = Files.createTempDirectory("rims-history").toFile();
+        storage = newStorage();
+        resources = new ResourceList(ui, storage.getResources());
+        history = new CommandHistory(2);
+    }
+
+    private Storage newStorage() throws RimsException {
+        return new Storage(new File(directory, "resources.txt").getPath(),
+                new File(directory, "reserves.txt").getPath(), new File(directory, "tags.txt").getPath());
+    }
+
+    private void run(Command c) throws RimsException {
+        try {
+            c.execute(ui, storage, resources);
+        } finally {
+            storage.commit(resources.getResources());
+            history.record(c);
+        }
+    }
+
+    /**
+     * Several commands are undone one after another, and redone in the order they were made
+     */
+    @Test
+    public void multiLevelUndoRedoTest() throws RimsException {
+        run(new AddCommand("book", 2));
+        run(new ReserveCommand("book", 1, "01/01/2099 1200", 7));
+        assertEquals(1, resources.getBookedNumberOfResource("book"));
+
+        run(new UndoCommand(history));
+        assertEquals(0, resources.getBookedNumberOfResource("book"));
+        assertEquals(2, resources.size());
+        run(new UndoCommand(history));
+        assertEquals(0, resources.size());
+
+        run(new RedoCommand(history));
+        assertEquals(2, resources.size());
+        run(new RedoCommand(history));
+        assertEquals(1, resources.getBookedNumberOfResource("book"));
+        assertFalse(history.canRedo());
+
+        ArrayList<Resource> reloaded = newStorage().getResources();
+        assertEquals(2, reloaded.size());
+        assertEquals(1, reloaded.get(0).getReservations().size() + reloaded.get(1).getReservations().size());
+    }
+
+    /**
+     * Undoing a deletion restores the Resource together with its Reservations, and the
+     * IDs in use are kept track of
+     */
+    @Test
+    public void undoDeleteTest() throws RimsException {
+        run(new AddCommand("projector room"));
+        run(new ReserveCommand("projector room", "01/01/2099 1200", 7));
+        run(new DeleteCommand("projector room", "room"));
+        assertEquals(0, resources.size());
+        assertEquals(0, resources.generateReservationId());
+
+        run(new UndoCommand(history));
+        assertEquals(1, resources.size());
+        assertEquals(1, resources.getResourceByName("projector room").getReservations().size());
+        assertEquals(1, resources.generateResourceId());
+        assertEquals(1, resources.generateReservationId());
+    }
+
+    /**
+     * With another terminal sharing the inventory, a Reservation is not made again over a booking
+     * that terminal has made since, and a Resource it has booked is not deleted again
+     */
+    @Test
+    public void sharedInventoryTest() throws RimsException {
+        CommandHistory otherHistory = new CommandHistory(2);
+        run(new AddCommand("projector room"));
+        run(new ReserveCommand("projector room", "01/01/2099 1200", 7));
+        run(new UndoCommand(history));
+        Command otherReservation = new ReserveCommand("projector room", "01/01/2099 1200", 8);
+        otherReservation.execute(ui, storage, resources);
+        otherHistory.record(otherReservation);
+
+        assertThrows(RimsException.class, () -> run(new RedoCommand(history)));
+        assertEquals(1, resources.getResourceByName("projector room").getReservations().size());
+        assertTrue(history.canRedo());
+        assertThrows(RimsException.class, () -> run(new UndoCommand(history)));
+        assertEquals(1, resources.size());
+        assertTrue(history.canUndo());
+    }
+
+    /**
+     * A Resource or Reservation is not added back with an ID another terminal has been given since
+     */
+    @Test
+    public void reusedIdTest() throws RimsException {
+        run(new AddCommand("pen", 1));
+        run(new UndoCommand(history));
+        Command otherAddition = new AddCommand("chair", 1);
+        otherAddition.execute(ui, storage, resources);
+
+        assertThrows(RimsException.class, () -> run(new RedoCommand(history)));
+        assertEquals(1, resources.size());
+        assertEquals("chair", resources.getResourceById(0).getName());
+        assertEquals(0, resources.getNumberOfResource("pen"));
+
+        run(new ReserveCommand("chair", 1, "01/01/2099 1200", 7));
+        run(new UndoCommand(history));
+        resources.getResourceById(0).book(resources.generateReservationId(), 8,
+                resources.stringToDate("01/02/2099 1200"), resources.stringToDate("02/02/2099 1200"));
+        assertThrows(RimsException.class, () -> run(new RedoCommand(history)));
+        assertEquals(1, resources.getResourceById(0).getReservations().size());
+        assertThrows(IllegalArgumentException.class, () -> resources.add(new Item(0, "pen")));
+    }
+
+    /**
+     * A Command whose changes cannot all be undone is left as it was, and can be undone once the
+     * change that stood in the way has itself been undone
+     */
+    @Test
+    public void partialUndoRolledBackTest() throws RimsException {
+        CommandHistory otherHistory = new CommandHistory(2);
+        run(new AddCommand("book", 2));
+        Command otherReservation = new ReserveCommand("book", 1, "01/01/2099 1200", 8);
+        otherReservation.execute(ui, storage, resources);
+        otherHistory.record(otherReservation);
+
+        assertThrows(RimsException.class, () -> run(new UndoCommand(history)));
+        assertEquals(2, resources.size());
+        assertEquals(1, resources.getBookedNumberOfResource("book"));
+        otherHistory.undo(resources, storage);
+        run(new UndoCommand(history));
+        assertEquals(0, resources.size());
+    }
+
+    /**
+     * Only as many commands as the depth of the history can be undone, and a new command
+     * forgets the commands that were undone
+     */
+    @Test
+    public void depthAndRedoClearedTest() throws RimsException {
+        run(new AddCommand("first room"));
+        run(new AddCommand("second room"));
+        run(new AddCommand("third room"));
+
+        run(new UndoCommand(history));
+        run(new UndoCommand(history));
+        assertFalse(history.canUndo());
+        assertEquals(1, resources.size());
+
+        run(new AddCommand("fourth room"));
+        assertFalse(history.canRedo());
+        assertThrows(RimsException.class, () -> history.redo(resources, storage));
+    }
+}
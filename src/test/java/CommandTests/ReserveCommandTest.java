@@ -27,7 +27,7 @@ public class ReserveCommandTest {
         ui = new Ui();
         ArrayList<Resource> emptyList = new ArrayList<Resource>();
         listUnderTest = new ResourceList(ui, emptyList);
-        storage = new Storage("unitTestData/resources.txt","unitTestData/reserves.txt");
+        storage = new Storage("unitTestData/resources.txt", "unitTestData/reserves.txt", "unitTestData/tags.txt");
     }
 
     /**
@@ -52,7 +52,7 @@ public class ReserveCommandTest {
      */
     @Test
     public void InvalidReturnDateTest() throws ParseException, RimsException {
-        ResourceUnderTest = new Item(1, "TestObject");
+        ResourceUnderTest = new Item(listUnderTest.generateResourceId(), "TestObject");
         listUnderTest.add(ResourceUnderTest);
         // Date from is later than date till
         commandUnderTest = new ReserveCommand("TestObject", 1, "13/11/2020 1800", "12/11/2020 1800", 1);
@@ -74,7 +74,7 @@ public class ReserveCommandTest {
      */
     @Test
     public void PastDateTest() throws ParseException, RimsException {
-        ResourceUnderTest = new Item(1, "TestObject");
+        ResourceUnderTest = new Item(listUnderTest.generateResourceId(), "TestObject");
         listUnderTest.add(ResourceUnderTest);
         // Date from is later than date till
         commandUnderTest = new ReserveCommand("TestObject", 1, "10/11/2000 1800", "12/11/2000 1800", 1);
@@ -92,7 +92,7 @@ public class ReserveCommandTest {
      */
     @Test
     public void InvalidQuantityTest() throws ParseException, RimsException {
-        ResourceUnderTest = new Item(1, "TestObject");
+        ResourceUnderTest = new Item(listUnderTest.generateResourceId(), "TestObject");
         listUnderTest.add(ResourceUnderTest);
         // Date from is later than date till
         commandUnderTest = new ReserveCommand("TestObject", -1, "10/11/2020 1800", "12/11/2020 1800", 1);
@@ -110,7 +110,7 @@ public class ReserveCommandTest {
      */
     @Test
     public void InsufficientQuantityTest() throws ParseException, RimsException {
-        ResourceUnderTest = new Item(1, "TestObject");
+        ResourceUnderTest = new Item(listUnderTest.generateResourceId(), "TestObject");
         listUnderTest.add(ResourceUnderTest);
         commandUnderTest = new ReserveCommand("TestObject", listUnderTest.getAvailableNumberOfResource("TestObject")+1, "10/11/2022 1800", "12/11/2022 1800", 1);
 
@@ -127,11 +127,52 @@ public class ReserveCommandTest {
      */
     @Test
     public void validResultTest() throws RimsException, ParseException, IOException {
-        ResourceUnderTest = new Item(1, "TestObject");
+        ResourceUnderTest = new Item(listUnderTest.generateResourceId(), "TestObject");
         listUnderTest.add(ResourceUnderTest);
         commandUnderTest = new ReserveCommand("TestObject", 1, "10/11/2022 1800", "12/11/2022 1800", 1);
         commandUnderTest.execute(ui, storage, listUnderTest);
         System.out.print("Test: Valid input test\nStatus: Passed\n");
         listUnderTest.deleteResourceByName("TestObject");
     }
-}
\ No newline at end of file
+
+    /**
+     * Many units are booked at once, and when fewer units than asked for are free between
+     * the dates, none of them is booked.
+     */
+    @Test
+    public void bulkReservationTest() throws RimsException, ParseException {
+        for (int i = 0; i < 200; i++) {
+            listUnderTest.add(new Item(listUnderTest.generateResourceId(), "chair"));
+        }
+        commandUnderTest = new ReserveCommand("chair", 150, "10/11/2099 1800", "12/11/2099 1800", 1);
+        commandUnderTest.execute(ui, storage, listUnderTest);
+        long dateFrom = listUnderTest.stringToDate("10/11/2099 1800").getTime();
+        long dateTill = listUnderTest.stringToDate("12/11/2099 1800").getTime();
+        int chairsBooked = 0;
+        for (Resource chair : listUnderTest.getAllOfResource("chair")) {
+            for (Reservation thisReservation : chair.getReservations().getReservationList()) {
+                assertEquals(1, thisReservation.getUserId());
+                assertEquals(dateFrom, thisReservation.getStartTime());
+                assertEquals(dateTill, thisReservation.getEndTime());
+                chairsBooked++;
+            }
+        }
+        assertEquals(150, chairsBooked);
+
+        commandUnderTest = new ReserveCommand("chair", 60, "11/11/2099 1800", "13/11/2099 1800", 1);
+        Exception e = assertThrows(RimsException.class, () -> {
+            commandUnderTest.execute(ui, storage, listUnderTest);
+        });
+        assertEquals("Reservation is not made because only 50 of this resource are available between the dates "
+                + "you've selected!", e.getMessage());
+        int bookedUnits = 0;
+        for (Resource chair : listUnderTest.getAllOfResource("chair")) {
+            bookedUnits += chair.getReservations().size();
+        }
+        assertEquals(150, bookedUnits);
+        System.out.print("Test: Booking many units at once\nStatus: Passed\n");
+        for (int i = 0; i < 200; i++) {
+            listUnderTest.deleteResourceByName("chair");
+        }
+    }
+}
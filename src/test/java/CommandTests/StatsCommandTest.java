@@ -39,19 +39,30 @@ public class StatsCommandTest {
         listUnderTest = new ResourceList(ui, emptyList);
         ResourceUnderTest = new Item(1, "testitem");
         listUnderTest.add(ResourceUnderTest);
-        storage = new Storage("unitTestData/resources.txt", "unitTestData/reserves.txt");
+        storage = new Storage("unitTestData/resources.txt", "unitTestData/reserves.txt", "unitTestData/tags.txt");
     }
 
     @Test
-    public void DateIntervalTooBigTest() throws RimsException, ParseException {
+    public void LongDateIntervalTest() throws RimsException, ParseException {
 
-        commandUnderTest = new StatsCommand("10/10/2021 1000", "11/11/2021 1000");
+        commandUnderTest = new StatsCommand("10/10/2021 1000", "10/01/2022 1000");
+        assertDoesNotThrow(() -> {
+            commandUnderTest.execute(ui, storage, listUnderTest);
+        });
+
+        System.out.print("Test: Showing stats for more than 14 days\nStatus: Passed\n");
+    }
+
+    @Test
+    public void ReversedDateIntervalTest() throws RimsException, ParseException {
+
+        commandUnderTest = new StatsCommand("11/11/2021 1000", "10/10/2021 1000");
         Exception e = assertThrows(RimsException.class, () -> {
             commandUnderTest.execute(ui, storage, listUnderTest);
         });
 
-        assertEquals("The date interval is too large (more than 14 days)", e.getMessage());
-        System.out.print("Test: Trying to return a non-existing reservation\nStatus: Passed\n");
+        assertEquals("The end of the date interval cannot be before its start!", e.getMessage());
+        System.out.print("Test: Showing stats for a reversed date interval\nStatus: Passed\n");
     }
 
 }
\ No newline at end of file
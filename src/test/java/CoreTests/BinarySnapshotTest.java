@@ -0,0 +1,144 @@
+package CoreTests;
+
+import rims.core.Storage;
+import rims.exception.RimsException;
+import rims.resource.Item;
+import rims.resource.Reservation;
+import rims.resource.Resource;
+import rims.resource.Room;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class covers the following methods:
+ * saveToFile / readResourceFile with a binary snapshot
+ * loading a binary Storage from the text data files
+ * exportToText
+ * reading a corrupt binary snapshot
+ */
+public class BinarySnapshotTest {
+    private File directory;
+
+    @BeforeEach
+    private void setup() throws IOException {
+        directory = Files.createTempDirectory("rims-snapshot").toFile();
+    }
+
+    private Storage newStorage(Storage.Format format) throws RimsException {
+        return new Storage(new File(directory, "resources.txt").getPath(),
+                new File(directory, "reserves.txt").getPath(), new File(directory, "tags.txt").getPath(), format);
+    }
+
+    private void addResources(Storage storage) throws RimsException {
+        ArrayList<Resource> resources = storage.getResources();
+        Item book = new Item(0, "book");
+        Item otherBook = new Item(2, "book");
+        Room room = new Room(5, "seminar room");
+        resources.add(book);
+        resources.add(otherBook);
+        resources.add(room);
+        long now = System.currentTimeMillis() / 60000 * 60000;
+        book.book(0, 7, new Date(now - 60000), new Date(now + 3600000));
+        room.book(1, 8, new Date(now + 7200000), new Date(now + 10800000));
+        room.book(3, 9, new Date(now + 14400000), new Date(now + 18000000));
+    }
+
+    private void assertSameResources(ArrayList<Resource> expected, ArrayList<Resource> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toDataFormat(), actual.get(i).toDataFormat());
+            assertEquals(expected.get(i).getReservations().size(), actual.get(i).getReservations().size());
+            for (int j = 0; j < expected.get(i).getReservations().size(); j++) {
+                Reservation expectedReservation = expected.get(i).getReservations().getReservationByIndex(j);
+                Reservation actualReservation = actual.get(i).getReservations().getReservationByIndex(j);
+                assertEquals(expectedReservation.getStartTime(), actualReservation.getStartTime());
+                assertEquals(expectedReservation.getEndTime(), actualReservation.getEndTime());
+                assertEquals(expectedReservation.toDataFormat(), actualReservation.toDataFormat());
+            }
+        }
+    }
+
+    /**
+     * A saved binary snapshot is loaded back exactly, without touching the text data files
+     */
+    @Test
+    public void binaryRoundTripTest() throws RimsException {
+        Storage storage = newStorage(Storage.Format.BINARY);
+        addResources(storage);
+        storage.saveToFile(storage.getResources());
+
+        assertTrue(new File(directory, "snapshot.bin").exists());
+        assertEquals(0, new File(directory, "resources.txt").length());
+        assertSameResources(storage.getResources(), newStorage(Storage.Format.BINARY).getResources());
+    }
+
+    /**
+     * A binary Storage with no snapshot yet imports the text data files, and can export them again
+     */
+    @Test
+    public void importAndExportTextTest() throws RimsException {
+        Storage textStorage = newStorage(Storage.Format.TEXT);
+        addResources(textStorage);
+        textStorage.saveToFile(textStorage.getResources());
+
+        Storage binaryStorage = newStorage(Storage.Format.BINARY);
+        assertSameResources(textStorage.getResources(), binaryStorage.getResources());
+        binaryStorage.getResources().remove(0);
+        binaryStorage.saveToFile(binaryStorage.getResources());
+        binaryStorage.exportToText(binaryStorage.getResources());
+        assertSameResources(binaryStorage.getResources(), newStorage(Storage.Format.TEXT).getResources());
+    }
+
+    /**
+     * A snapshot file that has been cut short is rejected
+     */
+    @Test
+    public void truncatedSnapshotTest() throws RimsException, IOException {
+        Storage storage = newStorage(Storage.Format.BINARY);
+        addResources(storage);
+        storage.saveToFile(storage.getResources());
+        File snapshotFile = new File(directory, "snapshot.bin");
+        byte[] contents = Files.readAllBytes(snapshotFile.toPath());
+        Files.write(snapshotFile.toPath(), Arrays.copyOf(contents, contents.length - 8));
+
+        assertThrows(RimsException.class, () -> newStorage(Storage.Format.BINARY));
+    }
+
+    /**
+     * A snapshot naming a string that is not in its string table, or holding a Resource that is
+     * neither an Item nor a Room, is reported as invalid
+     */
+    @Test
+    public void corruptSnapshotTest() throws RimsException, IOException {
+        Storage storage = newStorage(Storage.Format.BINARY);
+        addResources(storage);
+        storage.saveToFile(storage.getResources());
+        File snapshotFile = new File(directory, "snapshot.bin");
+        byte[] contents = Files.readAllBytes(snapshotFile.toPath());
+        int typesStart = contents.length - 3 * (3 * Integer.BYTES + 2 * Long.BYTES) - 3;
+        int nameIndexesStart = typesStart - 3 * Integer.BYTES;
+
+        byte[] badName = contents.clone();
+        badName[nameIndexesStart + Integer.BYTES - 1] = 99;
+        Files.write(snapshotFile.toPath(), badName);
+        assertThrows(RimsException.class, () -> newStorage(Storage.Format.BINARY));
+
+        byte[] badType = contents.clone();
+        badType[typesStart] = 'X';
+        Files.write(snapshotFile.toPath(), badType);
+        assertThrows(RimsException.class, () -> newStorage(Storage.Format.BINARY));
+
+        Files.write(snapshotFile.toPath(), contents);
+        assertEquals(3, newStorage(Storage.Format.BINARY).getResources().size());
+    }
+}
@@ -0,0 +1,183 @@
+package CoreTests;
+
+import rims.core.DateCodec;
+import rims.core.ResourceList;
+import rims.core.Ui;
+import rims.exception.RimsException;
+import rims.resource.Item;
+import rims.resource.Reservation;
+import rims.resource.Resource;
+import rims.resource.Room;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class covers the following methods:
+ * bookResources
+ * bookIfAvailable
+ * isAvailableFrom
+ */
+public class ConcurrentBookingTest {
+    private static final int THREADS = 16;
+    private static final long NOW = DateCodec.toMillis(2098, 1, 1, 0, 0);
+    private static final Date DATE_FROM = new Date(DateCodec.toMillis(2099, 1, 1, 10, 0));
+    private static final Date DATE_TILL = new Date(DateCodec.toMillis(2099, 1, 2, 10, 0));
+
+    private ResourceList resources;
+
+    @BeforeEach
+    private void setup() throws RimsException {
+        resources = new ResourceList(new Ui(), new ArrayList<Resource>());
+    }
+
+    /**
+     * Runs a task on a number of threads that all start at the same time, and waits for them to end.
+     */
+    private void runTogether(int threads, ThreadTask task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        ArrayList<Thread> running = new ArrayList<Thread>();
+        for (int i = 0; i < threads; i++) {
+            int thread = i;
+            Thread thisThread = new Thread(() -> {
+                try {
+                    start.await();
+                    task.run(thread);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thisThread.start();
+            running.add(thisThread);
+        }
+        start.countDown();
+        for (Thread thisThread : running) {
+            thisThread.join();
+        }
+    }
+
+    private interface ThreadTask {
+        void run(int thread);
+    }
+
+    /**
+     * Many users booking the only unit of a Resource at the same time: exactly one of them succeeds
+     */
+    @Test
+    public void sameUnitBookedOnceTest() throws InterruptedException {
+        resources.add(new Item(0, "pen"));
+        AtomicInteger successes = new AtomicInteger();
+        runTogether(THREADS, thread -> {
+            if (resources.bookResources("pen", 1, thread, DATE_FROM, DATE_TILL, NOW) != null) {
+                successes.incrementAndGet();
+            }
+        });
+        assertEquals(1, successes.get());
+        assertEquals(1, resources.getResourceByIndex(0).getReservations().size());
+        assertEquals(0, resources.getAvailableNumberOfResource("pen", DATE_FROM, DATE_TILL, NOW));
+    }
+
+    /**
+     * Bookings of different Resources at the same time all succeed, each with an ID of its own
+     */
+    @Test
+    public void differentResourcesBookedTogetherTest() throws InterruptedException {
+        int unitsPerName = 10;
+        for (int i = 0; i < THREADS * unitsPerName; i++) {
+            resources.add(new Item(i, "item " + (i / unitsPerName)));
+        }
+        AtomicInteger successes = new AtomicInteger();
+        runTogether(THREADS, thread -> {
+            for (int i = 0; i < unitsPerName; i++) {
+                if (resources.bookResources("item " + thread, 1, thread, DATE_FROM, DATE_TILL, NOW) != null) {
+                    successes.incrementAndGet();
+                }
+            }
+        });
+        assertEquals(THREADS * unitsPerName, successes.get());
+        HashSet<Integer> reservationIds = new HashSet<Integer>();
+        for (Resource thisResource : resources.getResources()) {
+            assertEquals(1, thisResource.getReservations().size());
+            reservationIds.add(thisResource.getReservations().getReservationByIndex(0).getReservationId());
+        }
+        assertEquals(THREADS * unitsPerName, reservationIds.size());
+        assertEquals(THREADS * unitsPerName, resources.getActiveLoans(DATE_FROM.getTime() + 1).size());
+    }
+
+    /**
+     * A booking of more units than are free makes no Reservation at all, and frees the IDs it took
+     */
+    @Test
+    public void allOrNothingTest() {
+        for (int i = 0; i < 3; i++) {
+            resources.add(new Item(i, "pen"));
+        }
+        assertNotNull(resources.bookResources("pen", 1, 1, DATE_FROM, DATE_TILL, NOW));
+        int nextReservationId = resources.generateReservationId();
+        assertNull(resources.bookResources("pen", 3, 2, DATE_FROM, DATE_TILL, NOW));
+        assertEquals(nextReservationId, resources.generateReservationId());
+        assertEquals(2, resources.getAvailableNumberOfResource("pen", DATE_FROM, DATE_TILL, NOW));
+        assertEquals(2, resources.bookResources("pen", 2, 2, DATE_FROM, DATE_TILL, NOW).size());
+    }
+
+    /**
+     * Many users booking the same slots of a popular Room at the same time: every slot is booked
+     * exactly once, and no two Reservations of the Room overlap
+     */
+    @Test
+    public void popularRoomTest() throws InterruptedException {
+        Room hall = new Room(0, "hall");
+        resources.add(hall);
+        int slots = 40;
+        long hour = 60 * 60 * 1000L;
+        AtomicInteger successes = new AtomicInteger();
+        runTogether(THREADS, thread -> {
+            for (int slot = 0; slot < slots; slot++) {
+                Date slotFrom = new Date(DATE_FROM.getTime() + 2 * slot * hour);
+                Date slotTill = new Date(slotFrom.getTime() + hour);
+                if (hall.bookIfAvailable(thread * slots + slot, thread, slotFrom, slotTill, NOW) != null) {
+                    successes.incrementAndGet();
+                }
+            }
+        });
+        assertEquals(slots, successes.get());
+        ArrayList<Reservation> bookings = new ArrayList<Reservation>(hall.getReservations().getReservationList());
+        bookings.sort((first, second) -> Long.compare(first.getStartTime(), second.getStartTime()));
+        for (int i = 1; i < bookings.size(); i++) {
+            assertTrue(bookings.get(i - 1).getEndTime() < bookings.get(i).getStartTime());
+        }
+        assertEquals(slots, hall.getReservations().size());
+    }
+
+    /**
+     * A booking whose dates wholly contain, or lie wholly within, those of an existing booking is not made
+     */
+    @Test
+    public void containingWindowTest() {
+        Room hall = new Room(0, "hall");
+        resources.add(hall);
+        Date innerFrom = new Date(DateCodec.toMillis(2099, 1, 3, 10, 0));
+        Date innerTill = new Date(DateCodec.toMillis(2099, 1, 5, 10, 0));
+        Date outerFrom = new Date(DateCodec.toMillis(2099, 1, 1, 10, 0));
+        Date outerTill = new Date(DateCodec.toMillis(2099, 1, 10, 10, 0));
+        assertNotNull(hall.bookIfAvailable(0, 1, innerFrom, innerTill, NOW));
+        assertNull(hall.bookIfAvailable(1, 2, outerFrom, outerTill, NOW));
+        assertNull(resources.bookResources("hall", 1, 2, outerFrom, outerTill, NOW));
+        assertEquals(0, resources.getAvailableNumberOfResource("hall", outerFrom, outerTill, NOW));
+
+        Room lab = new Room(1, "lab");
+        resources.add(lab);
+        assertNotNull(lab.bookIfAvailable(2, 1, outerFrom, outerTill, NOW));
+        assertNull(lab.bookIfAvailable(3, 2, innerFrom, innerTill, NOW));
+        assertEquals(1, hall.getReservations().size());
+        assertEquals(1, lab.getReservations().size());
+    }
+}
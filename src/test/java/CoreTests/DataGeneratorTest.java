@@ -0,0 +1,106 @@
+package CoreTests;
+
+import rims.core.Storage;
+import rims.exception.RimsException;
+import rims.resource.Reservation;
+import rims.resource.ReservationList;
+import rims.resource.Resource;
+import rims.tools.DataGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class covers the following methods:
+ * generate
+ */
+public class DataGeneratorTest {
+    private File directory;
+
+    @BeforeEach
+    private void setup() throws IOException {
+        directory = Files.createTempDirectory("rims-generator").toFile();
+    }
+
+    private Storage newStorage(File directory) throws RimsException {
+        return new Storage(new File(directory, "resources.txt").getPath(),
+                new File(directory, "reserves.txt").getPath(), new File(directory, "tags.txt").getPath());
+    }
+
+    /**
+     * The files written can be loaded by Storage, with every Reservation, and the Reservations
+     * of each Resource do not overlap
+     */
+    @Test
+    public void generatedFilesAreValidTest() throws RimsException {
+        DataGenerator generator = new DataGenerator(300, 2000);
+        generator.setShares(0.2, 0.1, 0.5);
+        generator.generate(directory);
+
+        Storage storage = newStorage(directory);
+        ArrayList<Resource> resources = storage.getResources();
+        assertEquals(300, resources.size());
+        assertFalse(storage.getTags().isEmpty());
+        int numberOfReservations = 0;
+        int numberOfOverdueResources = 0;
+        for (Resource thisResource : resources) {
+            ReservationList reservations = thisResource.getReservations();
+            numberOfReservations += reservations.size();
+            long lastEnd = Long.MIN_VALUE;
+            for (int i = 0; i < reservations.size(); i++) {
+                Reservation thisReservation = reservations.getReservationByIndex(i);
+                assertTrue(thisReservation.getStartTime() < thisReservation.getEndTime());
+                assertTrue(thisReservation.getStartTime() > lastEnd);
+                lastEnd = thisReservation.getEndTime();
+                if (i == 0 && thisReservation.isOverdue()) {
+                    numberOfOverdueResources++;
+                }
+            }
+        }
+        assertEquals(2000, numberOfReservations);
+        assertTrue(numberOfOverdueResources > 0 && numberOfOverdueResources < 300);
+    }
+
+    /**
+     * The same seed always gives the same files, a different seed gives different files, and
+     * the most common Item name is shared by more Items than the least common one
+     */
+    @Test
+    public void reproducibleSkewedNamesTest() throws RimsException, IOException {
+        File sameSeedDirectory = new File(directory, "same");
+        File otherSeedDirectory = new File(directory, "other");
+        for (File thisDirectory : Arrays.asList(directory, sameSeedDirectory, otherSeedDirectory)) {
+            DataGenerator generator = new DataGenerator(2000, 4000);
+            generator.setNow(4102444800000L);
+            generator.setSeed(thisDirectory == otherSeedDirectory ? 1 : DataGenerator.DEFAULT_SEED);
+            generator.setNumberOfNames(50);
+            generator.setSkew(1.5);
+            generator.generate(thisDirectory);
+        }
+        byte[] reservations = Files.readAllBytes(new File(directory, "reserves.txt").toPath());
+        assertArrayEquals(reservations, Files.readAllBytes(new File(sameSeedDirectory, "reserves.txt").toPath()));
+        assertFalse(Arrays.equals(reservations,
+                Files.readAllBytes(new File(otherSeedDirectory, "reserves.txt").toPath())));
+
+        Storage storage = newStorage(directory);
+        int mostCommon = 0;
+        int leastCommon = 0;
+        for (Resource thisResource : storage.getResources()) {
+            if (thisResource.getName().equals(DataGenerator.getItemName(0))) {
+                mostCommon++;
+            } else if (thisResource.getName().equals(DataGenerator.getItemName(49))) {
+                leastCommon++;
+            }
+        }
+        assertTrue(mostCommon > 10 * leastCommon);
+        assertThrows(RimsException.class, () -> new DataGenerator(0, 10));
+    }
+}
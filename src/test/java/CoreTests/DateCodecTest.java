@@ -0,0 +1,65 @@
+package CoreTests;
+
+import rims.core.DateCodec;
+import rims.exception.RimsException;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class covers the following methods:
+ * parseMillis / parse
+ * format / formatDay
+ * formatForPrinting
+ */
+public class DateCodecTest {
+
+    /**
+     * Dates are read and written exactly as SimpleDateFormat reads and writes them
+     */
+    @Test
+    public void matchesSimpleDateFormatTest() throws Exception {
+        SimpleDateFormat formatter = new SimpleDateFormat("dd/MM/yyyy HHmm");
+        String[] dates = {"01/01/1970 0000", "29/02/2024 2359", "31/12/2099 1200", "18/10/2026 1028"};
+        for (String stringDate : dates) {
+            long millis = DateCodec.parseMillis(stringDate);
+            assertEquals(formatter.parse(stringDate).getTime(), millis);
+            assertEquals(stringDate, DateCodec.format(millis));
+            assertEquals(stringDate.substring(0, 10), DateCodec.formatDay(millis));
+        }
+        assertEquals(formatter.parse("05/03/2030 0900"), DateCodec.parse("5/3/2030 0900"));
+    }
+
+    /**
+     * Dates that do not exist, or are not in dd/MM/yyyy HHmm format, are rejected
+     */
+    @Test
+    public void invalidDateTest() {
+        String[] dates = {"29/02/2023 1200", "31/04/2030 1200", "01/13/2030 1200", "01/01/2030 2400",
+            "01/01/2030 1260", "01/01/30 1200", "01-01-2030 1200", "01/01/2030 12:00", "Monday 1200", ""};
+        for (String stringDate : dates) {
+            assertThrows(RimsException.class, () -> DateCodec.parseMillis(stringDate));
+        }
+    }
+
+    /**
+     * Dates are printed for the user's reading with the day of the month as an ordinal
+     */
+    @Test
+    public void formatForPrintingTest() throws RimsException {
+        assertEquals("Sunday, 18th October 2026, 10:28 AM", DateCodec.formatForPrinting(
+                DateCodec.parseMillis("18/10/2026 1028")));
+        assertEquals("Thursday, 1st January 2026, 12:00 AM", DateCodec.formatForPrinting(
+                DateCodec.parse("01/01/2026 0000")));
+        assertEquals("Monday, 22nd June 2026, 02:30 PM", DateCodec.formatForPrinting(
+                DateCodec.parseMillis("22/06/2026 1430")));
+        assertEquals("Thursday, 23rd July 2026, 11:59 PM", DateCodec.formatForPrinting(
+                DateCodec.parseMillis("23/07/2026 2359")));
+        assertEquals("Sunday, 11th November 2029, 12:00 PM", DateCodec.formatForPrinting(
+                new Date(DateCodec.parseMillis("11/11/2029 1200"))));
+    }
+}
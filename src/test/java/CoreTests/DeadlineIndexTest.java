@@ -0,0 +1,95 @@
+package CoreTests;
+
+import rims.core.ResourceList;
+import rims.core.Ui;
+import rims.exception.RimsException;
+import rims.resource.Item;
+import rims.resource.Reservation;
+import rims.resource.Resource;
+import rims.resource.Room;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class covers the following methods:
+ * getDueReservations
+ * getActiveLoans
+ * and the DeadlineIndex kept up to date by ResourceList
+ */
+public class DeadlineIndexTest {
+    private static final long HOUR = 60 * 60 * 1000L;
+
+    /**
+     * Only active Reservations that are overdue or expiring within the given number of days are
+     * due, one per Resource, in the order they end, and booking or cancelling updates the index
+     */
+    @Test
+    public void dueReservationsTest() throws RimsException {
+        long now = System.currentTimeMillis();
+        Resource pen = new Item(0, "pen");
+        Resource hall = new Room(1, "hall");
+        Resource book = new Item(2, "book");
+        pen.getReservations().add(new Reservation(0, 0, 1, now - 2 * HOUR, now + 30 * HOUR));
+        pen.getReservations().add(new Reservation(1, 0, 1, now - 50 * HOUR, now - 10 * HOUR));
+        hall.getReservations().add(new Reservation(2, 1, 1, now - HOUR, now + 10 * 24 * HOUR));
+        book.getReservations().add(new Reservation(3, 2, 1, now + HOUR, now + 5 * HOUR));
+        ResourceList resources = new ResourceList(new Ui(), new ArrayList<Resource>(Arrays.asList(pen, hall, book)));
+
+        ArrayList<Reservation> due = resources.getDueReservations(3, now);
+        assertEquals(1, due.size());
+        assertEquals(1, due.get(0).getReservationId());
+
+        hall.getReservations().add(new Reservation(4, 1, 1, now - HOUR, now + 2 * HOUR));
+        due = resources.getDueReservations(3, now);
+        assertEquals(2, due.size());
+        assertEquals(1, due.get(0).getReservationId());
+        assertEquals(4, due.get(1).getReservationId());
+
+        pen.getReservations().cancelReservationById(1);
+        due = resources.getDueReservations(3, now);
+        assertEquals(4, due.get(0).getReservationId());
+        assertEquals(0, due.get(1).getReservationId());
+
+        resources.deleteResourceByName("hall");
+        due = resources.getDueReservations(3, now);
+        assertEquals(1, due.size());
+        assertEquals(0, due.get(0).getReservationId());
+    }
+
+    /**
+     * Every booked Resource has one active loan, in the order they end, and Reservations start
+     * being loans as the current time passes their start, or stop again if the time goes back
+     */
+    @Test
+    public void activeLoansTest() throws RimsException {
+        long now = System.currentTimeMillis();
+        Resource pen = new Item(0, "pen");
+        Resource hall = new Room(1, "hall");
+        pen.getReservations().add(new Reservation(0, 0, 1, now - 2 * HOUR, now + 30 * HOUR));
+        pen.getReservations().add(new Reservation(1, 0, 1, now - 50 * HOUR, now - 10 * HOUR));
+        hall.getReservations().add(new Reservation(2, 1, 1, now + HOUR, now + 5 * HOUR));
+        ResourceList resources = new ResourceList(new Ui(), new ArrayList<Resource>(Arrays.asList(pen, hall)));
+
+        ArrayList<Reservation> loans = resources.getActiveLoans(now);
+        assertEquals(1, loans.size());
+        assertEquals(1, loans.get(0).getReservationId());
+
+        loans = resources.getActiveLoans(now + 2 * HOUR);
+        assertEquals(2, loans.size());
+        assertEquals(1, loans.get(0).getReservationId());
+        assertEquals(2, loans.get(1).getReservationId());
+
+        pen.getReservations().cancelReservationById(1);
+        assertEquals(2, resources.getActiveLoans(now + 2 * HOUR).get(0).getReservationId());
+        assertEquals(0, resources.getActiveLoans(now + 2 * HOUR).get(1).getReservationId());
+        assertEquals(0, resources.getActiveLoans(now + 5 * HOUR).get(0).getReservationId());
+        assertEquals(1, resources.getActiveLoans(now + 5 * HOUR).size());
+        assertEquals(1, resources.getActiveLoans(now - HOUR).size());
+        assertTrue(resources.getActiveLoans(now - 3 * HOUR).isEmpty());
+    }
+}
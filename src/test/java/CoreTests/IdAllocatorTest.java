@@ -0,0 +1,53 @@
+package CoreTests;
+
+import rims.core.IdAllocator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class covers the following methods:
+ * peek / peek(number)
+ * markUsed / release
+ * allocate / allocate(number)
+ */
+public class IdAllocatorTest {
+
+    /**
+     * The lowest free ID is handed out, including gaps left by released IDs
+     */
+    @Test
+    public void lowestFreeIdTest() {
+        IdAllocator allocator = new IdAllocator();
+        assertEquals(0, allocator.peek());
+        allocator.markUsed(0);
+        allocator.markUsed(1);
+        allocator.markUsed(3);
+        assertEquals(2, allocator.peek());
+        assertEquals(2, allocator.allocate());
+        assertEquals(4, allocator.peek());
+        allocator.release(1);
+        assertEquals(1, allocator.peek());
+        assertFalse(allocator.isUsed(1));
+        assertTrue(allocator.isUsed(3));
+    }
+
+    /**
+     * A batch of IDs skips over IDs in use, and is only taken when allocated
+     */
+    @Test
+    public void batchTest() {
+        IdAllocator allocator = new IdAllocator();
+        allocator.markUsed(1);
+        allocator.markUsed(4);
+        assertEquals(new ArrayList<Integer>(Arrays.asList(0, 2, 3, 5)), allocator.peek(4));
+        assertEquals(0, allocator.peek());
+        assertEquals(new ArrayList<Integer>(Arrays.asList(0, 2, 3, 5)), allocator.allocate(4));
+        assertEquals(6, allocator.peek());
+        assertTrue(allocator.peek(0).isEmpty());
+    }
+}
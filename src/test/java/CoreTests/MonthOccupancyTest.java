@@ -0,0 +1,62 @@
+package CoreTests;
+
+import rims.core.DateCodec;
+import rims.core.MonthOccupancy;
+import rims.core.ResourceList;
+import rims.core.Ui;
+import rims.exception.RimsException;
+import rims.resource.Item;
+import rims.resource.Reservation;
+import rims.resource.Resource;
+import rims.resource.Room;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class covers the following methods:
+ * getBookedNumber
+ * getBookedList
+ */
+public class MonthOccupancyTest {
+
+    /**
+     * Every day is counted when checked at the given time of day, with each Resource counted once
+     * per day, and an overdue Resource counted on every day
+     */
+    @Test
+    public void bookedCountsTest() throws RimsException {
+        Resource firstPen = new Item(0, "pen");
+        Resource secondPen = new Item(1, "pen");
+        Resource hall = new Room(2, "hall");
+        Resource oldPen = new Item(3, "old pen");
+        firstPen.getReservations().add(new Reservation(0, 0, 1, "02/01/2099 0900", "04/01/2099 1100"));
+        firstPen.getReservations().add(new Reservation(1, 0, 1, "03/01/2099 0800", "05/01/2099 0900"));
+        secondPen.getReservations().add(new Reservation(2, 1, 1, "03/01/2099 1500", "05/01/2099 1200"));
+        hall.getReservations().add(new Reservation(3, 2, 1, "30/12/2098 1000", "01/02/2099 1000"));
+        oldPen.getReservations().add(new Reservation(4, 3, 1, "01/01/2000 1000", "02/01/2000 1000"));
+        ResourceList resources = new ResourceList(new Ui(),
+                new ArrayList<Resource>(Arrays.asList(firstPen, secondPen, hall, oldPen)));
+        long now = DateCodec.parseMillis("01/06/2020 1200");
+
+        MonthOccupancy occupancy = new MonthOccupancy(resources, YearMonth.of(2099, 1), 10, 0, now);
+        assertEquals(31, occupancy.getDaysInMonth());
+        assertEquals(0, occupancy.getBookedNumber(1, "pen"));
+        assertEquals(1, occupancy.getBookedNumber(2, "pen"));
+        assertEquals(1, occupancy.getBookedNumber(3, "pen"));
+        assertEquals(2, occupancy.getBookedNumber(4, "pen"));
+        assertEquals(1, occupancy.getBookedNumber(5, "pen"));
+        assertEquals(0, occupancy.getBookedNumber(6, "pen"));
+        assertEquals(1, occupancy.getBookedNumber(31, "hall"));
+        assertEquals(1, occupancy.getBookedNumber(17, "old pen"));
+        assertEquals(0, occupancy.getBookedNumber(17, "projector"));
+        assertEquals(new ArrayList<String>(Arrays.asList("2x pen", "1x hall", "1x old pen")),
+                occupancy.getBookedList(4));
+        assertEquals(new ArrayList<String>(Arrays.asList("1x hall", "1x old pen")), occupancy.getBookedList(1));
+    }
+}
@@ -0,0 +1,96 @@
+package CoreTests;
+
+import rims.core.BookingSweep;
+import rims.core.DateCodec;
+import rims.core.QueryExecutor;
+import rims.core.ResourceList;
+import rims.core.Ui;
+import rims.exception.RimsException;
+import rims.resource.Item;
+import rims.resource.Reservation;
+import rims.resource.Resource;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class covers the following methods:
+ * map
+ * and BookingSweep, run on more than one thread
+ */
+public class QueryExecutorTest {
+
+    /**
+     * Results are collected in the order of their indexes, whether queries are run on the
+     * calling thread or on several threads
+     */
+    @Test
+    public void resultOrderTest() throws RimsException {
+        QueryExecutor sequential = new QueryExecutor();
+        QueryExecutor parallel = new QueryExecutor(4);
+        try {
+            ArrayList<Integer> sequentialResults = sequential.map(10000, i -> i * 3);
+            ArrayList<Integer> parallelResults = parallel.map(10000, i -> i * 3);
+            assertEquals(10000, parallelResults.size());
+            assertEquals(sequentialResults, parallelResults);
+            assertEquals(29997, parallelResults.get(9999));
+        } finally {
+            parallel.shutdown();
+        }
+    }
+
+    /**
+     * An error raised by a query on another thread is thrown to the caller
+     */
+    @Test
+    public void errorTest() {
+        QueryExecutor parallel = new QueryExecutor(4);
+        try {
+            Exception e = assertThrows(RimsException.class, () -> parallel.map(10000, i -> {
+                if (i == 5000) {
+                    throw new RimsException("Query failed!");
+                }
+                return i;
+            }));
+            assertEquals("Query failed!", e.getMessage());
+        } finally {
+            parallel.shutdown();
+        }
+        assertThrows(IllegalArgumentException.class, () -> new QueryExecutor(0));
+    }
+
+    /**
+     * The number of booked Resources found on several threads is the same as on one thread
+     */
+    @Test
+    public void parallelBookingSweepTest() throws RimsException {
+        ArrayList<Resource> allResources = new ArrayList<Resource>();
+        long day = 24 * 60 * 60 * 1000L;
+        long start = DateCodec.parseMillis("01/01/2099 1200");
+        for (int i = 0; i < 1000; i++) {
+            Resource thisResource = new Item(i, "item " + (i % 7));
+            if (i % 3 != 0) {
+                thisResource.getReservations().add(new Reservation(i, i, 1, start + (i % 30) * day,
+                        start + (i % 30 + i % 5 + 1) * day));
+            }
+            allResources.add(thisResource);
+        }
+        ResourceList resources = new ResourceList(new Ui(), allResources);
+        long now = DateCodec.parseMillis("01/06/2020 1200");
+        BookingSweep sequentialSweep = new BookingSweep(resources, now);
+        resources.setQueryExecutor(new QueryExecutor(4));
+        try {
+            BookingSweep parallelSweep = new BookingSweep(resources, now);
+            for (int i = 0; i < 40; i++) {
+                long time = start + i * day;
+                assertEquals(sequentialSweep.getBookedNumberAt(time), parallelSweep.getBookedNumberAt(time));
+            }
+            assertTrue(parallelSweep.getBookedNumberAt(start + 10 * day) > 0);
+        } finally {
+            resources.getQueryExecutor().shutdown();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package CoreTests;
+
+import rims.exception.RimsException;
+import rims.resource.Reservation;
+import rims.resource.ReservationList;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class covers the following methods:
+ * isCurrentlyAvailable
+ * isAvailableOnDate
+ * isAvailableFrom
+ * getCurrentBooking
+ * the overloads of the above taking the current time
+ */
+public class ReservationListTest {
+    private static final long HOUR = 60 * 60 * 1000L;
+    private long now;
+    private ReservationList listUnderTest;
+
+    @BeforeEach
+    private void setup() {
+        now = System.currentTimeMillis();
+        listUnderTest = new ReservationList();
+    }
+
+    private Date hoursFromNow(int hours) {
+        return new Date(now + hours * HOUR);
+    }
+
+    /**
+     * A Resource is unavailable while booked, and available before and after
+     */
+    @Test
+    public void availableOnDateTest() {
+        listUnderTest.add(new Reservation(0, 0, 1, hoursFromNow(10), hoursFromNow(20)));
+        listUnderTest.add(new Reservation(1, 0, 1, hoursFromNow(30), hoursFromNow(40)));
+        assertTrue(listUnderTest.isCurrentlyAvailable());
+        assertTrue(listUnderTest.isAvailableOnDate(hoursFromNow(5)));
+        assertFalse(listUnderTest.isAvailableOnDate(hoursFromNow(15)));
+        assertTrue(listUnderTest.isAvailableOnDate(hoursFromNow(25)));
+        assertFalse(listUnderTest.isAvailableOnDate(hoursFromNow(35)));
+        assertTrue(listUnderTest.isAvailableOnDate(hoursFromNow(20)));
+    }
+
+    /**
+     * A window overlapping either end of a Reservation, containing it, or sharing its start or end, is unavailable
+     */
+    @Test
+    public void availableFromTest() {
+        listUnderTest.add(new Reservation(0, 0, 1, hoursFromNow(10), hoursFromNow(20)));
+        assertTrue(listUnderTest.isAvailableFrom(hoursFromNow(1), hoursFromNow(9)));
+        assertFalse(listUnderTest.isAvailableFrom(hoursFromNow(5), hoursFromNow(15)));
+        assertFalse(listUnderTest.isAvailableFrom(hoursFromNow(15), hoursFromNow(25)));
+        assertFalse(listUnderTest.isAvailableFrom(hoursFromNow(10), hoursFromNow(12)));
+        assertFalse(listUnderTest.isAvailableFrom(hoursFromNow(12), hoursFromNow(20)));
+        assertFalse(listUnderTest.isAvailableFrom(hoursFromNow(5), hoursFromNow(25)));
+        assertTrue(listUnderTest.isAvailableFrom(hoursFromNow(20), hoursFromNow(30)));
+    }
+
+    /**
+     * An overdue Reservation makes the Resource unavailable at any date, and is its current booking
+     */
+    @Test
+    public void overdueTest() throws RimsException {
+        assertThrows(RimsException.class, () -> listUnderTest.getCurrentBooking());
+        listUnderTest.add(new Reservation(0, 0, 1, hoursFromNow(10), hoursFromNow(20)));
+        listUnderTest.add(new Reservation(1, 0, 1, hoursFromNow(-10), hoursFromNow(-5)));
+        assertFalse(listUnderTest.isCurrentlyAvailable());
+        assertFalse(listUnderTest.isAvailableOnDate(hoursFromNow(50)));
+        assertFalse(listUnderTest.isAvailableFrom(hoursFromNow(50), hoursFromNow(60)));
+        assertEquals(1, listUnderTest.getCurrentBooking().getReservationId());
+
+        listUnderTest.cancelReservationById(1);
+        assertTrue(listUnderTest.isCurrentlyAvailable());
+        assertThrows(RimsException.class, () -> listUnderTest.getCurrentBooking());
+    }
+
+    /**
+     * Of several current bookings, the one made first is returned
+     */
+    @Test
+    public void currentBookingOrderTest() throws RimsException {
+        listUnderTest.add(new Reservation(0, 0, 1, hoursFromNow(-1), hoursFromNow(5)));
+        listUnderTest.add(new Reservation(1, 0, 1, hoursFromNow(-3), hoursFromNow(-2)));
+        listUnderTest.add(new Reservation(2, 0, 1, hoursFromNow(-2), hoursFromNow(1)));
+        assertEquals(0, listUnderTest.getCurrentBooking().getReservationId());
+        listUnderTest.cancelReservationById(0);
+        assertEquals(1, listUnderTest.getCurrentBooking().getReservationId());
+    }
+
+    /**
+     * Checks evaluated against a given current time instead of the clock
+     */
+    @Test
+    public void givenCurrentTimeTest() throws RimsException {
+        Reservation reservation = new Reservation(0, 0, 1, now + 10 * HOUR, now + 20 * HOUR);
+        listUnderTest.add(reservation);
+        assertEquals(now + 10 * HOUR, reservation.getStartTime());
+        assertEquals(new Date(now + 20 * HOUR), reservation.getEndDate());
+
+        assertTrue(listUnderTest.isCurrentlyAvailable(now));
+        assertFalse(listUnderTest.isCurrentlyAvailable(now + 15 * HOUR));
+        assertFalse(reservation.isOverdue(now + 20 * HOUR));
+        assertTrue(reservation.isOverdue(now + 20 * HOUR + 1));
+        assertFalse(listUnderTest.isAvailableOnDate(hoursFromNow(-5), now + 21 * HOUR));
+        assertEquals(0, listUnderTest.getCurrentBooking(now + 21 * HOUR).getReservationId());
+        assertEquals(2, reservation.getDaysDueIn(now - 30 * HOUR));
+        assertTrue(reservation.isDueInDays(1, now));
+        assertEquals(1, listUnderTest.getDueReservations(1, now + 11 * HOUR).size());
+        assertEquals(0, listUnderTest.getDueReservations(1, now).size());
+    }
+}
@@ -23,6 +23,7 @@ import static org.junit.jupiter.api.Assertions.*;
  * getResourceById
  * getResourceByName
  * getNumberOfResource(name)
+ * getAvailableNumberOfResource(name, from, till)
  * stringToDate
  * dateToString
  * 
@@ -61,4 +62,105 @@ public class ResourceListTest {
     @Test
     public void Test1(){
     }
-}
\ No newline at end of file
+
+    /**
+     * Lookups by ID and by name reflect resources that have been added and deleted
+     */
+    @Test
+    public void indexesFollowAddAndDeleteTest() throws RimsException {
+        ResourceList list = new ResourceList(ui, new ArrayList<Resource>());
+        list.add(new Item(3, "pen"));
+        list.add(new Item(5, "pen"));
+        list.add(new Item(7, "ruler"));
+
+        assertEquals(2, list.getNumberOfResource("pen"));
+        assertEquals(3, list.getResourceByName("pen").getResourceId());
+        assertEquals("ruler", list.getResourceById(7).getName());
+
+        list.deleteResourceById(3);
+        assertEquals(1, list.getAllOfResource("pen").size());
+        assertEquals(5, list.getResourceByName("pen").getResourceId());
+        assertThrows(RimsException.class, () -> list.getResourceById(3));
+
+        list.deleteResourceByName("pen");
+        assertEquals(0, list.getNumberOfResource("pen"));
+        assertThrows(RimsException.class, () -> list.getResourceByName("pen"));
+        assertThrows(RimsException.class, () -> list.deleteResourceByName("pen"));
+        assertEquals(1, list.size());
+    }
+
+    /**
+     * Replacing the array of Resources rebuilds the lookups
+     */
+    @Test
+    public void setResourcesRebuildsIndexesTest() throws RimsException {
+        ResourceList list = new ResourceList(ui, new ArrayList<Resource>());
+        list.add(new Item(1, "pen"));
+        ArrayList<Resource> replacement = new ArrayList<Resource>();
+        replacement.add(new Item(2, "stapler"));
+        list.setResources(replacement);
+
+        assertThrows(RimsException.class, () -> list.getResourceById(1));
+        assertEquals("stapler", list.getResourceById(2).getName());
+        assertEquals(0, list.getNumberOfResource("pen"));
+    }
+
+    /**
+     * New IDs are the lowest ones not in use, and reflect reservations made directly on a Resource
+     */
+    @Test
+    public void generateIdsTest() throws RimsException {
+        ResourceList list = new ResourceList(ui, new ArrayList<Resource>());
+        Resource pen = new Item(0, "pen");
+        list.add(pen);
+        list.add(new Item(2, "pen"));
+        assertEquals(1, list.generateResourceId());
+        assertEquals(new ArrayList<Integer>(Arrays.asList(1, 3)), list.generateResourceIds(2));
+
+        Date from = new Date();
+        Date till = new Date(System.currentTimeMillis() + 60000);
+        pen.book(list.generateReservationId(), 1, from, till);
+        pen.book(list.generateReservationId(), 1, from, till);
+        assertEquals(2, list.generateReservationId());
+        pen.getReservations().cancelReservationById(0);
+        assertEquals(0, list.generateReservationId());
+
+        list.deleteResourceById(0);
+        assertEquals(0, list.generateResourceId());
+        assertEquals(0, list.generateReservationId());
+        assertEquals(new ArrayList<Integer>(Arrays.asList(0, 1)), list.generateReservationIds(2));
+    }
+
+    /**
+     * Resources are counted as available between two dates only if they are free on both dates,
+     * and the count follows reservations that are made and cancelled
+     */
+    @Test
+    public void availableBetweenDatesTest() throws RimsException {
+        ResourceList list = new ResourceList(ui, new ArrayList<Resource>());
+        Resource firstPen = new Item(0, "pen");
+        Resource secondPen = new Item(1, "pen");
+        list.add(firstPen);
+        list.add(secondPen);
+        list.add(new Item(2, "pen"));
+        long now = System.currentTimeMillis();
+        long hour = 60 * 60 * 1000L;
+        firstPen.book(0, 1, new Date(now + 10 * hour), new Date(now + 20 * hour));
+        secondPen.book(1, 1, new Date(now + 15 * hour), new Date(now + 30 * hour));
+
+        assertEquals(3, list.getAvailableNumberOfResource("pen", new Date(now + hour), new Date(now + 5 * hour), now));
+        assertEquals(2, list.getAvailableNumberOfResource("pen", new Date(now + 5 * hour), new Date(now + 12 * hour),
+                now));
+        assertEquals(1, list.getAvailableNumberOfResource("pen", new Date(now + 12 * hour), new Date(now + 16 * hour),
+                now));
+        assertEquals(2, list.getAvailableNumberOfResource("pen", new Date(now + 25 * hour), new Date(now + 40 * hour),
+                now));
+        assertEquals(0, list.getAvailableNumberOfResource("ruler", new Date(now), new Date(now + hour), now));
+
+        secondPen.getReservations().cancelReservationById(1);
+        assertEquals(2, list.getAvailableNumberOfResource("pen", new Date(now + 12 * hour), new Date(now + 16 * hour),
+                now));
+        assertEquals(2, list.getAvailableNumberOfResource("pen", new Date(now + hour), new Date(now + 5 * hour),
+                now + 25 * hour));
+    }
+}
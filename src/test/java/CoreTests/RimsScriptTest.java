@@ -0,0 +1,94 @@
+package CoreTests;
+
+import rims.core.CommandTimings;
+import rims.core.Rims;
+import rims.core.Storage;
+import rims.exception.RimsException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.ParseException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class covers the following methods:
+ * runScript
+ * CommandTimings
+ */
+public class RimsScriptTest {
+    private File directory;
+
+    @BeforeEach
+    private void setup() throws IOException {
+        directory = Files.createTempDirectory("rims-script").toFile();
+    }
+
+    private String pathOf(String fileName) {
+        return new File(directory, fileName).getPath();
+    }
+
+    private String writeScript(String... lines) throws IOException {
+        File script = new File(directory, "script.txt");
+        Files.write(script.toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
+        return script.getPath();
+    }
+
+    private int countCommits() throws IOException {
+        File journal = new File(directory, "journal.txt");
+        if (!journal.exists()) {
+            return 0;
+        }
+        return (int) Files.readAllLines(journal.toPath()).stream().filter(line -> line.equals("COMMIT")).count();
+    }
+
+    /**
+     * The changes made by a script are committed once at the end, and are kept when the data
+     * files are read again, while a command that fails does not stop the script
+     */
+    @Test
+    public void scriptIsCommittedOnceTest() throws RimsException, ParseException, IOException {
+        Rims rims = new Rims(pathOf("resources.txt"), pathOf("reserves.txt"), pathOf("tags.txt"));
+        rims.runScript(writeScript("add /item pen /qty 3", "", "not a command", "add /room lab"),
+                Rims.NO_CHECKPOINTS);
+
+        assertEquals(1, countCommits());
+        Storage storage = new Storage(pathOf("resources.txt"), pathOf("reserves.txt"), pathOf("tags.txt"));
+        assertEquals(4, storage.getResources().size());
+    }
+
+    /**
+     * With checkpoints, the changes are committed after every given number of commands
+     */
+    @Test
+    public void checkpointTest() throws RimsException, ParseException, IOException {
+        Rims rims = new Rims(pathOf("resources.txt"), pathOf("reserves.txt"), pathOf("tags.txt"));
+        rims.runScript(writeScript("add /item pen /qty 1", "add /item cup /qty 1", "add /item mug /qty 1"), 2);
+        assertEquals(2, countCommits());
+
+        assertThrows(RimsException.class, () -> rims.runScript(writeScript("help"), -1));
+        assertThrows(RimsException.class, () -> rims.runScript(pathOf("missing.txt"), Rims.NO_CHECKPOINTS));
+    }
+
+    /**
+     * Commands are summarised by their first word, in the order each was first run
+     */
+    @Test
+    public void timingsTest() {
+        CommandTimings timings = new CommandTimings();
+        timings.record("add", 2000000, true);
+        timings.record("list", 1000000, true);
+        timings.record("add", 4000000, false);
+        assertEquals(3, timings.getNumberOfCommands());
+        assertEquals(1, timings.getNumberOfErrors());
+        assertEquals(3, timings.getSummary().size());
+        assertTrue(timings.getSummary().get(1).startsWith("add: 2 run, 1 failed, total 6.000 ms, average 3.000 ms"));
+        assertTrue(timings.getSummary().get(2).startsWith("list: 1 run"));
+    }
+}
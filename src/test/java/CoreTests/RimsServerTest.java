@@ -0,0 +1,145 @@
+package CoreTests;
+
+import rims.core.Rims;
+import rims.core.RimsServer;
+import rims.exception.RimsException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class covers the following methods:
+ * startServer
+ * runSession
+ */
+public class RimsServerTest {
+    private static final String RESERVE_PEN =
+            "reserve /item pen /qty 1 /id %d /from 01/01/2099 1000 /by 02/01/2099 1000";
+
+    private RimsServer server;
+
+    @BeforeEach
+    private void setup() throws RimsException, ParseException, IOException {
+        File directory = Files.createTempDirectory("rims-server").toFile();
+        Rims rims = new Rims(new File(directory, "resources.txt").getPath(),
+                new File(directory, "reserves.txt").getPath(), new File(directory, "tags.txt").getPath());
+        server = rims.startServer(0);
+    }
+
+    @AfterEach
+    private void cleanup() {
+        server.close();
+    }
+
+    /**
+     * Connects to the server over loopback, sends every line, and returns everything printed
+     * back until the session ends.
+     */
+    private String converse(String... lines) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            OutputStream output = socket.getOutputStream();
+            for (String line : lines) {
+                output.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            output.flush();
+            socket.shutdownOutput();
+            return readAll(socket.getInputStream());
+        }
+    }
+
+    private String readAll(InputStream input) throws IOException {
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        byte[] chunk = new byte[4096];
+        for (int read = input.read(chunk); read != -1; read = input.read(chunk)) {
+            received.write(chunk, 0, read);
+        }
+        return received.toString(StandardCharsets.UTF_8.name());
+    }
+
+    private void awaitClients(int numberOfClients) throws InterruptedException {
+        for (int i = 0; i < 500 && server.getNumberOfClients() != numberOfClients; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(numberOfClients, server.getNumberOfClients());
+    }
+
+    /**
+     * Terminals share one inventory: a Resource added by one can be booked by the others, and of
+     * many terminals booking the only unit at the same time, exactly one succeeds
+     */
+    @Test
+    public void sharedInventoryTest() throws IOException, InterruptedException {
+        assertTrue(converse("add /item pen /qty 1").contains("successfully added"));
+        assertTrue(converse("not a command").contains("ERROR: Please enter a recognizable command!"));
+
+        int terminals = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger bookings = new AtomicInteger();
+        ArrayList<Thread> running = new ArrayList<Thread>();
+        for (int i = 0; i < terminals; i++) {
+            int userId = i;
+            Thread terminal = new Thread(() -> {
+                try {
+                    start.await();
+                    if (converse(String.format(RESERVE_PEN, userId)).contains("Done! I've booked")) {
+                        bookings.incrementAndGet();
+                    }
+                } catch (IOException | InterruptedException e) {
+                    fail(e);
+                }
+            });
+            terminal.start();
+            running.add(terminal);
+        }
+        start.countDown();
+        for (Thread terminal : running) {
+            terminal.join();
+        }
+        assertEquals(1, bookings.get());
+    }
+
+    /**
+     * Many idle terminals can stay connected while another one is served, and are all
+     * disconnected when the server is closed
+     */
+    @Test
+    public void idleTerminalsTest() throws IOException, InterruptedException {
+        int idleTerminals = 200;
+        ArrayList<Socket> idle = new ArrayList<Socket>();
+        try {
+            for (int i = 0; i < idleTerminals; i++) {
+                idle.add(new Socket(InetAddress.getLoopbackAddress(), server.getPort()));
+            }
+            awaitClients(idleTerminals);
+            assertTrue(converse("add /room lab").contains("successfully added"));
+            assertEquals(idleTerminals, server.getNumberOfClients());
+
+            server.close();
+            for (Socket terminal : idle) {
+                assertTrue(readAll(terminal.getInputStream()).contains("Welcome to RIMS"));
+            }
+            awaitClients(0);
+        } finally {
+            for (Socket terminal : idle) {
+                terminal.close();
+            }
+        }
+    }
+}
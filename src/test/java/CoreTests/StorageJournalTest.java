@@ -0,0 +1,116 @@
+package CoreTests;
+
+import rims.core.Storage;
+import rims.exception.RimsException;
+import rims.resource.Item;
+import rims.resource.Resource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class covers the following methods:
+ * logAddResource / logCreateReservation
+ * commit (changes are replayed when the data files are read again, one session at a time)
+ * saveToFile (clears the journal)
+ */
+public class StorageJournalTest {
+    private File directory;
+
+    @BeforeEach
+    private void setup() throws IOException {
+        directory = Files.createTempDirectory("rims-journal").toFile();
+    }
+
+    private Storage newStorage() throws RimsException {
+        return new Storage(new File(directory, "resources.txt").getPath(),
+                new File(directory, "reserves.txt").getPath(), new File(directory, "tags.txt").getPath());
+    }
+
+    /**
+     * Committed changes are kept in the journal, and replayed on top of the data files
+     */
+    @Test
+    public void committedChangesAreReplayedTest() throws RimsException {
+        Storage storage = newStorage();
+        ArrayList<Resource> resources = storage.getResources();
+        Item newItem = new Item(0, "testobject");
+        resources.add(newItem);
+        storage.logAddResource(newItem);
+        storage.commit(resources);
+        storage.logCreateReservation(newItem.book(0, 1, new Date(), new Date(System.currentTimeMillis() + 60000)));
+        storage.commit(resources);
+
+        assertTrue(new File(directory, "journal.txt").exists());
+        ArrayList<Resource> replayed = newStorage().getResources();
+        assertEquals(1, replayed.size());
+        assertEquals("testobject", replayed.get(0).getName());
+        assertEquals(1, replayed.get(0).getReservations().size());
+    }
+
+    /**
+     * A group that was never committed is not replayed
+     */
+    @Test
+    public void uncommittedChangesAreDiscardedTest() throws RimsException {
+        Storage storage = newStorage();
+        Item newItem = new Item(0, "testobject");
+        storage.getResources().add(newItem);
+        storage.logAddResource(newItem);
+
+        assertTrue(newStorage().getResources().isEmpty());
+    }
+
+    /**
+     * A command committed in one session does not commit the changes of a command still being
+     * executed in another
+     */
+    @Test
+    public void groupsOfConcurrentSessionsTest() throws RimsException, InterruptedException {
+        Storage storage = newStorage();
+        ArrayList<Resource> resources = storage.getResources();
+        Item unfinishedItem = new Item(0, "unfinished");
+        storage.logAddResource(unfinishedItem);
+        Thread otherSession = new Thread(() -> {
+            try {
+                Item committedItem = new Item(1, "committed");
+                storage.logAddResource(committedItem);
+                storage.commit(resources);
+            } catch (RimsException e) {
+                fail(e);
+            }
+        });
+        otherSession.start();
+        otherSession.join();
+
+        ArrayList<Resource> replayed = newStorage().getResources();
+        assertEquals(1, replayed.size());
+        assertEquals("committed", replayed.get(0).getName());
+    }
+
+    /**
+     * Once a full snapshot is saved, the journal is cleared, and the snapshot alone holds every change
+     */
+    @Test
+    public void saveClearsJournalTest() throws RimsException {
+        Storage storage = newStorage();
+        ArrayList<Resource> resources = storage.getResources();
+        Item newItem = new Item(0, "testobject");
+        resources.add(newItem);
+        storage.logAddResource(newItem);
+        storage.commit(resources);
+        assertTrue(new File(directory, "journal.txt").exists());
+
+        storage.saveToFile(resources);
+        assertFalse(new File(directory, "journal.txt").exists());
+        assertEquals(1, newStorage().getResources().size());
+    }
+}
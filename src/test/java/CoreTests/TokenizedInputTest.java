@@ -0,0 +1,60 @@
+package CoreTests;
+
+import rims.command.HelpCommand;
+import rims.core.Parser;
+import rims.core.ResourceList;
+import rims.core.TokenizedInput;
+import rims.core.Ui;
+import rims.exception.RimsException;
+import rims.resource.Resource;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class covers the following methods:
+ * TokenizedInput
+ * register
+ */
+public class TokenizedInputTest {
+
+    /**
+     * Words are split at runs of spaces, and each keeps the position at which it starts in the input
+     */
+    @Test
+    public void tokenizeTest() {
+        TokenizedInput tokens = new TokenizedInput("add /item  blue pen /qty 3");
+        assertEquals(6, tokens.size());
+        assertEquals("add", tokens.get(0));
+        assertEquals("blue", tokens.get(2));
+        assertEquals(11, tokens.getOffset(2));
+        assertEquals("blue pen /qty 3", tokens.getInput().substring(tokens.getOffset(2)));
+        assertEquals("3", tokens.getLast());
+        assertThrows(IndexOutOfBoundsException.class, () -> tokens.get(6));
+
+        TokenizedInput manyTokens = new TokenizedInput("1 2 3 4 5 6 7 8 9 10");
+        assertEquals(10, manyTokens.size());
+        assertEquals(18, manyTokens.getOffset(9));
+        assertEquals(0, new TokenizedInput("").size());
+        assertEquals("", new TokenizedInput("").getLast());
+    }
+
+    /**
+     * A command registered with the Parser is parsed by its own parser, and an unregistered
+     * command is not recognised
+     */
+    @Test
+    public void registerTest() throws RimsException, ParseException {
+        Ui ui = new Ui();
+        Parser parser = new Parser(ui, new ResourceList(ui, new ArrayList<Resource>()));
+        Exception e = assertThrows(RimsException.class, () -> parser.parseInput("manual"));
+        assertEquals("Please enter a recognizable command!", e.getMessage());
+
+        parser.register("manual", tokens -> new HelpCommand());
+        assertTrue(parser.parseInput("  manual please ") instanceof HelpCommand);
+    }
+}
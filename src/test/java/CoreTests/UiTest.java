@@ -0,0 +1,53 @@
+package CoreTests;
+
+import rims.core.Ui;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class covers the following methods:
+ * setBuffered
+ * flush
+ */
+public class UiTest {
+
+    /**
+     * In buffered mode nothing is written out until the buffer is flushed, and lines come
+     * out in the order they were printed, exactly as they would without a buffer
+     */
+    @Test
+    public void bufferedOutputTest() {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream unbufferedOutput = new ByteArrayOutputStream();
+        ByteArrayOutputStream bufferedOutput = new ByteArrayOutputStream();
+        try {
+            Ui ui = new Ui();
+            System.setOut(new PrintStream(unbufferedOutput));
+            printSample(ui);
+
+            System.setOut(new PrintStream(bufferedOutput));
+            ui.setBuffered(true);
+            printSample(ui);
+            assertEquals(0, bufferedOutput.size());
+            ui.flush();
+            ui.flush();
+        } finally {
+            System.setOut(originalOut);
+        }
+        assertEquals(unbufferedOutput.toString(), bufferedOutput.toString());
+    }
+
+    private void printSample(Ui ui) {
+        ui.formattedPrint("first");
+        ui.printDash();
+        ui.printInline("second");
+        ui.printInline("\n");
+        ui.printEmptyLine();
+        ui.print("third");
+    }
+}